@@ -0,0 +1,126 @@
+package net.yetibyte.snowstorm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * IQueryListener, welcher jede ausgefhrte SQL-Anweisung als Ereignis an den Java Flight Recorder bergibt, sodass die Zeit der
+ * Datenbankzugriffe in einer Aufzeichnung neben GC- und Lock-Ereignissen erscheint. Da diese Klasse das Modul jdk.jfr voraussetzt,
+ * liegt sie im Modul snowstORM-jfr, welches fr Java 11 bersetzt wird, whrend snowstORM selbst weiterhin Java 8 voraussetzt. Sie wird
+ * ausschlielich ber DatabaseAccessor.enableFlightRecorderEvents geladen und an keiner anderen Stelle referenziert.
+ * Ist das Ereignis in keiner laufenden Aufzeichnung aktiviert, so beschrnkt sich der Aufwand auf die Abfrage dieses Zustands.
+ * Das begonnene Ereignis wird am QueryEvent abgelegt, sodass fr nie abgeschlossene Anweisungen keine Referenzen im Listener verbleiben.
+ * @author Alexander Herrfurth
+ *
+ */
+final class FlightRecorderListener implements IQueryListener {
+	
+	// Fields
+	
+	private static final EventType _eventType = EventType.getEventType(QueryExecutionEvent.class);
+	
+	// Methods
+	
+	@Override
+	public void beforeQuery(QueryEvent event) {
+		
+		if(!_eventType.isEnabled())
+			return;
+		
+		QueryExecutionEvent jfrEvent = new QueryExecutionEvent();
+		jfrEvent.begin();
+		
+		event.setFlightRecorderEvent(jfrEvent);
+		
+	}
+	
+	@Override
+	public void afterQuery(QueryEvent event) {
+		
+		Object pendingEvent = event.getFlightRecorderEvent();
+		QueryExecutionEvent jfrEvent = pendingEvent instanceof QueryExecutionEvent ? (QueryExecutionEvent)pendingEvent : null;
+		
+		event.setFlightRecorderEvent(null);
+		
+		if(jfrEvent == null) {
+			
+			// Die Aufzeichnung wurde erst whrend der Anweisung gestartet oder die Anweisung ist vor ihrer Ausfhrung fehlgeschlagen.
+			if(!_eventType.isEnabled())
+				return;
+			
+			jfrEvent = new QueryExecutionEvent();
+			
+		}
+		
+		jfrEvent.end();
+		
+		if(!jfrEvent.shouldCommit())
+			return;
+		
+		jfrEvent.operation = event.getOperation() != null ? event.getOperation().name() : null;
+		jfrEvent.tableName = event.getTableName();
+		jfrEvent.entityType = event.getEntityType();
+		jfrEvent.sqlHash = event.getSql() != null ? event.getSql().hashCode() : 0;
+		jfrEvent.rowCount = event.getRowCount();
+		jfrEvent.successful = event.isSuccessful();
+		jfrEvent.acquireDuration = event.getAcquireNanos();
+		jfrEvent.executeDuration = event.getExecuteNanos();
+		jfrEvent.mappingDuration = event.getMappingNanos();
+		
+		jfrEvent.commit();
+		
+	}
+	
+	// Nested Types
+	
+	/**
+	 * Das Ereignis einer SQL-Anweisung. Seine Dauer umfasst das Ausfhren der Anweisung und das Einlesen der Datenstze. Die Dauer bis
+	 * zum Erhalt der Datenbankverbindung liegt davor und wird gesondert angegeben.
+	 */
+	@Name("net.yetibyte.snowstorm.QueryExecution")
+	@Label("snowstORM Query")
+	@Category({ "snowstORM" })
+	@Description("Eine ber einen DatabaseAccessor ausgefhrte SQL-Anweisung.")
+	@StackTrace(true)
+	static final class QueryExecutionEvent extends Event {
+		
+		@Label("Operation")
+		String operation;
+		
+		@Label("Table")
+		String tableName;
+		
+		@Label("Entity Type")
+		Class<?> entityType;
+		
+		@Label("SQL Hash")
+		@Description("Der Hashcode der SQL-Anweisung mit Platzhaltern, z. B. zur Zuordnung zu QueryStatistics.")
+		int sqlHash;
+		
+		@Label("Rows")
+		int rowCount;
+		
+		@Label("Successful")
+		boolean successful;
+		
+		@Label("Connection Acquisition")
+		@Timespan(Timespan.NANOSECONDS)
+		long acquireDuration;
+		
+		@Label("Execution")
+		@Timespan(Timespan.NANOSECONDS)
+		long executeDuration;
+		
+		@Label("Row Mapping")
+		@Timespan(Timespan.NANOSECONDS)
+		long mappingDuration;
+		
+	}
+	
+}
@@ -0,0 +1,546 @@
+package net.yetibyte.snowstorm.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation Processor, welcher fr jede Klasse, die IDatabaseObj implementiert und Felder mit TableAttribute annotiert,
+ * zur bersetzungszeit einen IEntityMapper generiert. Die generierten Mapper werden in META-INF/services registriert und
+ * vom EntityDescriptor anstelle der Reflection-basierten Implementierung verwendet.
+ * Klassen, deren annotierte Felder vom generierten Code aus nicht zugreifbar sind (z. B. private Felder), werden bersprungen
+ * und weiterhin per Reflection abgebildet.
+ * @author Alexander Herrfurth
+ *
+ */
+@SupportedAnnotationTypes(EntityMapperProcessor.TABLE_ATTRIBUTE)
+public class EntityMapperProcessor extends AbstractProcessor {
+	
+	// Constants
+	
+	static final String TABLE_ATTRIBUTE = "net.yetibyte.snowstorm.TableAttribute";
+	
+	private static final String DATABASE_OBJ = "net.yetibyte.snowstorm.IDatabaseObj";
+	private static final String DATASET_ATTRIBUTE = "net.yetibyte.snowstorm.IDatasetAttribute";
+	private static final String ENTITY_MAPPER = "net.yetibyte.snowstorm.IEntityMapper";
+	
+	private static final String MAPPER_SUFFIX = "_EntityMapper";
+	private static final String INDEX_PATH = "META-INF/services/" + ENTITY_MAPPER;
+	
+	private static final char[] UNSAFE_ATTR_NAME_CHARS = { '=', '/', '\\', '\'', '"', ';' ,'', '`', ',', '*' };
+	
+	// Fields
+	
+	private final Set<String> _generatedMappers = new TreeSet<String>();
+	private final List<Element> _originatingElements = new ArrayList<Element>();
+	
+	// Methods
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		
+		return SourceVersion.latestSupported();
+		
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		
+		if(roundEnv.processingOver()) {
+			
+			writeIndex();
+			return false;
+			
+		}
+		
+		TypeElement tableAttribute = processingEnv.getElementUtils().getTypeElement(TABLE_ATTRIBUTE);
+		
+		if(tableAttribute == null)
+			return false;
+		
+		Set<TypeElement> entities = new LinkedHashSet<TypeElement>();
+		
+		for(Element element : roundEnv.getElementsAnnotatedWith(tableAttribute)) {
+			
+			if(element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement)
+				entities.add((TypeElement)element.getEnclosingElement());
+			
+		}
+		
+		for(TypeElement entity : entities) {
+			
+			List<MappedField> fields = collectFields(entity);
+			
+			if(fields == null) {
+				
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No mapper generated for " + entity.getQualifiedName() + ", reflection will be used.", entity);
+				continue;
+				
+			}
+			
+			generateMapper(entity, fields);
+			
+		}
+		
+		return false;
+		
+	}
+	
+	private List<MappedField> collectFields(TypeElement entity) {
+		
+		TypeElement databaseObj = processingEnv.getElementUtils().getTypeElement(DATABASE_OBJ);
+		
+		if(databaseObj == null || entity.getKind() != ElementKind.CLASS || !entity.getTypeParameters().isEmpty())
+			return null;
+		
+		if(!processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(entity.asType()), databaseObj.asType()))
+			return null;
+		
+		for(Element enclosing = entity; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			
+			if(enclosing.getModifiers().contains(Modifier.PRIVATE))
+				return null;
+			
+		}
+		
+		PackageElement entityPackage = processingEnv.getElementUtils().getPackageOf(entity);
+		
+		Map<String, MappedField> fieldMap = new LinkedHashMap<String, MappedField>();
+		
+		for(TypeElement type = entity; type != null; type = superclassOf(type)) {
+			
+			for(VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				
+				AnnotationMirror annotation = findTableAttribute(field);
+				
+				if(annotation == null)
+					continue;
+				
+				Set<Modifier> modifiers = field.getModifiers();
+				
+				if(modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL))
+					return null;
+				
+				boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(entityPackage);
+				
+				if(!samePackage && !(modifiers.contains(Modifier.PUBLIC) && type.getModifiers().contains(Modifier.PUBLIC)))
+					return null;
+				
+				MappedField mappedField = new MappedField(field, type, annotation);
+				
+				if(!isSafeAttributeName(mappedField.column))
+					return null;
+				
+				if(mappedField.isDatasetAttribute && !hasAccessibleConstructor(field.asType(), samePackage))
+					return null;
+				
+				fieldMap.put(mappedField.column, mappedField);
+				
+			}
+			
+		}
+		
+		List<MappedField> ordered = new ArrayList<MappedField>(fieldMap.values());
+		
+		Collections.sort(ordered, new Comparator<MappedField>() {
+			
+			@Override
+			public int compare(MappedField a, MappedField b) {
+				return Integer.compare(a.ordinal, b.ordinal);
+			}
+			
+		});
+		
+		return ordered;
+		
+	}
+	
+	private void generateMapper(TypeElement entity, List<MappedField> fields) {
+		
+		String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+		String mapperName = mapperSimpleName(entity);
+		String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+		String entityName = entity.getQualifiedName().toString();
+		
+		StringBuilder columns = new StringBuilder();
+		StringBuilder reads = new StringBuilder();
+		StringBuilder writes = new StringBuilder();
+		StringBuilder values = new StringBuilder();
+		String keyColumn = null;
+		
+		for(int i = 0; i < fields.size(); i++) {
+			
+			MappedField field = fields.get(i);
+			String target = field.accessExpression(entity);
+			int columnIndex = i+1;
+			
+			if(i > 0)
+				columns.append(", ");
+			
+			columns.append('"').append(field.column).append('"');
+			
+			if(keyColumn == null && field.isPrimaryKey)
+				keyColumn = field.column;
+			
+			if(field.isDatasetAttribute) {
+				
+				reads.append("\t\t{\n");
+				reads.append("\t\t\t").append(field.typeName).append(" value = new ").append(field.typeName).append("();\n");
+				reads.append("\t\t\tvalue.deserializeByAttributeValue(rs.getString(").append(columnIndex).append("));\n");
+				reads.append("\t\t\t").append(target).append(" = value;\n");
+				reads.append("\t\t}\n");
+				
+			}
+			else if(field.primitiveGetter != null) {
+				
+				// Wie beim ReflectiveEntityMapper wird NULL in einer Spalte eines primitiven Feldes abgelehnt.
+				reads.append("\t\t").append(target).append(" = rs.").append(field.primitiveGetter).append('(').append(columnIndex).append(");\n");
+				reads.append("\t\tif(rs.wasNull())\n");
+				reads.append("\t\t\tthrow new IllegalArgumentException(\"Column ").append(field.column).append(" is NULL, but field ")
+					.append(field.declaringType.getQualifiedName()).append('.').append(field.name).append(" has a primitive type.\");\n");
+				
+			}
+			else
+				reads.append("\t\t").append(target).append(" = (").append(field.typeName).append(")rs.getObject(").append(columnIndex).append(");\n");
+			
+			if(!field.isReadonly)
+				writes.append("\t\tattributes.setAttribute(\"").append(field.column).append("\", ").append(target).append(");\n");
+			
+			values.append("\t\t\tcase \"").append(field.column).append("\":\n");
+			values.append("\t\t\t\treturn ").append(target).append(";\n");
+			
+		}
+		
+		StringBuilder source = new StringBuilder();
+		
+		if(!packageName.isEmpty())
+			source.append("package ").append(packageName).append(";\n\n");
+		
+		source.append("/**\n * Generated by ").append(getClass().getName()).append(". Do not edit.\n */\n");
+		source.append("public final class ").append(mapperName).append(" implements ").append(ENTITY_MAPPER).append('<').append(entityName).append("> {\n\n");
+		source.append("\tprivate static final String[] COLUMN_NAMES = { ").append(columns).append(" };\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic Class<").append(entityName).append("> getEntityType() {\n");
+		source.append("\t\treturn ").append(entityName).append(".class;\n");
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic String[] getColumnNames() {\n");
+		source.append("\t\treturn COLUMN_NAMES.clone();\n");
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\t@SuppressWarnings(\"unchecked\")\n");
+		source.append("\tpublic void readFromDatabase(").append(entityName).append(" dbObj, java.sql.ResultSet rs) throws java.sql.SQLException {\n");
+		source.append(reads);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic void writeToDatabase(").append(entityName).append(" dbObj, net.yetibyte.snowstorm.DatasetAttributes attributes) {\n");
+		source.append(writes);
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic Object getAttributeValue(").append(entityName).append(" dbObj, String column) {\n");
+		source.append("\t\tswitch(column) {\n");
+		source.append(values);
+		source.append("\t\t\tdefault:\n");
+		source.append("\t\t\t\treturn null;\n");
+		source.append("\t\t}\n");
+		source.append("\t}\n\n");
+		
+		if(keyColumn != null) {
+			
+			source.append("\t@Override\n");
+			source.append("\tpublic String getKeyColumn() {\n");
+			source.append("\t\treturn \"").append(keyColumn).append("\";\n");
+			source.append("\t}\n\n");
+			
+		}
+		
+		source.append("}\n");
+		
+		try {
+			
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedMapperName, entity);
+			
+			try(Writer writer = file.openWriter()) {
+				writer.write(source.toString());
+			}
+			
+			_generatedMappers.add(qualifiedMapperName);
+			_originatingElements.add(entity);
+			
+		}
+		catch(IOException e) {
+			
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate " + qualifiedMapperName + ": " + e.getMessage(), entity);
+			
+		}
+		
+	}
+	
+	/**
+	 * Schreibt den Index der generierten Mapper. Bei einer inkrementellen bersetzung werden lediglich die genderten Klassen
+	 * verarbeitet, weshalb die Eintrge eines bereits vorhandenen Index bernommen werden, sofern deren Mapper weiterhin existiert.
+	 */
+	private void writeIndex() {
+		
+		if(_generatedMappers.isEmpty())
+			return;
+		
+		Set<String> mappers = new TreeSet<String>(_generatedMappers);
+		mappers.addAll(readExistingIndex());
+		
+		try {
+			
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_PATH,
+					_originatingElements.toArray(new Element[_originatingElements.size()]));
+			
+			try(Writer writer = file.openWriter()) {
+				
+				for(String mapper : mappers)
+					writer.write(mapper + "\n");
+				
+			}
+			
+		}
+		catch(IOException e) {
+			
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write entity mapper index: " + e.getMessage());
+			
+		}
+		
+	}
+	
+	private Set<String> readExistingIndex() {
+		
+		Set<String> mappers = new TreeSet<String>();
+		
+		try {
+			
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_PATH);
+			
+			try(BufferedReader reader = new BufferedReader(file.openReader(true))) {
+				
+				String line;
+				
+				while((line = reader.readLine()) != null) {
+					
+					int commentStart = line.indexOf('#');
+					String mapper = (commentStart >= 0 ? line.substring(0, commentStart) : line).trim();
+					
+					// Eintrge, deren Mapper bzw. Entitt zwischenzeitlich entfernt wurde, werden verworfen.
+					if(!mapper.isEmpty() && processingEnv.getElementUtils().getTypeElement(mapper) != null)
+						mappers.add(mapper);
+					
+				}
+				
+			}
+			
+		}
+		catch(IOException | IllegalArgumentException e) {
+			
+			// Es existiert noch kein Index.
+			
+		}
+		
+		return mappers;
+		
+	}
+	
+	private TypeElement superclassOf(TypeElement type) {
+		
+		TypeMirror superclass = type.getSuperclass();
+		
+		if(superclass.getKind() != TypeKind.DECLARED)
+			return null;
+		
+		return (TypeElement)((DeclaredType)superclass).asElement();
+		
+	}
+	
+	private AnnotationMirror findTableAttribute(Element element) {
+		
+		for(AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			
+			TypeElement annotationType = (TypeElement)annotation.getAnnotationType().asElement();
+			
+			if(annotationType.getQualifiedName().contentEquals(TABLE_ATTRIBUTE))
+				return annotation;
+			
+		}
+		
+		return null;
+		
+	}
+	
+	private boolean hasAccessibleConstructor(TypeMirror type, boolean samePackage) {
+		
+		if(type.getKind() != TypeKind.DECLARED)
+			return false;
+		
+		TypeElement typeElement = (TypeElement)((DeclaredType)type).asElement();
+		
+		if(typeElement.getModifiers().contains(Modifier.ABSTRACT) || !typeElement.getTypeParameters().isEmpty())
+			return false;
+		
+		for(ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+			
+			if(!constructor.getParameters().isEmpty())
+				continue;
+			
+			Set<Modifier> modifiers = constructor.getModifiers();
+			
+			return modifiers.contains(Modifier.PUBLIC) || (samePackage && !modifiers.contains(Modifier.PRIVATE));
+			
+		}
+		
+		return false;
+		
+	}
+	
+	private static String mapperSimpleName(TypeElement entity) {
+		
+		String name = entity.getSimpleName().toString();
+		
+		for(Element enclosing = entity.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement())
+			name = enclosing.getSimpleName() + "_" + name;
+		
+		return name + MAPPER_SUFFIX;
+		
+	}
+	
+	private static boolean isSafeAttributeName(String name) {
+		
+		if(name == null)
+			return false;
+		
+		for(char c : UNSAFE_ATTR_NAME_CHARS) {
+			
+			if(name.indexOf(c) >= 0)
+				return false;
+			
+		}
+		
+		return true;
+		
+	}
+	
+	private static Object annotationValue(String name, Collection<? extends ExecutableElement> members, Map<? extends ExecutableElement, ? extends AnnotationValue> values) {
+		
+		for(ExecutableElement member : members) {
+			
+			if(member.getSimpleName().contentEquals(name)) {
+				
+				AnnotationValue value = values.get(member);
+				return value != null ? value.getValue() : null;
+				
+			}
+			
+		}
+		
+		return null;
+		
+	}
+	
+	private static String primitiveGetterOf(TypeKind kind) {
+		
+		switch(kind) {
+			
+			case BOOLEAN:
+				return "getBoolean";
+			case BYTE:
+				return "getByte";
+			case SHORT:
+				return "getShort";
+			case INT:
+				return "getInt";
+			case LONG:
+				return "getLong";
+			case FLOAT:
+				return "getFloat";
+			case DOUBLE:
+				return "getDouble";
+			default:
+				return null;
+			
+		}
+		
+	}
+	
+	
+	// Nested Types
+	
+	private final class MappedField {
+		
+		final String name;
+		final String column;
+		final boolean isReadonly;
+		final int ordinal;
+		final boolean isPrimaryKey;
+		final boolean isDatasetAttribute;
+		final String typeName;
+		final String primitiveGetter;
+		final TypeElement declaringType;
+		
+		MappedField(VariableElement field, TypeElement declaringType, AnnotationMirror annotation) {
+			
+			Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+			Collection<? extends ExecutableElement> members = values.keySet();
+			
+			TypeMirror type = field.asType();
+			TypeElement datasetAttribute = processingEnv.getElementUtils().getTypeElement(DATASET_ATTRIBUTE);
+			
+			this.name = field.getSimpleName().toString();
+			this.column = (String)annotationValue("column", members, values);
+			this.isReadonly = Boolean.TRUE.equals(annotationValue("readonly", members, values));
+			this.ordinal = ((Number)annotationValue("ordinal", members, values)).intValue();
+			this.isPrimaryKey = Boolean.TRUE.equals(annotationValue("primaryKey", members, values));
+			this.isDatasetAttribute = datasetAttribute != null && processingEnv.getTypeUtils().isAssignable(type, datasetAttribute.asType());
+			this.typeName = processingEnv.getTypeUtils().erasure(type).toString();
+			this.primitiveGetter = primitiveGetterOf(type.getKind());
+			this.declaringType = declaringType;
+			
+		}
+		
+		String accessExpression(TypeElement entity) {
+			
+			if(declaringType.equals(entity))
+				return "dbObj." + name;
+			
+			return "((" + declaringType.getQualifiedName() + ")dbObj)." + name;
+			
+		}
+		
+	}
+	
+}
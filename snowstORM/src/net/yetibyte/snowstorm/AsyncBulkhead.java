@@ -0,0 +1,188 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Beschrnkt die Anzahl gleichzeitig ausgefhrter asynchroner Operationen je DataSource. berzhlige Operationen werden in einer
+ * Warteschlange abgelegt, ohne hierfr einen Thread zu belegen, und gestartet, sobald eine laufende Operation beendet ist.
+ * Da kein Thread blockiert wird, lassen sich auf diese Weise beliebig viele Aufrufer einreihen, ohne den Pool der DataSource zu erschpfen.
+ * @author Alexander Herrfurth
+ *
+ */
+final class AsyncBulkhead {
+	
+	// Constants
+	
+	static final int DEFAULT_LIMIT = 10;
+	
+	// Fields
+	
+	private static final Map<Object, AsyncBulkhead> _bulkheads = new WeakHashMap<Object, AsyncBulkhead>();
+	private static final ReentrantLock _bulkheadsLock = new ReentrantLock();
+	
+	private final ConcurrentLinkedQueue<PendingOperation> _queue = new ConcurrentLinkedQueue<PendingOperation>();
+	private final AtomicInteger _active = new AtomicInteger();
+	
+	private volatile int _limit = DEFAULT_LIMIT;
+	
+	// Getters / Setters
+	
+	int getLimit() {
+		return _limit;
+	}
+	
+	/**
+	 * Legt die maximale Anzahl gleichzeitig ausgefhrter Operationen fest. Wird die Beschrnkung erhht, so werden wartende Operationen
+	 * unmittelbar gestartet, wird sie verringert, so werden laufende Operationen nicht unterbrochen.
+	 * @param limit Die maximale Anzahl, mindestens 1.
+	 */
+	void setLimit(int limit) {
+		
+		_limit = Math.max(1, limit);
+		drain();
+		
+	}
+	
+	// Methods
+	
+	/**
+	 * Liefert den Bulkhead der bergebenen DataSource. Dieser wird beim ersten Aufruf erzeugt und von allen DatabaseAccessor-Instanzen
+	 * geteilt, welche dieselbe DataSource verwenden.
+	 * @param dataSource Die DataSource.
+	 * @return Der zugehrige Bulkhead.
+	 */
+	static AsyncBulkhead forDataSource(Object dataSource) {
+		
+		_bulkheadsLock.lock();
+		
+		try {
+			
+			AsyncBulkhead bulkhead = _bulkheads.get(dataSource);
+			
+			if(bulkhead == null) {
+				
+				bulkhead = new AsyncBulkhead();
+				_bulkheads.put(dataSource, bulkhead);
+				
+			}
+			
+			return bulkhead;
+			
+		}
+		finally {
+			
+			_bulkheadsLock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * Reiht die bergebene Operation ein und fhrt sie ber den angegebenen Executor aus, sobald die Beschrnkung dies zulsst.
+	 * @param executor Der Executor, auf welchem die Operation ausgefhrt wird.
+	 * @param operation Die auszufhrende Operation.
+	 * @return Ein CompletableFuture, welches mit dem Ergebnis der Operation abgeschlossen wird.
+	 */
+	<R> CompletableFuture<R> submit(Executor executor, Supplier<R> operation) {
+		
+		CompletableFuture<R> future = new CompletableFuture<R>();
+		
+		_queue.add(new PendingOperation(executor, future, () -> {
+			
+			// Bereits abgebrochene Operationen werden nicht mehr ausgefhrt.
+			if(future.isDone())
+				return;
+			
+			try {
+				future.complete(operation.get());
+			}
+			catch(Throwable e) {
+				future.completeExceptionally(e);
+			}
+			
+		}));
+		
+		drain();
+		
+		return future;
+		
+	}
+	
+	private void drain() {
+		
+		while(!_queue.isEmpty()) {
+			
+			int active = _active.get();
+			
+			if(active >= _limit)
+				return;
+			
+			if(!_active.compareAndSet(active, active + 1))
+				continue;
+			
+			PendingOperation operation = _queue.poll();
+			
+			if(operation == null) {
+				
+				// Ein anderer Thread hat die Operation bereits bernommen. Da ein weiterer Aufrufer die Beschrnkung in der Zwischenzeit
+				// als erreicht angesehen haben kann, wird die Warteschlange nach der Freigabe erneut geprft.
+				_active.decrementAndGet();
+				continue;
+				
+			}
+			
+			try {
+				
+				operation.executor.execute(() -> {
+					
+					try {
+						operation.task.run();
+					}
+					finally {
+						
+						_active.decrementAndGet();
+						drain();
+						
+					}
+					
+				});
+				
+			}
+			catch(RejectedExecutionException e) {
+				
+				_active.decrementAndGet();
+				operation.future.completeExceptionally(e);
+				
+			}
+			
+		}
+		
+	}
+	
+	// Nested Types
+	
+	private static final class PendingOperation {
+		
+		final Executor executor;
+		final CompletableFuture<?> future;
+		final Runnable task;
+		
+		PendingOperation(Executor executor, CompletableFuture<?> future, Runnable task) {
+			
+			this.executor = executor;
+			this.future = future;
+			this.task = task;
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,363 @@
+package net.yetibyte.snowstorm;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hlt die Spaltenwerte der Datenstze einer Abfrage vor, damit EntityCache und QueryCache anstelle der eingelesenen Datenbank-Objekte
+ * lediglich deren Werte zwischenspeichern. Bei jedem Treffer werden die Datenstze ber ein ResultSet im Arbeitsspeicher erneut eingelesen,
+ * sodass jeder Aufrufer eigene Instanzen erhlt. Die Werte werden ber getObject gelesen und wie in EntitySnapshots kopiert. Enthlt ein
+ * Datensatz einen Wert, welcher weder kopiert werden kann noch als unvernderlich bekannt ist (z. B. Blob oder Clob), so wird die Abfrage
+ * nicht zwischengespeichert. Das ResultSet untersttzt das Lesen per Index und Spaltenname ber getObject und die gngigen Getter.
+ * Ruft ein Datenbank-Objekt darber hinausgehende Methoden auf, so schlgt das Einlesen fehl und die Abfrage wird erneut ausgefhrt.
+ * @author Alexander Herrfurth
+ *
+ */
+final class CachedRows {
+	
+	// Constants
+	
+	private static final Set<String> GETTERS = new HashSet<String>(Arrays.asList("getObject", "getString", "getBoolean", "getByte", "getShort", "getInt",
+			"getLong", "getFloat", "getDouble", "getBigDecimal", "getBytes", "getDate", "getTime", "getTimestamp"));
+	
+	// Fields
+	
+	private final Object _readMode;
+	private final List<Object[]> _rows = new ArrayList<Object[]>();
+	
+	private String[] _labels = null;
+	private boolean _isCacheable = true;
+	
+	// Constructors
+	
+	/**
+	 * @param readMode Die Art des Einlesens, mit welcher die Datenstze gelesen wurden. Sie legt die Spalten und deren Reihenfolge fest.
+	 */
+	CachedRows(Object readMode) {
+		
+		_readMode = readMode;
+		
+	}
+	
+	// Getters / Setters
+	
+	Object getReadMode() {
+		return _readMode;
+	}
+	
+	/**
+	 * @return False, falls ein Datensatz nicht vollstndig erfasst werden konnte.
+	 */
+	boolean isCacheable() {
+		return _isCacheable;
+	}
+	
+	int size() {
+		return _rows.size();
+	}
+	
+	// Methods
+	
+	/**
+	 * Erfasst die Werte des aktuellen Datensatzes. Schlgt dies fehl, so gilt die gesamte Abfrage als nicht zwischenspeicherbar.
+	 * @param rs Das ResultSet, welches auf den zu erfassenden Datensatz zeigt.
+	 * @return False, falls die Abfrage nicht zwischengespeichert werden kann.
+	 */
+	boolean add(ResultSet rs) {
+		
+		if(!_isCacheable)
+			return false;
+		
+		try {
+			
+			if(_labels == null) {
+				
+				ResultSetMetaData metaData = rs.getMetaData();
+				_labels = new String[metaData.getColumnCount()];
+				
+				for(int i = 0; i < _labels.length; i++)
+					_labels[i] = metaData.getColumnLabel(i + 1);
+				
+			}
+			
+			Object[] values = new Object[_labels.length];
+			
+			for(int i = 0; i < values.length; i++) {
+				
+				values[i] = EntitySnapshots.copyOf(rs.getObject(i + 1));
+				
+				if(values[i] == EntitySnapshots.UNCOMPARABLE) {
+					
+					_isCacheable = false;
+					break;
+					
+				}
+				
+			}
+			
+			if(_isCacheable)
+				_rows.add(values);
+			
+		}
+		catch(Exception e) {
+			
+			_isCacheable = false;
+			
+		}
+		
+		if(!_isCacheable)
+			_rows.clear();
+		
+		return _isCacheable;
+		
+	}
+	
+	/**
+	 * ffnet ein ResultSet, welches vor dem ersten erfassten Datensatz steht. Vernderliche Werte werden bei jedem Lesen kopiert.
+	 * @return Das ResultSet.
+	 */
+	ResultSet open() {
+		
+		return (ResultSet)Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, new RowCursor());
+		
+	}
+	
+	private int findColumn(String label) throws SQLException {
+		
+		if(_labels != null && label != null) {
+			
+			for(int i = 0; i < _labels.length; i++) {
+				
+				if(label.equalsIgnoreCase(_labels[i]))
+					return i + 1;
+				
+			}
+			
+		}
+		
+		throw new SQLException("Column " + label + " not found.");
+		
+	}
+	
+	private static Object convert(Object value, Class<?> type) throws SQLException {
+		
+		if(value == null)
+			return type.isPrimitive() ? convert(0, type) : null;
+		
+		if(type == Object.class)
+			return EntitySnapshots.copyOf(value);
+		
+		if(type == String.class && !(value instanceof byte[]))
+			return value.toString();
+		
+		if(type == boolean.class || type == Boolean.class) {
+			
+			if(value instanceof Boolean)
+				return value;
+			
+			if(value instanceof Number)
+				return ((Number)value).doubleValue() != 0;
+			
+			if(value instanceof String)
+				return ((String)value).trim().equals("1") || Boolean.parseBoolean(((String)value).trim());
+			
+		}
+		
+		Number number = value instanceof Number ? (Number)value : value instanceof Boolean ? Integer.valueOf((Boolean)value ? 1 : 0) : null;
+		
+		if(number == null && value instanceof String && (type.isPrimitive() || Number.class.isAssignableFrom(type))) {
+			
+			try {
+				number = new BigDecimal(((String)value).trim());
+			}
+			catch(NumberFormatException e) {
+				throw new SQLException("The value " + value + " cannot be converted to " + type.getName() + ".", e);
+			}
+			
+		}
+		
+		if(number != null) {
+			
+			if(type == byte.class || type == Byte.class)
+				return number.byteValue();
+			
+			if(type == short.class || type == Short.class)
+				return number.shortValue();
+			
+			if(type == int.class || type == Integer.class)
+				return number.intValue();
+			
+			if(type == long.class || type == Long.class)
+				return number.longValue();
+			
+			if(type == float.class || type == Float.class)
+				return number.floatValue();
+			
+			if(type == double.class || type == Double.class)
+				return number.doubleValue();
+			
+			if(type == BigDecimal.class)
+				return number instanceof BigDecimal ? number : number instanceof BigInteger ? new BigDecimal((BigInteger)number) : new BigDecimal(number.toString());
+			
+		}
+		
+		if(value instanceof java.util.Date) {
+			
+			long millis = ((java.util.Date)value).getTime();
+			
+			if(type == java.sql.Date.class)
+				return value instanceof java.sql.Date ? ((java.sql.Date)value).clone() : new java.sql.Date(millis);
+			
+			if(type == Time.class)
+				return value instanceof Time ? ((Time)value).clone() : new Time(millis);
+			
+			if(type == Timestamp.class)
+				return value instanceof Timestamp ? ((Timestamp)value).clone() : new Timestamp(millis);
+			
+			if(type == LocalDate.class && value instanceof java.sql.Date)
+				return ((java.sql.Date)value).toLocalDate();
+			
+			if(type == LocalTime.class && value instanceof Time)
+				return ((Time)value).toLocalTime();
+			
+			if(type == LocalDateTime.class && value instanceof Timestamp)
+				return ((Timestamp)value).toLocalDateTime();
+			
+		}
+		
+		if(type.isInstance(value))
+			return EntitySnapshots.copyOf(value);
+		
+		throw new SQLException("The value of type " + value.getClass().getName() + " cannot be converted to " + type.getName() + ".");
+		
+	}
+	
+	// Nested Types
+	
+	/**
+	 * Bildet die Methoden des ResultSet auf die erfassten Datenstze ab.
+	 */
+	private final class RowCursor implements InvocationHandler {
+		
+		private int _rowIndex = -1;
+		private boolean _wasNull = false;
+		private boolean _isClosed = false;
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			String name = method.getName();
+			int argCount = args != null ? args.length : 0;
+			
+			switch(name) {
+				
+				case "next":
+					
+					checkOpen();
+					
+					if(_rowIndex < _rows.size())
+						_rowIndex++;
+					
+					return _rowIndex < _rows.size();
+				
+				case "close":
+					
+					_isClosed = true;
+					return null;
+				
+				case "isClosed":
+					return _isClosed;
+				
+				case "wasNull":
+					return _wasNull;
+				
+				case "findColumn":
+					return findColumn((String)args[0]);
+				
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				
+				case "equals":
+					return proxy == args[0];
+				
+				case "toString":
+					return "CachedRows@" + Integer.toHexString(System.identityHashCode(proxy));
+				
+			}
+			
+			if(GETTERS.contains(name) && argCount >= 1 && (args[0] instanceof Integer || args[0] instanceof String)) {
+				
+				Class<?> type = null;
+				
+				if(argCount == 1)
+					type = method.getReturnType();
+				else if(name.equals("getObject") && argCount == 2 && args[1] instanceof Class)
+					type = (Class<?>)args[1];
+				else if(name.equals("getBigDecimal") && argCount == 2 && args[1] instanceof Integer)
+					type = BigDecimal.class;
+				
+				if(type != null) {
+					
+					Object value = value(args[0]);
+					_wasNull = value == null;
+					
+					Object result = convert(value, type);
+					
+					if(name.equals("getBigDecimal") && argCount == 2 && result != null)
+						result = ((BigDecimal)result).setScale((Integer)args[1], RoundingMode.HALF_UP);
+					
+					return result;
+					
+				}
+				
+			}
+			
+			throw new SQLFeatureNotSupportedException("The method " + name + " is not supported for cached rows.");
+			
+		}
+		
+		private Object value(Object column) throws SQLException {
+			
+			checkOpen();
+			
+			if(_rowIndex < 0 || _rowIndex >= _rows.size())
+				throw new SQLException("The cursor is not positioned on a row.");
+			
+			int index = column instanceof Integer ? (Integer)column : findColumn((String)column);
+			Object[] values = _rows.get(_rowIndex);
+			
+			if(index < 1 || index > values.length)
+				throw new SQLException("The column index " + index + " is out of range.");
+			
+			return values[index - 1];
+			
+		}
+		
+		private void checkOpen() throws SQLException {
+			
+			if(_isClosed)
+				throw new SQLException("The result set is closed.");
+			
+		}
+		
+	}
+	
+}
@@ -1,9 +1,18 @@
 package net.yetibyte.snowstorm;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.sql.*;
 
 /**
@@ -14,6 +23,13 @@ import java.sql.*;
  */
 public class DatabaseAccessor {
 	
+	// Constants
+	
+	public static final int DEFAULT_BATCH_SIZE = 500;
+	public static final int DEFAULT_MAX_IN_LIST_SIZE = 1000;
+	public static final int DEFAULT_FETCH_SIZE = 100;
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+	
 	// Fields
 
 	/**
@@ -25,7 +41,28 @@ public class DatabaseAccessor {
 	private boolean _allowDeleteWithoutWhere = false;
 	private boolean _isSelectDistinct = false;
 
-	private String _lastQueryInfo = null;
+	private volatile String _lastQueryInfo = null;
+	private final List<IQueryListener> _queryListeners = new CopyOnWriteArrayList<IQueryListener>();
+	
+	private SqlTemplateCache _sqlTemplateCache = new SqlTemplateCache();
+	
+	private int _batchSize = DEFAULT_BATCH_SIZE;
+	private int _maxInListSize = DEFAULT_MAX_IN_LIST_SIZE;
+	private int _fetchSize = DEFAULT_FETCH_SIZE;
+	private int _statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+	
+	private IParameterBinder _parameterBinder = new TypedParameterBinder();
+	
+	private ResourceLeakDetector _leakDetector = null;
+	
+	private EntitySnapshots _entitySnapshots = null;
+	private boolean _isIdentityMapping = false;
+	private EntityCache _entityCache = null;
+	private QueryCache _queryCache = null;
+	private Executor _asyncExecutor = null;
+	
+	private SqlDialects _dialect = null;
+	private SqlDialects _detectedDialect = null;
 	
 	// Constructors
 	
@@ -49,16 +86,278 @@ public class DatabaseAccessor {
 		_isSelectDistinct = isSelectDistinct;
 	}
 	
+	/**
+	 * Liefert die zuletzt ber diesen DatabaseAccessor vorbereitete SQL-Anweisung. Wird der DatabaseAccessor von mehreren Threads gleichzeitig
+	 * verwendet, so ist nicht festgelegt, zu welcher Operation die Anweisung gehrt. Zur Auswertung einzelner Operationen sollte daher ein
+	 * IQueryListener verwendet werden.
+	 * @return Die SQL-Anweisung mit Platzhaltern anstelle der Parameter oder null, falls noch keine Anweisung vorbereitet wurde.
+	 */
 	public String getLastQueryInfo() {
 		return _lastQueryInfo;
 	}
 	
+	/**
+	 * Fgt einen IQueryListener hinzu, welcher ber jede ber diesen DatabaseAccessor ausgefhrte SQL-Anweisung benachrichtigt wird.
+	 * Eine mittels openSession geffnete DatabaseSession bernimmt die zu diesem Zeitpunkt festgelegten Listener. Solange kein Listener
+	 * festgelegt ist, werden keine Zeiten erfasst.
+	 * @param listener Der hinzuzufgende Listener.
+	 */
+	public void addQueryListener(IQueryListener listener) {
+		
+		if(listener != null)
+			_queryListeners.add(listener);
+		
+	}
+	
+	public void removeQueryListener(IQueryListener listener) {
+		
+		_queryListeners.remove(listener);
+		
+	}
+	
+	public List<IQueryListener> getQueryListeners() {
+		return Collections.unmodifiableList(_queryListeners);
+	}
+	
+	/**
+	 * Fgt einen IQueryListener hinzu, welcher jede SQL-Anweisung als Ereignis "net.yetibyte.snowstorm.QueryExecution" an den
+	 * Java Flight Recorder bergibt. Das Ereignis enthlt die Operation, die Tabelle, die Klasse der Datenbank-Objekte, den Hashcode
+	 * der SQL-Anweisung, die Anzahl der Datenstze sowie die Dauer bis zum Erhalt der Datenbankverbindung, der Ausfhrung und des Einlesens.
+	 * Der Listener befindet sich im Modul snowstORM-jfr, welches fr Java 11 bersetzt wird, und wird erst hier geladen, sodass die Bibliothek
+	 * auch ohne dieses Modul bzw. ohne das Modul jdk.jfr verwendet werden kann.
+	 * @return True, falls der Listener hinzugefgt wurde, false falls snowstORM-jfr nicht im Klassenpfad liegt oder der Java Flight Recorder nicht verfgbar ist.
+	 */
+	public boolean enableFlightRecorderEvents() {
+		
+		try {
+			
+			Class<?> listenerClass = Class.forName(DatabaseAccessor.class.getPackage().getName() + ".FlightRecorderListener");
+			Constructor<?> constructor = listenerClass.getDeclaredConstructor();
+			
+			for(IQueryListener listener : _queryListeners) {
+				
+				if(listenerClass.isInstance(listener))
+					return true;
+				
+			}
+			
+			addQueryListener((IQueryListener)constructor.newInstance());
+			
+			return true;
+			
+		}
+		catch(ReflectiveOperationException | LinkageError e) {
+			
+			return false;
+			
+		}
+		
+	}
+	
+	public SqlTemplateCache getSqlTemplateCache() {
+		return _sqlTemplateCache;
+	}
+	
+	/**
+	 * Legt den Zwischenspeicher fr SQL-Anweisungen fest. Dieser kann von mehreren DatabaseAccessor-Instanzen gemeinsam verwendet werden.
+	 * @param sqlTemplateCache Der zu verwendende Zwischenspeicher. Wird null bergeben, wird ein neuer Zwischenspeicher angelegt.
+	 */
+	public void setSqlTemplateCache(SqlTemplateCache sqlTemplateCache) {
+		_sqlTemplateCache = sqlTemplateCache != null ? sqlTemplateCache : new SqlTemplateCache();
+	}
+	
+	public int getBatchSize() {
+		return _batchSize;
+	}
+	
+	/**
+	 * Legt fest, nach wie vielen Datenstzen ein JDBC-Batch ausgefhrt wird.
+	 * @param batchSize Die Anzahl der Datenstze pro Batch. Muss grer als 0 sein.
+	 */
+	public void setBatchSize(int batchSize) {
+		_batchSize = Math.max(1, batchSize);
+	}
+	
+	public int getMaxInListSize() {
+		return _maxInListSize;
+	}
+	
+	/**
+	 * Legt die maximale Anzahl von Werten in einer IN-Liste fest, wie sie von deleteAll verwendet wird. Der Wert sollte das
+	 * Parameterlimit des verwendeten JDBC-Treibers nicht berschreiten.
+	 * @param maxInListSize Die maximale Anzahl von Werten. Muss grer als 0 sein.
+	 */
+	public void setMaxInListSize(int maxInListSize) {
+		_maxInListSize = Math.max(1, maxInListSize);
+	}
+	
+	public int getFetchSize() {
+		return _fetchSize;
+	}
+	
+	/**
+	 * Legt fest, wie viele Datenstze der JDBC-Treiber bei iterate und stream jeweils auf einmal von der Datenbank abruft.
+	 * @param fetchSize Die Anzahl der Datenstze pro Abruf. Bei 0 wird die Voreinstellung des Treibers verwendet.
+	 */
+	public void setFetchSize(int fetchSize) {
+		_fetchSize = Math.max(0, fetchSize);
+	}
+	
+	public int getStatementCacheSize() {
+		return _statementCacheSize;
+	}
+	
+	/**
+	 * Legt fest, wie viele PreparedStatements eine DatabaseSession fr ihre Verbindung zur Wiederverwendung vorhlt.
+	 * @param statementCacheSize Die maximale Anzahl vorgehaltener Anweisungen. Bei 0 werden keine Anweisungen wiederverwendet.
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		_statementCacheSize = Math.max(0, statementCacheSize);
+	}
+	
+	public IParameterBinder getParameterBinder() {
+		return _parameterBinder;
+	}
+	
+	/**
+	 * Legt fest, wie die Parameter von SQL-Anweisungen an das PreparedStatement gebunden werden.
+	 * @param parameterBinder Der zu verwendende IParameterBinder. Wird null bergeben, wird ein TypedParameterBinder verwendet.
+	 */
+	public void setParameterBinder(IParameterBinder parameterBinder) {
+		_parameterBinder = parameterBinder != null ? parameterBinder : new TypedParameterBinder();
+	}
+	
+	public ResourceLeakDetector getLeakDetector() {
+		return _leakDetector;
+	}
+	
+	/**
+	 * Aktiviert die Verfolgung der intern angelegten PreparedStatements und ResultSets. Wird eine Datenbankverbindung freigegeben, whrend
+	 * eine ihrer Ressourcen noch geffnet ist, so meldet der ResourceLeakDetector dies mitsamt der Stelle, an welcher die Ressource angelegt wurde.
+	 * @param leakDetector Der zu verwendende ResourceLeakDetector oder null, um die Verfolgung zu deaktivieren.
+	 */
+	public void setLeakDetector(ResourceLeakDetector leakDetector) {
+		_leakDetector = leakDetector;
+	}
+	
+	public boolean isDirtyTracking() {
+		return _entitySnapshots != null;
+	}
+	
+	/**
+	 * Aktiviert die nderungsverfolgung. Fr jedes mittels autofetch eingelesene Datenbank-Objekt werden dann die Werte seiner Spalten
+	 * vorgehalten, sodass autoupdateDirty lediglich genderte Spalten schreiben muss.
+	 * @param isDirtyTracking Gibt an, ob die nderungsverfolgung aktiviert werden soll. Beim Deaktivieren werden alle vorgehaltenen Werte verworfen.
+	 */
+	public void setDirtyTracking(boolean isDirtyTracking) {
+		
+		if(!isDirtyTracking)
+			_entitySnapshots = null;
+		else if(_entitySnapshots == null)
+			_entitySnapshots = new EntitySnapshots();
+		
+	}
+	
+	public boolean isIdentityMapping() {
+		return _isIdentityMapping;
+	}
+	
+	/**
+	 * Legt fest, ob die ber openSession geffneten Sessions eine Identity Map verwenden. Innerhalb einer solchen Session wird fr jeden
+	 * Datensatz, dessen Klasse mittels TableAttribute.primaryKey einen Primrschlssel deklariert, hchstens eine Instanz erzeugt.
+	 * Auerhalb einer Session hat diese Einstellung keine Wirkung.
+	 * @param isIdentityMapping Gibt an, ob die Identity Map verwendet werden soll.
+	 */
+	public void setIdentityMapping(boolean isIdentityMapping) {
+		_isIdentityMapping = isIdentityMapping;
+	}
+	
+	public EntityCache getEntityCache() {
+		return _entityCache;
+	}
+	
+	/**
+	 * Legt den Cache fest, ber welchen fetchById und autofetchById bereits eingelesene Datenstze ohne Datenbankzugriff liefern. Bei jedem
+	 * Treffer wird aus den zwischengespeicherten Spaltenwerten ein neues Datenbank-Objekt erzeugt.
+	 * Schreibende Zugriffe ber diesen DatabaseAccessor entfernen die betroffenen Eintrge. Eine DatabaseSession liest nicht aus dem Cache,
+	 * da sie nicht besttigte nderungen sieht, sondern entfernt lediglich die von ihr genderten Eintrge.
+	 * @param entityCache Der zu verwendende Cache oder null, um keinen Cache zu verwenden.
+	 */
+	public void setEntityCache(EntityCache entityCache) {
+		_entityCache = entityCache;
+	}
+	
+	public QueryCache getQueryCache() {
+		return _queryCache;
+	}
+	
+	/**
+	 * Legt den Cache fest, in welchem die Ergebnisse von fetch, autofetch und fetchJoined abgelegt werden. Zwischengespeicherte Ergebnisse
+	 * werden bei jedem Treffer als neue Datenbank-Objekte eingelesen. Schreibende Zugriffe ber diesen DatabaseAccessor entfernen alle Ergebnisse der genderten Tabelle.
+	 * Wie der EntityCache wird auch dieser Cache von einer DatabaseSession nicht gelesen, sondern lediglich invalidiert.
+	 * @param queryCache Der zu verwendende Cache oder null, um keinen Cache zu verwenden.
+	 */
+	public void setQueryCache(QueryCache queryCache) {
+		_queryCache = queryCache;
+	}
+	
+	public Executor getAsyncExecutor() {
+		return _asyncExecutor;
+	}
+	
+	/**
+	 * Legt den Executor fest, auf welchem die asynchronen Operationen (z. B. fetchAsync) ausgefhrt werden.
+	 * @param asyncExecutor Der zu verwendende Executor. Wird null bergeben, so werden unter Java 21 und neuer virtuelle Threads
+	 * verwendet, ansonsten ein gemeinsamer Pool aus Daemon-Threads.
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		_asyncExecutor = asyncExecutor;
+	}
+	
+	public int getAsyncConcurrencyLimit() {
+		return _dataSource != null ? AsyncBulkhead.forDataSource(_dataSource).getLimit() : AsyncBulkhead.DEFAULT_LIMIT;
+	}
+	
+	/**
+	 * Beschrnkt die Anzahl gleichzeitig ausgefhrter asynchroner Operationen. Die Beschrnkung gilt fr alle DatabaseAccessor-Instanzen,
+	 * welche dieselbe DataSource verwenden, und sollte die Gre des Verbindungspools nicht berschreiten. Weitere Operationen werden
+	 * ohne Belegung eines Threads in eine Warteschlange eingereiht.
+	 * @param limit Die maximale Anzahl gleichzeitig ausgefhrter Operationen, mindestens 1.
+	 */
+	public void setAsyncConcurrencyLimit(int limit) {
+		
+		if(_dataSource != null)
+			AsyncBulkhead.forDataSource(_dataSource).setLimit(limit);
+		
+	}
+	
+	EntitySnapshots getEntitySnapshots() {
+		return _entitySnapshots;
+	}
+	
+	void setEntitySnapshots(EntitySnapshots entitySnapshots) {
+		_entitySnapshots = entitySnapshots;
+	}
+	
+	public SqlDialects getDialect() {
+		return _dialect;
+	}
+	
+	/**
+	 * Legt den SQL-Dialekt fest, nach welchem z. B. die Beschrnkung der Datenstze bei fetchSingle formuliert wird.
+	 * @param dialect Der zu verwendende Dialekt. Wird null bergeben, so wird der Dialekt anhand der Metadaten der Datenbankverbindung bestimmt.
+	 */
+	public void setDialect(SqlDialects dialect) {
+		_dialect = dialect;
+	}
+	
 	public DataSource getDataSource() {
 		return _dataSource;
 	}
 	
 	public void setDataSource(DataSource dataSource) {
-		_dataSource = dataSource;	
+		_dataSource = dataSource;
+		_detectedDialect = null;
 	}
 	
 	public void allowUpdateWithoutWhere(boolean flag) {
@@ -90,79 +389,22 @@ public class DatabaseAccessor {
 	 */
 	public <T extends IDatabaseReadable> List<T> fetch(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
 		
-		if(objFactory == null || _dataSource == null)
-			return null;
-		
-		List<T> results = new ArrayList<T>();
-		
-		Connection connection = null;
+		return fetchAll(objFactory, SelectModes.Readable, whereClause, sqlParams);
 		
-		try {
-
-			connection = _dataSource.getConnection();
-		    
-			T tempObj = objFactory.createInstance();
-			
-			String[] colNames = tempObj.getColumnNames();
-			
-			if(colNames == null)
-				colNames = new String[0];
-			
-			StringBuilder colBuilder = new StringBuilder(colNames.length > 0 ? "" : "*");
-			
-			for(int i = 0; i < colNames.length; i++) {
-				
-				if(!DatasetAttributes.isSafeAttributeName(colNames[i]))
-					return null;
-				
-				colBuilder.append(colNames[i]);
-				
-				if(i < colNames.length-1)
-					colBuilder.append(", ");
-				
-			}
-			
-			String sql = "SELECT " + distinctString() + colBuilder.toString() + " FROM " + tempObj.getTableName() + " " + (whereClause != null ? "WHERE " + whereClause : "");
-			
-		    PreparedStatement statement = connection.prepareStatement(sql);
-		    
-		    if(whereClause != null && sqlParams != null) {
-		    	
-		    	for(int i = 0; i < sqlParams.length; i++)
-			    	statement.setString(i+1, sqlParams[i]);
-		    	
-		    }
-		    
-		    ResultSet rs = statement.executeQuery();
-		    
-		    _lastQueryInfo = statement.toString();
-		    
-		    while(rs.next()) {
-		    	
-		    	tempObj = objFactory.createInstance();
-		    	tempObj.readFromDatabase(rs);
-		    	results.add(tempObj);
-		    	
-		    }
-		    
-		}
-	    catch(Exception e) {
-	    	
-	    	return null;
-	    	
-	    }
-	    finally {
-	    	
-	    	if(connection != null) {
-	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
-	    		
-	    	}
-	    	
-	    }
+	}
+	
+	/**
+	 * Ruft alle Datenstze in der Datenbanktabelle ab, welche mit der bergebenen Where-Klausel bereinstimmen und erzeugt 
+	 * aus diesen Datenbank-Objekte des gewnschten Typs. Die Parameter werden mittels des festgelegten IParameterBinder typgerecht gebunden.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten, welche dann durch die bergebenen SQL-Parameter ersetzt werden. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param sqlParams Die Parameter, welche die in der Where-Klausel verwendeten Platzhalter ersetzen.
+	 * @return Eine Sammlung von Datenbank-Objekten des gewnschten Typs.
+	 */
+	public <T extends IDatabaseReadable> List<T> fetch(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
 		
-		return results;
+		return fetchAll(objFactory, SelectModes.Readable, whereClause, sqlParams);
 		
 	}
 	
@@ -195,197 +437,175 @@ public class DatabaseAccessor {
 	
 	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
 		
-		if(objFactory == null || _dataSource == null)
-			return null;
+		return fetchAll(objFactory, SelectModes.Auto, whereClause, sqlParams);
 		
-		List<T> results = new ArrayList<T>();
+	}
+	
+	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
+		
+		return fetchAll(objFactory, SelectModes.Auto, whereClause, sqlParams);
+		
+	}
+	
+	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory, String whereClause) {
+		
+		return autofetch(objFactory, whereClause, null);
+		
+	}
+	
+	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory) {
+		
+		return autofetch(objFactory, null, null);
+		
+	}
+	
+	/**
+	 * Ruft den ersten Datensatz in der Datenbanktabelle ab, welcher mit der bergebenen Where-Klausel bereinstimmt und erzeugt 
+	 * aus diesem ein Datenbank-Objekt des gewnschten Typs.
+	 * @param <T> Der Typ des zu erzeugenden Datenbank-Objekts. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten, welche dann durch die bergebenen SQL-Parameter ersetzt werden.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * Es wird hchstens ein Datensatz von der Datenbank abgerufen.
+	 * @return Das erzeugte Datenbank-Objekt oder null, falls kein Datensatz gefunden wurde.
+	 */
+	public <T extends IDatabaseReadable> T fetchSingle(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return fetchFirst(objFactory, SelectModes.Readable, whereClause, sqlParams, null);
+		
+	}
+	
+	public <T extends IDatabaseObj> T autofetchSingle(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return fetchFirst(objFactory, SelectModes.Auto, whereClause, sqlParams, null);
+		
+	}
+	
+	/**
+	 * Ruft den Datensatz mit dem bergebenen Primrschlssel ab. Die Schlsselspalte wird ber TableAttribute.primaryKey bestimmt.
+	 * Verwendet eine DatabaseSession eine Identity Map und wurde der Datensatz bereits eingelesen, so wird die vorhandene Instanz
+	 * ohne Datenbankzugriff zurckgegeben.
+	 * @param <T> Der Typ des zu erzeugenden Datenbank-Objekts. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt.
+	 * @param key Der Wert des Primrschlssels.
+	 * @return Das Datenbank-Objekt oder null, falls kein Datensatz gefunden wurde oder die Klasse keinen Primrschlssel deklariert.
+	 */
+	public <T extends IDatabaseReadable> T fetchById(IDatabaseObjectFactory<T> objFactory, Object key) {
+		
+		return fetchByKey(objFactory, SelectModes.Readable, key);
+		
+	}
+	
+	public <T extends IDatabaseObj> T autofetchById(IDatabaseObjectFactory<T> objFactory, Object key) {
+		
+		return fetchByKey(objFactory, SelectModes.Auto, key);
+		
+	}
+
+	
+	/**
+	 * Schreibt das bergebene Datenbank-Objekt als neuen Datensatz in die zugehrige Datenbanktabelle.
+	 * @param dbObj Das zu schreibende Objekt.
+	 * @return True bei Erfolg, false im Falle eines Fehlers.
+	 */
+	public boolean insert(IDatabaseWritable dbObj) {
+		
+		if(dbObj == null || _dataSource == null)
+			return false;
 		
 		Connection connection = null;
+		PreparedStatement statement = null;
+		
+		int rowsAffected = 0;
+		
+		QueryEvent event = startQuery(SqlOperations.Insert, dbObj.getTableName(), dbObj.getClass());
 		
 		try {
-
-			connection = _dataSource.getConnection();
-		    
-			T tempObj = objFactory.createInstance();
-			
-			Collection<Field> annotatedFields = ReflectionUtility.getFieldsWithAnnotation(tempObj.getClass(), TableAttribute.class);
-			
-			Map<String, Field> fieldMap = new HashMap<String, Field>();
-			
-			for(Field field : annotatedFields) {
-				
-				TableAttribute annotation = field.getAnnotation(TableAttribute.class);
-				
-				if(DatasetAttributes.isSafeAttributeName(annotation.column())) {
-					
-					fieldMap.put(annotation.column(), field);
-					
-				}
-				
-			}
-			
-			
-			StringBuilder colBuilder = new StringBuilder();
 			
-			Set<String> attrNames = fieldMap.keySet();
+			connection = openConnection();
+			event.connectionAcquired();
 			
-			if(attrNames.isEmpty())
-				return null;
-			
-			int currAttrIndex = 0;
-			
-			for(String attr : attrNames) {
-				
-				colBuilder.append(attr);
-				
-				if(currAttrIndex < attrNames.size()-1)
-					colBuilder.append(", ");
-				
-				currAttrIndex++;
-				
-			}
-			
-			String sql = "SELECT " + distinctString() + colBuilder.toString() + " FROM " + tempObj.getTableName() + " " + (whereClause != null ? "WHERE " + whereClause : "");
-			
-		    PreparedStatement statement = connection.prepareStatement(sql);
-		    
-		    if(whereClause != null && sqlParams != null) {
-		    	
-		    	for(int i = 0; i < sqlParams.length; i++)
-			    	statement.setString(i+1, sqlParams[i]);
-		    	
-		    }
+		    statement = prepareInsert(connection, dbObj.getClass(), dbObj.getTableName(), dbObj.writeToDatabase(), event);
 		    
-		    ResultSet rs = statement.executeQuery();
+		    if(statement == null)
+		    	return false;
 		    
-		    _lastQueryInfo = statement.toString();
+		    rowsAffected = executeUpdate(statement, event);
+		    event.complete(rowsAffected);
 		    
-		    while(rs.next()) {
-		    	
-		    	tempObj = objFactory.createInstance();
-		    	
-		    	for(String attrName : attrNames) {
-		    		
-		    		Field field = fieldMap.get(attrName);
-		    		
-		    		boolean wasAccessible = field.isAccessible();
-    				field.setAccessible(true);
-    				
-    				if(IDatasetAttribute.class.isAssignableFrom(field.getType())) {
-    					
-    					IDatasetAttribute fieldValue = (IDatasetAttribute)field.getType().newInstance();
-    					fieldValue.deserializeByAttributeValue(rs.getString(attrName));
-    					
-    				}
-    				else
-    					field.set(tempObj, rs.getObject(attrName));
-    				
-    				field.setAccessible(wasAccessible);
-		    		
-		    	}
-		    	
-		    	results.add(tempObj);
-		    	
-		    }
+		    invalidateCaches(dbObj.getTableName(), dbObj);
 		    
 		}
 	    catch(Exception e) {
 	    	
-	    	return null;
+	    	event.fail(e);
+	    	return false;
 	    	
 	    }
 	    finally {
 	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
 	    	if(connection != null) {
 	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
+	    		closeConnection(connection);
 	    		
 	    	}
 	    	
 	    }
 		
-		return results;
-		
-	}
-	
-	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory, String whereClause) {
-		
-		return autofetch(objFactory, whereClause, null);
-		
-	}
-	
-	public <T extends IDatabaseObj> List<T> autofetch(IDatabaseObjectFactory<T> objFactory) {
-		
-		return autofetch(objFactory, null, null);
-		
-	}
-	
-	/**
-	 * Ruft den ersten Datensatz in der Datenbanktabelle ab, welcher mit der bergebenen Where-Klausel bereinstimmt und erzeugt 
-	 * aus diesem ein Datenbank-Objekt des gewnschten Typs.
-	 * @param <T> Der Typ des zu erzeugenden Datenbank-Objekts. Muss IDatabaseReadable implementieren.
-	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
-	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten, welche dann durch die bergebenen SQL-Parameter ersetzt werden.
-	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
-	 * @return Das erzeugte Datenbank-Objekt.
-	 */
-	public <T extends IDatabaseReadable> T fetchSingle(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
-		
-		List<T> objs = fetch(objFactory, whereClause, sqlParams);
-		
-		return objs == null || objs.isEmpty() ? null : objs.get(0);
-		
-	}
-	
-	public <T extends IDatabaseObj> T autofetchSingle(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
-		
-		List<T> objs = autofetch(objFactory, whereClause, sqlParams);
-		
-		return objs == null || objs.isEmpty() ? null : objs.get(0);
+		return rowsAffected != 0;
 		
 	}
-
 	
-	/**
-	 * Schreibt das bergebene Datenbank-Objekt als neuen Datensatz in die zugehrige Datenbanktabelle.
-	 * @param dbObj Das zu schreibende Objekt.
-	 * @return True bei Erfolg, false im Falle eines Fehlers.
-	 */
-	public boolean insert(IDatabaseWritable dbObj) {
+	public boolean autoInsert(IDatabaseObj dbObj) {
 		
 		if(dbObj == null || _dataSource == null)
 			return false;
 		
 		Connection connection = null;
+		PreparedStatement statement = null;
 		
 		int rowsAffected = 0;
 		
+		QueryEvent event = startQuery(SqlOperations.Insert, dbObj.getTableName(), dbObj.getClass());
+		
 		try {
 			
-			connection = _dataSource.getConnection();
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			DatasetAttributes dsAttributes = new DatasetAttributes();
+						
+			if(!dsAttributes.parseAnnotations(dbObj))
+				return false;
 			
-		    PreparedStatement statement = prepareInsert(connection, dbObj.getTableName(), dbObj.writeToDatabase());
+		    statement = prepareInsert(connection, dbObj.getClass(), dbObj.getTableName(), dsAttributes, event);
 		    
 		    if(statement == null)
 		    	return false;
 		    
-		    rowsAffected = statement.executeUpdate();
+		    rowsAffected = executeUpdate(statement, event);
+		    event.complete(rowsAffected);
 		    
-		    _lastQueryInfo = statement.toString();
+		    invalidateCaches(dbObj.getTableName(), dbObj);
 		    
 		}
 	    catch(Exception e) {
 	    	
+	    	event.fail(e);
 	    	return false;
 	    	
 	    }
 	    finally {
 	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
 	    	if(connection != null) {
 	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
+	    		closeConnection(connection);
 	    		
 	    	}
 	    	
@@ -395,51 +615,287 @@ public class DatabaseAccessor {
 		
 	}
 	
-	public boolean autoInsert(IDatabaseObj dbObj) {
+	/**
+	 * Schreibt alle bergebenen Datenbank-Objekte als neue Datenstze in die jeweils zugehrige Datenbanktabelle. Objekte mit identischer Tabelle
+	 * und identischen Attributen werden ber eine gemeinsame PreparedStatement-Instanz als JDBC-Batch geschrieben, welcher jeweils nach der
+	 * mittels setBatchSize festgelegten Anzahl von Datenstzen ausgefhrt wird. Alle Datenstze werden in einer gemeinsamen Transaktion geschrieben.
+	 * @param dbObjs Die zu schreibenden Objekte.
+	 * @return Ein Array, welches fr jedes Objekt in der Reihenfolge der Sammlung angibt, ob es geschrieben wurde, oder null im Falle eines Fehlers.
+	 * Im Falle eines Fehlers werden alle Datenstze dieses Aufrufs verworfen. Innerhalb einer DatabaseSession wird dazu auf einen vor dem
+	 * Aufruf gesetzten Savepoint zurckgerollt, sodass die brigen nderungen der Session erhalten bleiben. Untersttzt der Treiber keine
+	 * Savepoints, so verbleiben die bereits geschriebenen Datenstze in der Transaktion der Session und der Aufrufer muss rollback aufrufen.
+	 */
+	public boolean[] insertAll(Collection<? extends IDatabaseWritable> dbObjs) {
 		
-		if(dbObj == null || _dataSource == null)
-			return false;
+		if(dbObjs == null)
+			return null;
+		
+		List<DatasetAttributes> attributes = new ArrayList<DatasetAttributes>(dbObjs.size());
+		
+		for(IDatabaseWritable dbObj : dbObjs)
+			attributes.add(dbObj != null ? dbObj.writeToDatabase() : null);
+		
+		return insertBatched(new ArrayList<IDatabaseObj>(dbObjs), attributes);
+		
+	}
+	
+	/**
+	 * Schreibt alle bergebenen Datenbank-Objekte anhand ihrer mittels TableAttribute annotierten Felder als neue Datenstze in die jeweils
+	 * zugehrige Datenbanktabelle. Die Datenstze werden wie bei insertAll gruppiert, als JDBC-Batch und in einer gemeinsamen Transaktion geschrieben.
+	 * @param dbObjs Die zu schreibenden Objekte.
+	 * @return Ein Array, welches fr jedes Objekt in der Reihenfolge der Sammlung angibt, ob es geschrieben wurde, oder null im Falle eines Fehlers.
+	 * Im Falle eines Fehlers werden wie bei insertAll alle Datenstze dieses Aufrufs verworfen.
+	 */
+	public boolean[] autoInsertAll(Collection<? extends IDatabaseObj> dbObjs) {
+		
+		if(dbObjs == null)
+			return null;
+		
+		List<DatasetAttributes> attributes = new ArrayList<DatasetAttributes>(dbObjs.size());
+		
+		for(IDatabaseObj dbObj : dbObjs) {
+			
+			DatasetAttributes dsAttributes = new DatasetAttributes();
+			attributes.add(dsAttributes.parseAnnotations(dbObj) ? dsAttributes : null);
+			
+		}
+		
+		return insertBatched(new ArrayList<IDatabaseObj>(dbObjs), attributes);
+		
+	}
+	
+	private boolean[] insertBatched(List<IDatabaseObj> dbObjs, List<DatasetAttributes> attributes) {
+		
+		Map<List<String>, StatementBatch> batches = new LinkedHashMap<List<String>, StatementBatch>();
+		
+		for(int i = 0; i < dbObjs.size(); i++) {
+			
+			IDatabaseObj dbObj = dbObjs.get(i);
+			DatasetAttributes dsAttributes = attributes.get(i);
+			
+			if(dbObj == null || dsAttributes == null || dbObj.getTableName() == null || dsAttributes.count() <= 0)
+				continue;
+			
+			List<String> batchKey = new ArrayList<String>(dsAttributes.count() + 1);
+			batchKey.add(dbObj.getTableName());
+			batchKey.addAll(dsAttributes.getAttributeNames());
+			
+			StatementBatch batch = batches.get(batchKey);
+			
+			if(batch == null) {
+				
+				String[] attrNames = dsAttributes.getAttributeNames().toArray(new String[dsAttributes.count()]);
+				
+				batch = new StatementBatch(SqlOperations.Insert, dbObj.getClass(), dbObj.getTableName(), _sqlTemplateCache.insert(dbObj.getClass(), dbObj.getTableName(), attrNames), attrNames);
+				batches.put(batchKey, batch);
+				
+			}
+			
+			batch.add(i, dsAttributes, null);
+			
+		}
+		
+		int[] counts = executeBatched(batches.values(), dbObjs.size());
+		
+		for(IDatabaseObj dbObj : dbObjs) {
+			
+			if(dbObj != null && dbObj.getTableName() != null)
+				invalidateCaches(dbObj.getTableName(), dbObj);
+			
+		}
+		
+		if(counts == null)
+			return null;
+		
+		boolean[] results = new boolean[counts.length];
+		
+		for(int i = 0; i < counts.length; i++)
+			results[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+		
+		return results;
+		
+	}
+	
+	/**
+	 * Fhrt die bergebenen Batches ber eine gemeinsame Verbindung in einer Transaktion aus. Pro Batch wird eine PreparedStatement-Instanz
+	 * verwendet, welche jeweils nach der festgelegten Anzahl von Datenstzen ausgefhrt wird.
+	 * @return Die Anzahl der betroffenen Datenstze je Zeile, -1 fr nicht ausgefhrte Zeilen oder null im Falle eines Fehlers.
+	 */
+	private int[] executeBatched(Collection<StatementBatch> batches, int rowCount) {
+		
+		if(_dataSource == null)
+			return null;
+		
+		int[] results = new int[rowCount];
+		Arrays.fill(results, -1);
 		
 		Connection connection = null;
+		boolean wasAutoCommit = false;
+		Savepoint savepoint = null;
 		
-		int rowsAffected = 0;
+		StatementBatch firstBatch = null;
+		
+		for(StatementBatch batch : batches) {
+			
+			if(batch.sql != null) {
+				
+				firstBatch = batch;
+				break;
+				
+			}
+			
+		}
+		
+		// Die Zeit fr den Erhalt der Verbindung wird dem ersten Batch zugerechnet.
+		QueryEvent event = firstBatch != null ? startQuery(firstBatch.operation, firstBatch.tableName, firstBatch.entityType) : QueryEvent.DISABLED;
 		
 		try {
 			
-			connection = _dataSource.getConnection();
+			connection = openConnection();
+			event.connectionAcquired();
 			
-			DatasetAttributes dsAttributes = new DatasetAttributes();
+			// Innerhalb einer bereits laufenden Transaktion (z. B. einer DatabaseSession) wird diese weder besttigt noch vollstndig
+			// zurckgesetzt, sondern im Falle eines Fehlers lediglich bis zum Beginn dieses Aufrufs.
+			wasAutoCommit = connection.getAutoCommit();
+			
+			if(wasAutoCommit)
+				connection.setAutoCommit(false);
+			else
+				savepoint = setSavepoint(connection);
+			
+			for(StatementBatch batch : batches) {
+				
+				if(batch.sql == null)
+					continue;
+				
+				if(batch != firstBatch)
+					event = startQuery(batch.operation, batch.tableName, batch.entityType);
+				
+				PreparedStatement statement = prepareStatement(connection, batch.sql);
+				event.statement(batch.sql, null);
+				
+				try {
+					
+					int pending = 0;
+					int batchRows = 0;
+					
+					for(int i = 0; i < batch.rows.size(); i++) {
 						
-			if(!dsAttributes.parseAnnotations(dbObj))
-				return false;
+						Object[] params = batch.params.get(i);
+						
+						for(int j = 0; j < params.length; j++)
+							_parameterBinder.bind(statement, j+1, params[j]);
+						
+						statement.addBatch();
+						pending++;
+						
+						if(pending == _batchSize || i == batch.rows.size() - 1) {
+							
+							int[] counts = executeBatch(statement, event);
+							int firstRow = i - pending + 1;
+							
+							for(int j = 0; j < counts.length && j < pending; j++) {
+								
+								results[batch.rows.get(firstRow + j)] = counts[j] == Statement.EXECUTE_FAILED ? -1 : counts[j];
+								batchRows += Math.max(0, counts[j]);
+								
+							}
+							
+							pending = 0;
+							
+						}
+						
+					}
+					
+					event.complete(batchRows);
+					
+				}
+				finally {
+					
+					releaseStatement(statement);
+					
+				}
+				
+			}
+			
+			if(wasAutoCommit)
+				connection.commit();
+			else
+				releaseSavepoint(connection, savepoint);
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			rollbackBatch(connection, wasAutoCommit, savepoint);
+			
+			return null;
+			
+		}
+		finally {
+			
+			if(connection != null) {
+				
+				if(wasAutoCommit) {
+					
+					try { connection.setAutoCommit(true); }
+					catch(Exception e) { }
+					
+				}
+				
+				closeConnection(connection);
+				
+			}
 			
-		    PreparedStatement statement = prepareInsert(connection, dbObj.getTableName(), dsAttributes);
-		    
-		    if(statement == null)
-		    	return false;
-		    
-		    rowsAffected = statement.executeUpdate();
-		    
-		    _lastQueryInfo = statement.toString();
-		    
 		}
-	    catch(Exception e) {
-	    	
-	    	return false;
-	    	
-	    }
-	    finally {
-	    	
-	    	if(connection != null) {
-	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
-	    		
-	    	}
-	    	
-	    }
 		
-		return rowsAffected != 0;
+		return results;
+		
+	}
+	
+	/**
+	 * Setzt einen Savepoint innerhalb einer bereits laufenden Transaktion.
+	 * @return Der Savepoint oder null, falls der Treiber keine Savepoints untersttzt.
+	 */
+	private static Savepoint setSavepoint(Connection connection) {
+		
+		try {
+			return connection.setSavepoint();
+		}
+		catch(Exception e) {
+			return null;
+		}
+		
+	}
+	
+	private static void releaseSavepoint(Connection connection, Savepoint savepoint) {
+		
+		if(savepoint == null)
+			return;
+		
+		try { connection.releaseSavepoint(savepoint); }
+		catch(Exception e) { }
+		
+	}
+	
+	/**
+	 * Verwirft die nderungen eines fehlgeschlagenen Aufrufs. Wurde die Transaktion fr den Aufruf begonnen, so wird sie vollstndig
+	 * zurckgerollt, ansonsten bis zu dem bergebenen Savepoint.
+	 */
+	private static void rollbackBatch(Connection connection, boolean wasAutoCommit, Savepoint savepoint) {
+		
+		if(connection == null || !wasAutoCommit && savepoint == null)
+			return;
+		
+		try {
+			
+			if(wasAutoCommit)
+				connection.rollback();
+			else
+				connection.rollback(savepoint);
+			
+		}
+		catch(Exception e) { }
 		
 	}
 	
@@ -457,40 +913,62 @@ public class DatabaseAccessor {
 	 */
 	public int update(IDatabaseWritable dbObj, DatasetAttributes targetAttributes, String whereClause, String[] whereParams) {
 		
+		return update(dbObj, targetAttributes, whereClause, (Object[])whereParams);
+		
+	}
+	
+	/**
+	 * Wie update, die Parameter der Where-Klausel werden jedoch mittels des festgelegten IParameterBinder typgerecht gebunden.
+	 * @param dbObj Das Datenbank-Objekt, dessen Attribute in die zugehrige Datenbanktabelle geschrieben werden sollen.
+	 * @param targetAttributes Die zu aktualisierenden Attribute oder null.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @param whereParams Die Parameter, welche die in der Where-Klausel verwendeten Platzhalter ersetzen.
+	 * @return Die Anzahl der von dem Update betroffenen Datenstze oder -1 im Falle eines Fehlers.
+	 */
+	public int update(IDatabaseWritable dbObj, DatasetAttributes targetAttributes, String whereClause, Object... whereParams) {
+		
 		if(dbObj == null || _dataSource == null || (!_allowUpdateWithoutWhere && whereClause == null))
 			return -1;
 		
 		Connection connection = null;
+		PreparedStatement statement = null;
 		
 		int rowsAffected = 0;
 		
+		QueryEvent event = startQuery(SqlOperations.Update, dbObj.getTableName(), dbObj.getClass());
+		
 		try {
 			
-			connection = _dataSource.getConnection();
+			connection = openConnection();
+			event.connectionAcquired();
 			
 			DatasetAttributes dsAttributes = targetAttributes != null ? targetAttributes : dbObj.writeToDatabase();
 			
-		    PreparedStatement statement = prepareUpdate(connection, dbObj.getTableName(), dsAttributes, whereClause, whereParams);
+		    statement = prepareUpdate(connection, dbObj.getClass(), dbObj.getTableName(), dsAttributes, whereClause, whereParams, event);
 		    
 		    if(statement == null)
 		    	return -1;
 		    
-		    rowsAffected = statement.executeUpdate();
+		    rowsAffected = executeUpdate(statement, event);
+		    event.complete(rowsAffected);
 		    
-		    _lastQueryInfo = statement.toString();
+		    invalidateCaches(dbObj.getTableName(), null);
 		    
 		}
 	    catch(Exception e) {
 	    	
+	    	event.fail(e);
 	    	return -1;
 	    	
 	    }
 	    finally {
 	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
 	    	if(connection != null) {
 	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
+	    		closeConnection(connection);
 	    		
 	    	}
 	    	
@@ -516,18 +994,34 @@ public class DatabaseAccessor {
 		
 	}
 	
+	public int update(IDatabaseWritable dbObj, String whereClause, Object... whereParams) {
+		
+		return update(dbObj, null, whereClause, whereParams);
+		
+	}
+	
 	public int autoupdate(IDatabaseObj dbObj, DatasetAttributes targetAttributes, String whereClause, String[] whereParams) {
 		
+		return autoupdate(dbObj, targetAttributes, whereClause, (Object[])whereParams);
+		
+	}
+	
+	public int autoupdate(IDatabaseObj dbObj, DatasetAttributes targetAttributes, String whereClause, Object... whereParams) {
+		
 		if(dbObj == null || _dataSource == null || (!_allowUpdateWithoutWhere && whereClause == null))
 			return -1;
 		
 		Connection connection = null;
+		PreparedStatement statement = null;
 		
 		int rowsAffected = 0;
 		
+		QueryEvent event = startQuery(SqlOperations.Update, dbObj.getTableName(), dbObj.getClass());
+		
 		try {
 			
-			connection = _dataSource.getConnection();
+			connection = openConnection();
+			event.connectionAcquired();
 			
 			DatasetAttributes dsAttributes = targetAttributes;
 			
@@ -540,27 +1034,31 @@ public class DatabaseAccessor {
 				
 			}
 			
-		    PreparedStatement statement = prepareUpdate(connection, dbObj.getTableName(), dsAttributes, whereClause, whereParams);
+		    statement = prepareUpdate(connection, dbObj.getClass(), dbObj.getTableName(), dsAttributes, whereClause, whereParams, event);
 		    
 		    if(statement == null)
 		    	return -1;
 		    
-		    rowsAffected = statement.executeUpdate();
+		    rowsAffected = executeUpdate(statement, event);
+		    event.complete(rowsAffected);
 		    
-		    _lastQueryInfo = statement.toString();
+		    invalidateCaches(dbObj.getTableName(), null);
 		    
 		}
 	    catch(Exception e) {
 	    	
+	    	event.fail(e);
 	    	return -1;
 	    	
 	    }
 	    finally {
 	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
 	    	if(connection != null) {
 	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
+	    		closeConnection(connection);
 	    		
 	    	}
 	    	
@@ -576,12 +1074,169 @@ public class DatabaseAccessor {
 		
 	}
 	
+	public int autoupdate(IDatabaseObj dbObj, String whereClause, Object... whereParams) {
+		
+		return autoupdate(dbObj, null, whereClause, whereParams);
+		
+	}
+	
 	public int autoupdate(IDatabaseObj dbObj, String whereClause) {
 		
 		return autoupdate(dbObj, null, whereClause, null);
 		
 	}
 	
+	/**
+	 * Aktualisiert lediglich die Spalten des bergebenen Datenbank-Objekts, welche sich seit dem Einlesen mittels autofetch bzw. seit dem
+	 * letzten Aufruf dieser Methode gendert haben. Liegen keine nderungen vor, so wird keine Anweisung an die Datenbank gesendet.
+	 * Setzt voraus, dass die nderungsverfolgung mittels setDirtyTracking aktiviert ist. Fr Datenbank-Objekte, deren Ursprungswerte nicht
+	 * bekannt sind, werden alle Spalten aktualisiert.
+	 * @param dbObj Das Datenbank-Objekt, dessen genderte Attribute in die zugehrige Datenbanktabelle geschrieben werden sollen.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param whereParams Die Parameter, welche die in der Where-Klausel verwendeten Platzhalter ersetzen.
+	 * @return Die Anzahl der von dem Update betroffenen Datenstze, 0 falls keine nderungen vorliegen, oder -1 im Falle eines Fehlers.
+	 */
+	public int autoupdateDirty(IDatabaseObj dbObj, String whereClause, Object... whereParams) {
+		
+		if(dbObj == null)
+			return -1;
+		
+		DatasetAttributes dsAttributes = new DatasetAttributes();
+		
+		if(!dsAttributes.parseAnnotations(dbObj))
+			return -1;
+		
+		EntitySnapshots snapshots = _entitySnapshots;
+		Collection<String> dirtyColumns = snapshots != null ? snapshots.dirtyColumns(dbObj, dsAttributes) : null;
+		
+		if(dirtyColumns != null && dirtyColumns.isEmpty())
+			return 0;
+		
+		int rowsAffected = autoupdate(dbObj, dirtyColumns != null ? dsAttributes.createSubset(dirtyColumns) : dsAttributes, whereClause, whereParams);
+		
+		if(rowsAffected >= 0 && snapshots != null)
+			snapshots.take(dbObj, dsAttributes);
+		
+		return rowsAffected;
+		
+	}
+	
+	/**
+	 * Aktualisiert die Datenstze aller bergebenen Datenbank-Objekte anhand ihrer mittels TableAttribute annotierten Felder. Der jeweilige
+	 * Datensatz wird ber die angegebenen Schlsselspalten identifiziert, deren Werte ebenfalls aus dem Datenbank-Objekt gelesen werden.
+	 * Die Schlsselspalten selbst werden nicht aktualisiert. Objekte mit identischer Tabelle und identischen Attributen werden als JDBC-Batch
+	 * geschrieben, alle Datenstze in einer gemeinsamen Transaktion.
+	 * @param dbObjs Die zu schreibenden Objekte.
+	 * @param keyColumns Die Namen der Spalten, welche einen Datensatz eindeutig identifizieren.
+	 * @return Die Anzahl der betroffenen Datenstze je Objekt in der Reihenfolge der Sammlung (-1 fr nicht geschriebene Objekte, z. B.
+	 * falls eine Schlsselspalte null enthlt, Statement.SUCCESS_NO_INFO falls der Treiber keine Anzahl liefert) oder null im Falle eines Fehlers.
+	 * Ist eine Schlsselspalte kein annotiertes Attribut eines der Objekte, so wird null geliefert, ohne einen Datensatz zu schreiben.
+	 * Im Falle eines Fehlers werden wie bei insertAll alle Datenstze dieses Aufrufs verworfen, innerhalb einer DatabaseSession ber einen Savepoint.
+	 */
+	public int[] autoupdateAll(Collection<? extends IDatabaseObj> dbObjs, String... keyColumns) {
+		
+		if(dbObjs == null || keyColumns == null || keyColumns.length == 0)
+			return null;
+		
+		StringBuilder whereBuilder = new StringBuilder();
+		
+		for(int i = 0; i < keyColumns.length; i++) {
+			
+			if(!DatasetAttributes.isSafeAttributeName(keyColumns[i]))
+				return null;
+			
+			if(i > 0)
+				whereBuilder.append(" AND ");
+			
+			whereBuilder.append(keyColumns[i]).append(" = ?");
+			
+		}
+		
+		String whereClause = whereBuilder.toString();
+		Set<String> keyColumnSet = new HashSet<String>(Arrays.asList(keyColumns));
+		
+		Map<List<String>, StatementBatch> batches = new LinkedHashMap<List<String>, StatementBatch>();
+		
+		int row = 0;
+		
+		for(IDatabaseObj dbObj : dbObjs) {
+			
+			int currentRow = row++;
+			
+			if(dbObj == null || dbObj.getTableName() == null)
+				continue;
+			
+			DatasetAttributes dsAttributes = new DatasetAttributes();
+			
+			if(!dsAttributes.parseAnnotations(dbObj))
+				continue;
+			
+			EntityDescriptor descriptor = EntityDescriptor.forType(dbObj.getClass());
+			
+			// Eine unbekannte Schlsselspalte wrde als "= NULL" gebunden und keinen Datensatz treffen.
+			for(String keyColumn : keyColumns) {
+				
+				if(!descriptor.hasColumn(keyColumn))
+					return null;
+				
+			}
+			
+			Object[] keyValues = new Object[keyColumns.length];
+			
+			try {
+				
+				IEntityMapper<IDatabaseObj> mapper = descriptor.getMapper();
+				
+				for(int i = 0; i < keyColumns.length; i++)
+					keyValues[i] = mapper.getAttributeValue(dbObj, keyColumns[i]);
+				
+			}
+			catch(IllegalAccessException e) {
+				
+				continue;
+				
+			}
+			
+			if(Arrays.asList(keyValues).contains(null))
+				continue;
+			
+			List<String> batchKey = new ArrayList<String>(dsAttributes.count() + 1);
+			batchKey.add(dbObj.getTableName());
+			
+			for(String attrName : dsAttributes.getAttributeNames()) {
+				
+				if(!keyColumnSet.contains(attrName))
+					batchKey.add(attrName);
+				
+			}
+			
+			if(batchKey.size() <= 1)
+				continue;
+			
+			StatementBatch batch = batches.get(batchKey);
+			
+			if(batch == null) {
+				
+				String[] attrNames = batchKey.subList(1, batchKey.size()).toArray(new String[batchKey.size() - 1]);
+				
+				batch = new StatementBatch(SqlOperations.Update, dbObj.getClass(), dbObj.getTableName(), _sqlTemplateCache.update(dbObj.getClass(), dbObj.getTableName(), attrNames, whereClause), attrNames);
+				batches.put(batchKey, batch);
+				
+			}
+			
+			batch.add(currentRow, dsAttributes, keyValues);
+			
+		}
+		
+		int[] counts = executeBatched(batches.values(), dbObjs.size());
+		
+		for(List<String> batchKey : batches.keySet())
+			invalidateCaches(batchKey.get(0), null);
+		
+		return counts;
+		
+	}
+	
 	public int autoupdateSubset(IDatabaseObj dbObj, Collection<String> attributeNames, String whereClause, String[] whereParams) {
 		
 		boolean updateAllowed = _allowUpdateWithoutWhere || whereClause != null;
@@ -646,22 +1301,39 @@ public class DatabaseAccessor {
 	
 	public int delete(String tableName, String whereClause, String[] whereParams) {
 		
+		return delete(tableName, whereClause, (Object[])whereParams);
+		
+	}
+	
+	/**
+	 * Wie delete, die Parameter der Where-Klausel werden jedoch mittels des festgelegten IParameterBinder typgerecht gebunden.
+	 * @param tableName Der Name der Tabelle.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @param whereParams Die Parameter, welche die in der Where-Klausel verwendeten Platzhalter ersetzen.
+	 * @return Die Anzahl der gelschten Datenstze oder -1 im Falle eines Fehlers.
+	 */
+	public int delete(String tableName, String whereClause, Object... whereParams) {
+		
 		boolean allowDelete = _allowDeleteWithoutWhere || whereClause != null;
 		
 		if(!allowDelete || _dataSource == null || tableName == null)
 			return -1;
 		
 		Connection connection = null;
+		PreparedStatement statement = null;
 		
 		int rowsAffected = 0;
 		
+		QueryEvent event = startQuery(SqlOperations.Delete, tableName, null);
+		
 		try {
 			
-			connection = _dataSource.getConnection();
+			connection = openConnection();
+			event.connectionAcquired();
 			
-			String sql = "DELETE FROM " + tableName + (whereClause != null ? (" WHERE " + whereClause) : "");
+			String sql = _sqlTemplateCache.delete(tableName, whereClause);
 			
-		    PreparedStatement statement = connection.prepareStatement(sql);
+		    statement = prepareStatement(connection, sql);
 		    
 		    if(statement == null)
 		    	return -1;
@@ -669,26 +1341,32 @@ public class DatabaseAccessor {
 		    if(whereClause != null && whereParams != null) {
 				
 				for(int j = 0; j < whereParams.length; j++)
-					statement.setString(j+1, whereParams[j]);
+					_parameterBinder.bind(statement, j+1, whereParams[j]);
 				
 			}
 		    
-		    rowsAffected = statement.executeUpdate();
+		    event.statement(sql, whereClause != null ? whereParams : null);
 		    
-		    _lastQueryInfo = statement.toString();
+		    rowsAffected = executeUpdate(statement, event);
+		    event.complete(rowsAffected);
+		    
+		    invalidateCaches(tableName, null);
 		    
 		}
 	    catch(Exception e) {
 	    	
+	    	event.fail(e);
 	    	return -1;
 	    	
 	    }
 	    finally {
 	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
 	    	if(connection != null) {
 	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
+	    		closeConnection(connection);
 	    		
 	    	}
 	    	
@@ -698,221 +1376,246 @@ public class DatabaseAccessor {
 		
 	}
 	
-	private PreparedStatement prepareInsert(Connection connection, String tableName, DatasetAttributes dsAttributes) throws SQLException {
-
-		if(connection == null || tableName == null || dsAttributes == null)
-			return null;
-		
-		//DatasetAttributes dsAttributes = dbObj.writeToDatabase();
+	/**
+	 * Lscht alle Datenstze der angegebenen Tabelle, deren Schlsselspalte einem der bergebenen Werte entspricht. Die Werte werden in
+	 * IN-Listen mit hchstens getMaxInListSize Eintrgen aufgeteilt, welche ber eine gemeinsame Verbindung in einer Transaktion ausgefhrt werden.
+	 * Um die Anzahl unterschiedlicher SQL-Anweisungen gering zu halten, wird die Lnge jeder IN-Liste auf die nchste Zweierpotenz aufgerundet
+	 * und mit dem letzten Wert aufgefllt. Im Falle eines Fehlers werden wie bei insertAll alle Lschungen dieses Aufrufs verworfen, innerhalb
+	 * einer DatabaseSession ber einen Savepoint.
+	 * @param tableName Der Name der Tabelle.
+	 * @param keyColumn Der Name der Schlsselspalte.
+	 * @param keys Die Werte der zu lschenden Datenstze.
+	 * @return Die Anzahl der gelschten Datenstze oder -1 im Falle eines Fehlers.
+	 */
+	public int deleteAll(String tableName, String keyColumn, Collection<?> keys) {
 		
-		if(dsAttributes == null || dsAttributes.hasInvalidAttributeName())
-			return null;
-						
-		int attrCount = dsAttributes.count();
+		if(_dataSource == null || tableName == null || keys == null || !DatasetAttributes.isSafeAttributeName(keyColumn))
+			return -1;
 		
-		if(attrCount <= 0)
-			return null;
+		if(keys.isEmpty())
+			return 0;
 		
-		int attrIndex = 0;
+		Object[] keyArray = keys.toArray();
 		
-		Collection<String> attrNames = dsAttributes.getAttributeNames();
+		Connection connection = null;
+		boolean wasAutoCommit = false;
+		Savepoint savepoint = null;
 		
-		List<Object> attrValues = new ArrayList<Object>();
+		int rowsAffected = 0;
 		
-		StringBuilder columnBuilder = new StringBuilder();
-		StringBuilder valueBuilder = new StringBuilder();
+		// Die Zeit fr den Erhalt der Verbindung wird dem ersten Abschnitt zugerechnet.
+		QueryEvent event = startQuery(SqlOperations.Delete, tableName, null);
 		
-		for(String attrName : attrNames) {
+		try {
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			// Innerhalb einer bereits laufenden Transaktion wird diese wie bei executeBatched lediglich bis zum Beginn dieses Aufrufs zurckgesetzt.
+			wasAutoCommit = connection.getAutoCommit();
+			
+			if(wasAutoCommit)
+				connection.setAutoCommit(false);
+			else
+				savepoint = setSavepoint(connection);
+			
+			for(int offset = 0; offset < keyArray.length; offset += _maxInListSize) {
+				
+				if(offset > 0)
+					event = startQuery(SqlOperations.Delete, tableName, null);
+				
+				int keyCount = Math.min(_maxInListSize, keyArray.length - offset);
+				int paddedCount = 1;
+				
+				while(paddedCount < keyCount)
+					paddedCount <<= 1;
+				
+				paddedCount = Math.min(paddedCount, _maxInListSize);
+				
+				String sql = _sqlTemplateCache.deleteIn(tableName, keyColumn, paddedCount);
+				
+				PreparedStatement statement = prepareStatement(connection, sql);
+				
+				try {
+					
+					Object[] params = event.isEnabled() ? new Object[paddedCount] : null;
+					
+					for(int i = 0; i < paddedCount; i++) {
+						
+						Object key = keyArray[offset + Math.min(i, keyCount - 1)];
+						_parameterBinder.bind(statement, i+1, key);
+						
+						if(params != null)
+							params[i] = key;
+						
+					}
+					
+					event.statement(sql, params);
+					
+					int chunkRows = executeUpdate(statement, event);
+					event.complete(chunkRows);
+					
+					rowsAffected += chunkRows;
+					
+				}
+				finally {
+					
+					releaseStatement(statement);
+					
+				}
+				
+			}
+			
+			if(wasAutoCommit)
+				connection.commit();
+			else
+				releaseSavepoint(connection, savepoint);
 			
-			columnBuilder.append(attrName);
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			rollbackBatch(connection, wasAutoCommit, savepoint);
 			
-			if(attrIndex < attrCount - 1)
-				columnBuilder.append(", ");
+			return -1;
 			
-			valueBuilder.append("?");
+		}
+		finally {
 			
-			if(attrIndex < attrCount - 1)
-				valueBuilder.append(", ");
+			invalidateCaches(tableName, null);
 			
-			attrValues.add(dsAttributes.readAttribute(attrName));
+			if(connection != null) {
+				
+				if(wasAutoCommit) {
+					
+					try { connection.setAutoCommit(true); }
+					catch(Exception e) { }
+					
+				}
+				
+				closeConnection(connection);
+				
+			}
 			
-			attrIndex++;
 		}
 		
-		StringBuilder builder = new StringBuilder();
-		
-		builder.append("INSERT INTO " + tableName + " (");
-		builder.append(columnBuilder);
-		builder.append(") VALUES (");
-		builder.append(valueBuilder);
-		builder.append(')');
-		
-		String sql = builder.toString();
-		
-		PreparedStatement statement = connection.prepareStatement(sql);
-
-		for(int i = 0; i < attrValues.size(); i++)
-			statement.setObject(i+1, attrValues.get(i));
-				
-		return statement;
+		return rowsAffected;
 		
 	}
 	
-	private PreparedStatement prepareUpdate(Connection connection, String tableName, DatasetAttributes dsAttributes, String whereClause, String[] whereParams) throws SQLException {
+	private PreparedStatement prepareInsert(Connection connection, Class<?> entityType, String tableName, DatasetAttributes dsAttributes, QueryEvent event) throws SQLException {
 
-		if(connection == null || tableName == null)
+		if(connection == null || tableName == null || dsAttributes == null)
 			return null;
 		
-		// DatasetAttributes dsAttributes = targetAttributes != null ? targetAttributes : dbObj.writeToDatabase();
-		
-		if(dsAttributes == null || dsAttributes.hasInvalidAttributeName())
-			return null;
-						
 		int attrCount = dsAttributes.count();
 		
 		if(attrCount <= 0)
 			return null;
 		
-		int attrIndex = 0;
+		String[] attrNames = dsAttributes.getAttributeNames().toArray(new String[attrCount]);
 		
-		Collection<String> attrNames = dsAttributes.getAttributeNames();
+		String sql = _sqlTemplateCache.insert(entityType, tableName, attrNames);
 		
-		List<Object> attrValues = new ArrayList<Object>();
+		if(sql == null)
+			return null;
 		
-		StringBuilder setBuilder = new StringBuilder();
-		setBuilder.append("SET ");
+		PreparedStatement statement = prepareStatement(connection, sql);
 		
-		for(String attrName : attrNames) {
-			
-			setBuilder.append(attrName + "= ?");
+		try {
 			
-			if(attrIndex < attrCount - 1)
-				setBuilder.append(", ");
+			Object[] params = event.isEnabled() ? new Object[attrCount] : null;
 			
-			attrValues.add(dsAttributes.readAttribute(attrName));
+			for(int i = 0; i < attrCount; i++) {
+				
+				Object value = dsAttributes.getAttribute(attrNames[i]);
+				_parameterBinder.bind(statement, i+1, value);
+				
+				if(params != null)
+					params[i] = value;
+				
+			}
 			
-			attrIndex++;
-		}
-		
-		StringBuilder builder = new StringBuilder();
-		
-		builder.append("UPDATE " + tableName + " ");
-		builder.append(setBuilder);
-
-		if(whereClause != null) {
+			event.statement(sql, params);
 			
-			builder.append(" WHERE " + whereClause);
-						
 		}
-		
-		String sql = builder.toString();
-		
-		PreparedStatement statement = connection.prepareStatement(sql);
-		
-		for(int i = 0; i < attrCount; i++)
-			statement.setObject(i+1, attrValues.get(i));
-		
-		if(whereClause != null && whereParams != null) {
+		catch(SQLException e) {
 			
-			for(int j = 0; j < whereParams.length; j++)
-				statement.setString(j+1+attrCount, whereParams[j]);
+			releaseStatement(statement);
+			throw e;
 			
 		}
-				
+		
 		return statement;
 		
 	}
 	
-	public <T extends IJoinedDatabaseObj> List<T> fetchJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+	private PreparedStatement prepareUpdate(Connection connection, Class<?> entityType, String tableName, DatasetAttributes dsAttributes, String whereClause, Object[] whereParams, QueryEvent event) throws SQLException {
+
+		if(connection == null || tableName == null || dsAttributes == null)
+			return null;
 		
-		if(objFactory == null || _dataSource == null)
+		int attrCount = dsAttributes.count();
+		
+		if(attrCount <= 0)
 			return null;
 		
-		List<T> results = new ArrayList<T>();
+		String[] attrNames = dsAttributes.getAttributeNames().toArray(new String[attrCount]);
 		
-		Connection connection = null;
+		String sql = _sqlTemplateCache.update(entityType, tableName, attrNames, whereClause);
+		
+		if(sql == null)
+			return null;
+		
+		PreparedStatement statement = prepareStatement(connection, sql);
 		
 		try {
-
-			connection = _dataSource.getConnection();
-		    
-			T tempObj = objFactory.createInstance();
-			
-			String[] colNames = tempObj.getColumnNames();
 			
-			if(colNames == null)
-				colNames = new String[0];
+			int whereCount = whereClause != null && whereParams != null ? whereParams.length : 0;
+			Object[] params = event.isEnabled() ? new Object[attrCount + whereCount] : null;
 			
-			StringBuilder colBuilder = new StringBuilder(colNames.length > 0 ? "" : "*");
-			
-			for(int i = 0; i < colNames.length; i++) {
-				
-				if(!DatasetAttributes.isSafeAttributeName(colNames[i]))
-					return null;
+			for(int i = 0; i < attrCount; i++) {
 				
-				colBuilder.append(colNames[i]);
+				Object value = dsAttributes.getAttribute(attrNames[i]);
+				_parameterBinder.bind(statement, i+1, value);
 				
-				if(i < colNames.length-1)
-					colBuilder.append(", ");
+				if(params != null)
+					params[i] = value;
 				
 			}
 			
-			String joinClause = " ";
-			Collection<Join> joins = tempObj.join();
-			
-			if(joins == null)
-				return null;
-			
-			for(Join join : joins) {
+			for(int j = 0; j < whereCount; j++) {
 				
-				if(!join.isValid())
-					return null;
+				_parameterBinder.bind(statement, j+1+attrCount, whereParams[j]);
 				
-				joinClause += join.getClause() + " ";
+				if(params != null)
+					params[attrCount + j] = whereParams[j];
 				
 			}
 			
-			String sql = "SELECT " + distinctString() + colBuilder.toString() + " FROM " + tempObj.getTableName() + joinClause + " " + (whereClause != null ? "WHERE " + whereClause : "");
+			event.statement(sql, params);
+			
+		}
+		catch(SQLException e) {
+			
+			releaseStatement(statement);
+			throw e;
 			
-		    PreparedStatement statement = connection.prepareStatement(sql);
-		    
-		    if(whereClause != null && sqlParams != null) {
-		    	
-		    	for(int i = 0; i < sqlParams.length; i++)
-			    	statement.setString(i+1, sqlParams[i]);
-		    	
-		    }
-		    
-		    ResultSet rs = statement.executeQuery();
-		    
-		    _lastQueryInfo = statement.toString();
-		    
-		    while(rs.next()) {
-		    	
-		    	tempObj = objFactory.createInstance();
-		    	tempObj.readFromDatabase(rs);
-		    	results.add(tempObj);
-		    	
-		    }
-		    
 		}
-	    catch(Exception e) {
-	    	
-	    	return null;
-	    	
-	    }
-	    finally {
-	    	
-	    	if(connection != null) {
-	    		
-	    		try { connection.close(); }
-	    		catch(Exception e) { }
-	    		
-	    	}
-	    	
-	    }
 		
-		return results;
+		return statement;
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> List<T> fetchJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return fetchAll(objFactory, SelectModes.Joined, whereClause, sqlParams);
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> List<T> fetchJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
+		
+		return fetchAll(objFactory, SelectModes.Joined, whereClause, sqlParams);
 		
 	}
 	
@@ -930,17 +1633,1574 @@ public class DatabaseAccessor {
 	
 	public <T extends IJoinedDatabaseObj> T fetchJoinedSingle(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
 		
-		List<T> objs = fetchJoined(objFactory, whereClause, sqlParams);
-		
-		return objs == null || objs.isEmpty() ? null : objs.get(0);
+		return fetchFirst(objFactory, SelectModes.Joined, whereClause, sqlParams, null);
 		
 	}
 	
-	private String distinctString() {
+	/**
+	 * Fhrt die Abfrage aus, ohne das Ergebnis vollstndig in den Speicher zu laden. Die Datenbank-Objekte werden erst beim Weiterschalten
+	 * des zurckgegebenen Iterators erzeugt. Die Datenbankverbindung bleibt bis zum Schlieen des Iterators bzw. bis zum letzten Datensatz geffnet.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @return Ein Iterator ber die Datenbank-Objekte oder null, falls die Abfrage nicht ausgefhrt werden konnte.
+	 */
+	public <T extends IDatabaseReadable> ResultIterator<T> iterate(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
 		
-		return _isSelectDistinct ? " DISTINCT " : "";
+		return openIterator(objFactory, SelectModes.Readable, whereClause, sqlParams, identityMap());
+		
+	}
+	
+	public <T extends IDatabaseObj> ResultIterator<T> autoiterate(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return openIterator(objFactory, SelectModes.Auto, whereClause, sqlParams, identityMap());
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> ResultIterator<T> iterateJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return openIterator(objFactory, SelectModes.Joined, whereClause, sqlParams, identityMap());
+		
+	}
+	
+	/**
+	 * Wie iterate, liefert die Datenbank-Objekte jedoch als sequentiellen Stream. Der Stream sollte in einem try-with-resources-Block
+	 * verwendet werden, damit die Datenbankverbindung auch bei vorzeitigem Abbruch geschlossen wird.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @return Ein Stream der Datenbank-Objekte oder null, falls die Abfrage nicht ausgefhrt werden konnte.
+	 */
+	public <T extends IDatabaseReadable> Stream<T> stream(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		ResultIterator<T> iterator = iterate(objFactory, whereClause, sqlParams);
+		
+		return iterator != null ? iterator.stream() : null;
+		
+	}
+	
+	public <T extends IDatabaseObj> Stream<T> autostream(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		ResultIterator<T> iterator = autoiterate(objFactory, whereClause, sqlParams);
+		
+		return iterator != null ? iterator.stream() : null;
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> Stream<T> streamJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		ResultIterator<T> iterator = iterateJoined(objFactory, whereClause, sqlParams);
+		
+		return iterator != null ? iterator.stream() : null;
+		
+	}
+	
+	/**
+	 * Wie iterate, liefert die Datenbank-Objekte jedoch ber einen IPublisher. Fr jeden Abonnenten wird die Abfrage erneut ausgefhrt,
+	 * sobald dieser erstmals Objekte anfordert. Der Cursor wird lediglich so weit weitergeschaltet, wie Objekte angefordert wurden.
+	 * Die Abfrage, das Einlesen der Datenstze und die Aufrufe des Abonnenten erfolgen auf dem mittels setAsyncExecutor festgelegten Executor.
+	 * Die Datenbankverbindung wird freigegeben, sobald alle Datenstze bergeben wurden, ein Fehler auftritt oder das Abonnement beendet wird.
+	 * Ist die Abfrage nicht ausfhrbar, so wird der Abonnent mittels onError benachrichtigt.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @return Der IPublisher der Datenbank-Objekte.
+	 */
+	public <T extends IDatabaseReadable> IPublisher<T> publish(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return new ResultPublisher<T>(() -> iterate(objFactory, whereClause, sqlParams), asyncExecutor());
+		
+	}
+	
+	public <T extends IDatabaseObj> IPublisher<T> autopublish(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return new ResultPublisher<T>(() -> autoiterate(objFactory, whereClause, sqlParams), asyncExecutor());
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> IPublisher<T> publishJoined(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams) {
+		
+		return new ResultPublisher<T>(() -> iterateJoined(objFactory, whereClause, sqlParams), asyncExecutor());
+		
+	}
+	
+	/**
+	 * Ruft alle Datenstze ber mehrere gleichzeitig ausgefhrte Abfragen ab. Der Wertebereich der ganzzahligen Partitionsspalte wird hierzu
+	 * mittels MIN und MAX ermittelt und in gleich groe Abschnitte aufgeteilt. Jeder Abschnitt wird als asynchrone Operation auf einer eigenen
+	 * Datenbankverbindung abgefragt und eingelesen, sodass die Anzahl gleichzeitiger Abfragen durch setAsyncConcurrencyLimit begrenzt wird.
+	 * Datenstze, deren Partitionsspalte NULL ist, werden nicht bercksichtigt. Die Reihenfolge der Datenbank-Objekte ist nicht festgelegt.
+	 * Innerhalb einer DatabaseSession werden die Abschnitte nacheinander auf der Verbindung der Session abgefragt.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Eine zustzliche Where-Klausel ohne ORDER BY oder LIMIT. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so werden alle Datenstze bercksichtigt.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @param partitionColumn Der Name der ganzzahligen Spalte, nach welcher die Datenstze aufgeteilt werden. Idealerweise indiziert.
+	 * @param partitions Die Anzahl der Abschnitte.
+	 * @return Eine Liste der Datenbank-Objekte oder null im Falle eines Fehlers.
+	 */
+	public <T extends IDatabaseReadable> List<T> fetchParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, int partitions) {
+		
+		return collectPartitions(scanPartitions(objFactory, SelectModes.Readable, whereClause, sqlParams, partitionColumn, null, partitions));
+		
+	}
+	
+	/**
+	 * Wie fetchParallel, teilt jedoch den angegebenen Wertebereich auf, ohne diesen zuvor abzufragen. Datenstze auerhalb des Bereichs werden nicht bercksichtigt.
+	 * @param lowerBound Der kleinste abzufragende Wert der Partitionsspalte.
+	 * @param upperBound Der grte abzufragende Wert der Partitionsspalte.
+	 */
+	public <T extends IDatabaseReadable> List<T> fetchParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, long lowerBound, long upperBound, int partitions) {
+		
+		return collectPartitions(scanPartitions(objFactory, SelectModes.Readable, whereClause, sqlParams, partitionColumn, new long[] { lowerBound, upperBound }, partitions));
+		
+	}
+	
+	public <T extends IDatabaseObj> List<T> autofetchParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, int partitions) {
+		
+		return collectPartitions(scanPartitions(objFactory, SelectModes.Auto, whereClause, sqlParams, partitionColumn, null, partitions));
+		
+	}
+	
+	public <T extends IDatabaseObj> List<T> autofetchParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, long lowerBound, long upperBound, int partitions) {
+		
+		return collectPartitions(scanPartitions(objFactory, SelectModes.Auto, whereClause, sqlParams, partitionColumn, new long[] { lowerBound, upperBound }, partitions));
+		
+	}
+	
+	/**
+	 * Wie fetchParallel, liefert die Datenbank-Objekte jedoch als ungeordneten Stream, sobald diese von einer der Partitionen eingelesen wurden.
+	 * Entnimmt der Aufrufer die Datenbank-Objekte langsamer, als diese eingelesen werden, so warten die Partitionen. Der Stream sollte in einem
+	 * try-with-resources-Block verwendet werden, damit alle Datenbankverbindungen auch bei vorzeitigem Abbruch freigegeben werden.
+	 * Kann eine Partition nicht gelesen werden, so wirft der Stream eine IllegalStateException.
+	 * @return Ein Stream der Datenbank-Objekte oder null, falls die Abfrage nicht ausgefhrt werden konnte.
+	 */
+	public <T extends IDatabaseReadable> Stream<T> streamParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, int partitions) {
+		
+		return scanPartitions(objFactory, SelectModes.Readable, whereClause, sqlParams, partitionColumn, null, partitions);
+		
+	}
+	
+	public <T extends IDatabaseReadable> Stream<T> streamParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, long lowerBound, long upperBound, int partitions) {
+		
+		return scanPartitions(objFactory, SelectModes.Readable, whereClause, sqlParams, partitionColumn, new long[] { lowerBound, upperBound }, partitions);
+		
+	}
+	
+	public <T extends IDatabaseObj> Stream<T> autostreamParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, int partitions) {
+		
+		return scanPartitions(objFactory, SelectModes.Auto, whereClause, sqlParams, partitionColumn, null, partitions);
+		
+	}
+	
+	public <T extends IDatabaseObj> Stream<T> autostreamParallel(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String partitionColumn, long lowerBound, long upperBound, int partitions) {
+		
+		return scanPartitions(objFactory, SelectModes.Auto, whereClause, sqlParams, partitionColumn, new long[] { lowerBound, upperBound }, partitions);
+		
+	}
+	
+	/**
+	 * Ruft alle Datenstze ab, welche mit der bergebenen Where-Klausel bereinstimmen, und bergibt diese nacheinander an den
+	 * angegebenen IRowConsumer. Es wird lediglich ein einziges Datenbank-Objekt erzeugt, welches fr jeden Datensatz mittels
+	 * readFromDatabase neu befllt wird. Der Speicherbedarf ist somit unabhngig von der Anzahl der Datenstze.
+	 * @param <T> Der Typ des Datenbank-Objekts. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird keine Where-Klausel verwendet.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @param consumer Der IRowConsumer, welcher jeden Datensatz verarbeitet. Kann als Lambda-Ausdruck angegeben werden.
+	 * @return Die Anzahl der verarbeiteten Datenstze oder -1 im Falle eines Fehlers.
+	 */
+	public <T extends IDatabaseReadable> int fetchEach(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, IRowConsumer<? super T> consumer) {
+		
+		return visitAll(objFactory, SelectModes.Readable, whereClause, sqlParams, consumer);
+		
+	}
+	
+	public <T extends IDatabaseObj> int autofetchEach(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, IRowConsumer<? super T> consumer) {
+		
+		return visitAll(objFactory, SelectModes.Auto, whereClause, sqlParams, consumer);
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> int fetchJoinedEach(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, IRowConsumer<? super T> consumer) {
+		
+		return visitAll(objFactory, SelectModes.Joined, whereClause, sqlParams, consumer);
+		
+	}
+	
+	/**
+	 * Prft, ob in der angegebenen Tabelle mindestens ein Datensatz existiert, welcher mit der bergebenen Where-Klausel bereinstimmt.
+	 * Es werden weder Spalten ausgelesen noch Datenbank-Objekte erzeugt.
+	 * @param tableName Der Name der Tabelle.
+	 * @param whereClause Die anzuwendende Where-Klausel. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so wird geprft, ob die Tabelle Datenstze enthlt.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @return True, falls ein passender Datensatz existiert, false falls nicht oder im Falle eines Fehlers.
+	 */
+	public boolean exists(String tableName, String whereClause, String[] sqlParams) {
+		
+		if(tableName == null || _dataSource == null)
+			return false;
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		
+		QueryEvent event = startQuery(SqlOperations.Select, tableName, null);
+		
+		try {
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			int rowLimit = SqlDialects.acceptsRowLimit(whereClause) ? 1 : 0;
+			String sql = _sqlTemplateCache.select(null, tableName, new String[] { "1" }, false, null, whereClause, rowLimit, dialectOf(connection));
+			
+			if(sql == null)
+				return false;
+			
+			statement = prepareStatement(connection, sql);
+			statement.setMaxRows(1);
+			
+			bindWhereParams(statement, whereClause, sqlParams);
+			event.statement(sql, whereClause != null ? sqlParams : null);
+			
+			try(ResultSet rs = executeQuery(connection, statement, event)) {
+			
+				boolean exists = rs.next();
+				event.complete(exists ? 1 : 0);
+				
+				return exists;
+				
+			}
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			return false;
+			
+		}
+		finally {
+			
+			if(statement != null)
+				releaseStatement(statement);
+			
+			if(connection != null) {
+				
+				closeConnection(connection);
+				
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Ruft eine Seite von Datenstzen mittels Keyset-Paginierung ab. Anstelle eines OFFSET wird eine Bedingung auf die Schlsselspalten
+	 * erzeugt, welche an den letzten Datensatz der vorherigen Seite anschliet, sodass jede Seite unabhngig von ihrer Position gleich viel kostet.
+	 * Die Datenstze werden aufsteigend nach den Schlsselspalten sortiert. Diese mssen zusammen eindeutig sein und im Ergebnis enthalten sein.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Eine zustzliche Where-Klausel ohne ORDER BY oder LIMIT. Kann Platzhalter in Form eines ? enthalten. Wird null bergeben, so werden alle Datenstze bercksichtigt.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen. Wird null bergeben, werden keine Parameter verwendet.
+	 * @param orderKey Die Namen der Schlsselspalten in der Reihenfolge der Sortierung.
+	 * @param afterKey Die Schlsselwerte des letzten Datensatzes der vorherigen Seite (siehe Page.getLastKey) oder null fr die erste Seite.
+	 * @param pageSize Die maximale Anzahl von Datenstzen pro Seite.
+	 * @return Die abgerufene Seite oder null im Falle eines Fehlers.
+	 */
+	public <T extends IDatabaseReadable> Page<T> fetchPage(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String[] orderKey, Object[] afterKey, int pageSize) {
+		
+		return fetchPage(objFactory, SelectModes.Readable, whereClause, sqlParams, orderKey, afterKey, pageSize);
+		
+	}
+	
+	public <T extends IDatabaseObj> Page<T> autofetchPage(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String[] orderKey, Object[] afterKey, int pageSize) {
+		
+		return fetchPage(objFactory, SelectModes.Auto, whereClause, sqlParams, orderKey, afterKey, pageSize);
+		
+	}
+	
+	/**
+	 * Liefert einen Iterator, welcher mittels fetchPage alle Seiten ab der ersten Seite nacheinander abruft.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt. Kann als Lambda-Ausdruck angegeben werden.
+	 * @param whereClause Eine zustzliche Where-Klausel ohne ORDER BY oder LIMIT oder null.
+	 * @param sqlParams Ein Array mit Parametern, welche die in der Where-Klausel verwendeten Platzhalter ersetzen, oder null.
+	 * @param orderKey Die Namen der Schlsselspalten in der Reihenfolge der Sortierung.
+	 * @param pageSize Die maximale Anzahl von Datenstzen pro Seite.
+	 * @return Der Iterator ber die Seiten.
+	 */
+	public <T extends IDatabaseReadable> PageIterator<T> iteratePages(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String[] orderKey, int pageSize) {
+		
+		return new PageIterator<T>(afterKey -> fetchPage(objFactory, SelectModes.Readable, whereClause, sqlParams, orderKey, afterKey, pageSize));
+		
+	}
+	
+	public <T extends IDatabaseObj> PageIterator<T> autoiteratePages(IDatabaseObjectFactory<T> objFactory, String whereClause, String[] sqlParams, String[] orderKey, int pageSize) {
+		
+		return new PageIterator<T>(afterKey -> fetchPage(objFactory, SelectModes.Auto, whereClause, sqlParams, orderKey, afterKey, pageSize));
+		
+	}
+	
+	/**
+	 * Fhrt fetch asynchron aus. Die Operation wird auf dem mittels setAsyncExecutor festgelegten Executor ausgefhrt, sobald die
+	 * fr die DataSource festgelegte Beschrnkung gleichzeitiger Operationen dies zulsst.
+	 * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte. Muss IDatabaseReadable implementieren.
+	 * @param objFactory Ein IDatabaseObjectFactory-Objekt, welches eine Methode zur Erzeugung einer Instanz des Datenbank-Objektes zur Verfgung stellt.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @param sqlParams Die Parameter, welche die in der Where-Klausel verwendeten Platzhalter ersetzen.
+	 * @return Ein CompletableFuture, welches mit dem Ergebnis von fetch abgeschlossen wird, d. h. mit null im Falle eines Fehlers.
+	 */
+	public <T extends IDatabaseReadable> CompletableFuture<List<T>> fetchAsync(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
+		
+		return submitAsync(() -> fetch(objFactory, whereClause, sqlParams));
+		
+	}
+	
+	public <T extends IDatabaseObj> CompletableFuture<List<T>> autofetchAsync(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
+		
+		return submitAsync(() -> autofetch(objFactory, whereClause, sqlParams));
+		
+	}
+	
+	public <T extends IJoinedDatabaseObj> CompletableFuture<List<T>> fetchJoinedAsync(IDatabaseObjectFactory<T> objFactory, String whereClause, Object... sqlParams) {
+		
+		return submitAsync(() -> fetchJoined(objFactory, whereClause, sqlParams));
+		
+	}
+	
+	public <T extends IDatabaseReadable> CompletableFuture<T> fetchByIdAsync(IDatabaseObjectFactory<T> objFactory, Object key) {
+		
+		return submitAsync(() -> fetchById(objFactory, key));
+		
+	}
+	
+	public <T extends IDatabaseObj> CompletableFuture<T> autofetchByIdAsync(IDatabaseObjectFactory<T> objFactory, Object key) {
+		
+		return submitAsync(() -> autofetchById(objFactory, key));
+		
+	}
+	
+	public CompletableFuture<Boolean> insertAsync(IDatabaseWritable dbObj) {
+		
+		return submitAsync(() -> insert(dbObj));
+		
+	}
+	
+	public CompletableFuture<Boolean> autoInsertAsync(IDatabaseObj dbObj) {
+		
+		return submitAsync(() -> autoInsert(dbObj));
+		
+	}
+	
+	public CompletableFuture<Integer> updateAsync(IDatabaseWritable dbObj, String whereClause, Object... whereParams) {
+		
+		return submitAsync(() -> update(dbObj, whereClause, whereParams));
+		
+	}
+	
+	public CompletableFuture<Integer> autoupdateAsync(IDatabaseObj dbObj, String whereClause, Object... whereParams) {
+		
+		return submitAsync(() -> autoupdate(dbObj, whereClause, whereParams));
+		
+	}
+	
+	public CompletableFuture<Integer> deleteAsync(String tableName, String whereClause, Object... whereParams) {
+		
+		return submitAsync(() -> delete(tableName, whereClause, whereParams));
+		
+	}
+	
+	/**
+	 * ffnet eine DatabaseSession, welche eine einzige Datenbankverbindung fr alle ber sie ausgefhrten Operationen verwendet.
+	 * Die Session bernimmt die Einstellungen dieses DatabaseAccessor und sollte in einem try-with-resources-Block verwendet werden.
+	 * @return Die geffnete Session oder null, falls keine Datenbankverbindung hergestellt werden konnte.
+	 */
+	public DatabaseSession openSession() {
+		
+		if(_dataSource == null)
+			return null;
+		
+		Connection connection = null;
+		
+		try {
+			
+			connection = _dataSource.getConnection();
+			
+			return new DatabaseSession(this, connection);
+			
+		}
+		catch(Exception e) {
+			
+			if(connection != null) {
+				
+				try { connection.close(); }
+				catch(Exception ex) { }
+				
+			}
+			
+			return null;
+			
+		}
+		
+	}
+	
+	/**
+	 * Reiht eine Operation in den Bulkhead der DataSource ein.
+	 * @param operation Die auszufhrende Operation.
+	 * @return Ein CompletableFuture, welches mit dem Ergebnis der Operation abgeschlossen wird.
+	 */
+	<R> CompletableFuture<R> submitAsync(Supplier<R> operation) {
+		
+		if(_dataSource == null)
+			return CompletableFuture.completedFuture(operation.get());
+		
+		return AsyncBulkhead.forDataSource(_dataSource).submit(asyncExecutor(), operation);
+		
+	}
+	
+	/**
+	 * @return Der Executor, auf welchem asynchrone Operationen und die Abonnenten eines IPublisher ausgefhrt werden.
+	 */
+	Executor asyncExecutor() {
+		
+		return _asyncExecutor != null ? _asyncExecutor : DefaultAsyncExecutor.INSTANCE;
+		
+	}
+	
+	/**
+	 * Liefert die Identity Map, ber welche eingelesene Datenbank-Objekte wiederverwendet werden.
+	 * @return Die Identity Map oder null, falls keine verwendet wird.
+	 */
+	IdentityMap identityMap() {
+		
+		return null;
+		
+	}
+	
+	/**
+	 * Erzeugt das Datenbank-Objekt fr den aktuellen Datensatz, wobei bereits bekannte Instanzen aus der Identity Map bernommen werden.
+	 */
+	static <T extends IDatabaseObj> T readRow(IDatabaseObjectFactory<T> objFactory, IRowReader<? super T> rowReader, ResultSet rs, IdentityMap identityMap) throws Exception {
+		
+		if(identityMap != null)
+			return identityMap.read(objFactory, rowReader, rs);
+		
+		T dbObj = objFactory.createInstance();
+		rowReader.read(dbObj, rs);
+		
+		return dbObj;
+		
+	}
+	
+	/**
+	 * Erzeugt aus den zwischengespeicherten Spaltenwerten neue Datenbank-Objekte, sodass jeder Aufrufer eigene Instanzen erhlt.
+	 * @return Die Datenbank-Objekte oder null, falls das Einlesen fehlschlgt, z. B. weil readFromDatabase eine nicht untersttzte Methode
+	 * des ResultSet aufruft. In diesem Fall ist die Abfrage erneut auszufhren.
+	 */
+	private static <T extends IDatabaseObj> List<T> readCachedRows(IDatabaseObjectFactory<T> objFactory, IRowReader<IDatabaseObj> rowReader, CachedRows cachedRows, IdentityMap identityMap) {
+		
+		List<T> results = new ArrayList<T>(cachedRows.size());
+		
+		try(ResultSet rs = cachedRows.open()) {
+			
+			while(rs.next())
+				results.add(readRow(objFactory, rowReader, rs, identityMap));
+			
+		}
+		catch(Exception e) {
+			
+			return null;
+			
+		}
+		
+		return results;
+		
+	}
+	
+	/**
+	 * Wird nach jedem schreibenden Zugriff aufgerufen, um die zwischengespeicherten Datenbank-Objekte der genderten Tabelle zu entfernen.
+	 * @param tableName Der Name der genderten Tabelle.
+	 * @param dbObj Das eingefgte Datenbank-Objekt, falls lediglich dessen Datensatz betroffen ist, ansonsten null.
+	 */
+	void invalidateCaches(String tableName, IDatabaseObj dbObj) {
+		
+		invalidateEntityCache(_entityCache, tableName, dbObj);
+		
+		if(_queryCache != null)
+			_queryCache.invalidateTable(tableName);
+		
+	}
+	
+	static void invalidateEntityCache(EntityCache entityCache, String tableName, IDatabaseObj dbObj) {
+		
+		if(entityCache == null)
+			return;
+		
+		if(dbObj != null) {
+			
+			String keyColumn = EntityDescriptor.forType(dbObj.getClass()).getKeyColumn();
+			
+			try {
+				
+				Object key = keyColumn != null ? EntityDescriptor.forType(dbObj.getClass()).getMapper().getAttributeValue(dbObj, keyColumn) : null;
+				
+				if(key != null) {
+					
+					entityCache.invalidate(dbObj.getClass(), key);
+					return;
+					
+				}
+				
+			}
+			catch(IllegalAccessException e) { }
+			
+		}
+		
+		entityCache.invalidateTable(tableName);
+		
+	}
+	
+	/**
+	 * Stellt die Datenbankverbindung fr eine einzelne Operation bereit.
+	 * @return Die Datenbankverbindung.
+	 * @throws SQLException Falls keine Verbindung hergestellt werden kann.
+	 */
+	Connection openConnection() throws SQLException {
+		
+		return _dataSource.getConnection();
+		
+	}
+	
+	/**
+	 * Gibt eine mittels openConnection bereitgestellte Datenbankverbindung nach Abschluss der Operation wieder frei.
+	 * @param connection Die freizugebende Datenbankverbindung.
+	 */
+	void closeConnection(Connection connection) {
+		
+		if(_leakDetector != null)
+			_leakDetector.check(connection);
+		
+		try { connection.close(); }
+		catch(Exception e) { }
+		
+	}
+	
+	/**
+	 * Stellt ein PreparedStatement fr die bergebene SQL-Anweisung bereit. Nach der Verwendung muss dieses mittels releaseStatement
+	 * wieder freigegeben werden.
+	 * @param connection Die Datenbankverbindung.
+	 * @param sql Die SQL-Anweisung.
+	 * @return Das PreparedStatement.
+	 * @throws SQLException Falls die Anweisung nicht vorbereitet werden kann.
+	 */
+	final PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+		
+		_lastQueryInfo = sql;
+		
+		PreparedStatement statement = obtainStatement(connection, sql);
+		
+		if(_leakDetector != null)
+			_leakDetector.track(connection, statement, "PreparedStatement [" + sql + "]");
+		
+		return statement;
+		
+	}
+	
+	/**
+	 * Gibt ein mittels prepareStatement bereitgestelltes PreparedStatement wieder frei.
+	 * @param statement Das freizugebende PreparedStatement.
+	 */
+	final void releaseStatement(PreparedStatement statement) {
+		
+		if(_leakDetector != null)
+			_leakDetector.untrack(statement);
+		
+		returnStatement(statement);
+		
+	}
+	
+	/**
+	 * Fhrt die Abfrage des bergebenen PreparedStatement aus. Das gelieferte ResultSet muss vom Aufrufer geschlossen werden.
+	 * @param connection Die Datenbankverbindung, zu welcher das PreparedStatement gehrt.
+	 * @param statement Das auszufhrende PreparedStatement.
+	 * @return Das ResultSet der Abfrage.
+	 * @throws SQLException Falls die Abfrage nicht ausgefhrt werden kann.
+	 */
+	final ResultSet executeQuery(Connection connection, PreparedStatement statement, QueryEvent event) throws SQLException {
+		
+		event.executing();
+		ResultSet rs = statement.executeQuery();
+		event.executed();
+		
+		if(_leakDetector != null)
+			_leakDetector.track(connection, rs, "ResultSet [" + statement + "]");
+		
+		return rs;
+		
+	}
+	
+	final int executeUpdate(PreparedStatement statement, QueryEvent event) throws SQLException {
+		
+		event.executing();
+		int rowsAffected = statement.executeUpdate();
+		event.executed();
+		
+		return rowsAffected;
+		
+	}
+	
+	final int[] executeBatch(PreparedStatement statement, QueryEvent event) throws SQLException {
+		
+		event.executing();
+		int[] counts = statement.executeBatch();
+		event.executed();
+		
+		return counts;
+		
+	}
+	
+	/**
+	 * Erzeugt das QueryEvent einer einzelnen SQL-Anweisung und beginnt mit der Zeiterfassung.
+	 * @return Das QueryEvent oder QueryEvent.DISABLED, falls kein IQueryListener festgelegt ist.
+	 */
+	final QueryEvent startQuery(SqlOperations operation, String tableName, Class<?> entityType) {
+		
+		if(_queryListeners.isEmpty())
+			return QueryEvent.DISABLED;
+		
+		return new QueryEvent(_queryListeners, operation, tableName, entityType);
+		
+	}
+	
+	PreparedStatement obtainStatement(Connection connection, String sql) throws SQLException {
+		
+		return connection.prepareStatement(sql);
+		
+	}
+	
+	void returnStatement(PreparedStatement statement) {
+		
+		try { statement.close(); }
+		catch(Exception e) { }
+		
+	}
+	
+	private <T extends IDatabaseObj> List<T> fetchAll(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams) {
+		
+		if(objFactory == null || _dataSource == null)
+			return null;
+		
+		List<T> results = new ArrayList<T>();
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		QueryEvent event = QueryEvent.DISABLED;
+		
+		try {
+		    
+			T tempObj = objFactory.createInstance();
+			
+			String sql = selectSql(tempObj, mode, whereClause, 0, null);
+			
+			if(sql == null)
+				return null;
+			
+			QueryCache queryCache = _queryCache;
+			QueryCache.QueryKey queryKey = null;
+			long generation = 0;
+			
+			if(queryCache != null) {
+				
+				queryKey = new QueryCache.QueryKey(tempObj.getClass(), mode, sql, sqlParams);
+				
+				CachedRows cachedRows = queryCache.get(queryKey);
+				
+				if(cachedRows != null) {
+					
+					List<T> cachedResults = readCachedRows(objFactory, rowReader(tempObj, mode), cachedRows, identityMap());
+					
+					if(cachedResults != null)
+						return cachedResults;
+					
+				}
+				
+				generation = queryCache.generation();
+				
+			}
+			
+			IRowReader<IDatabaseObj> rowReader = rowReader(tempObj, mode);
+			IdentityMap identityMap = identityMap();
+			CachedRows capturedRows = queryCache != null ? new CachedRows(mode) : null;
+			
+			event = startQuery(SqlOperations.Select, tempObj.getTableName(), tempObj.getClass());
+			
+			connection = openConnection();
+			event.connectionAcquired();
+		    
+		    statement = prepareStatement(connection, sql);
+		    
+		    bindWhereParams(statement, whereClause, sqlParams);
+		    event.statement(sql, whereClause != null ? sqlParams : null);
+		    
+		    try(ResultSet rs = executeQuery(connection, statement, event)) {
+		    
+			    while(rs.next()) {
+		    	
+			    	results.add(readRow(objFactory, rowReader, rs, identityMap));
+			    	
+			    	if(capturedRows != null && !capturedRows.add(rs))
+			    		capturedRows = null;
+		    	
+			    }
+		    	
+		    }
+		    
+		    event.complete(results.size());
+		    
+		    if(capturedRows != null)
+		    	queryCache.put(queryKey, capturedRows, tableNamesOf(tempObj, mode), generation);
+			
+		}
+	    catch(Exception e) {
+	    	
+	    	event.fail(e);
+	    	return null;
+	    	
+	    }
+	    finally {
+	    	
+	    	if(statement != null)
+	    		releaseStatement(statement);
+	    	
+	    	if(connection != null) {
+	    		
+	    		closeConnection(connection);
+	    		
+	    	}
+	    	
+	    }
+		
+		return results;
+		
+	}
+	
+	private <T extends IDatabaseObj> int visitAll(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams, IRowConsumer<? super T> consumer) {
+		
+		if(objFactory == null || consumer == null)
+			return -1;
+		
+		T dbObj = objFactory.createInstance();
+		
+		if(dbObj == null)
+			return -1;
+		
+		// Der Iterator erhlt eine Factory, welche stets dieselbe Instanz liefert, sodass pro Datensatz kein Objekt erzeugt wird.
+		// Da die Instanz wiederverwendet wird, darf sie nicht in die Identity Map aufgenommen werden.
+		ResultIterator<T> iterator = openIterator(() -> dbObj, mode, whereClause, sqlParams, null);
+		
+		if(iterator == null)
+			return -1;
+		
+		int rowCount = 0;
+		
+		try {
+			
+			while(iterator.hasNext()) {
+				
+				consumer.consume(iterator.next());
+				rowCount++;
+				
+			}
+			
+		}
+		catch(Exception e) {
+			
+			return -1;
+			
+		}
+		finally {
+			
+			iterator.close();
+			
+		}
+		
+		return rowCount;
+		
+	}
+	
+	/**
+	 * Liest den ersten Datensatz der Abfrage ein.
+	 * @param cachedRows Erfasst zustzlich die Spaltenwerte des Datensatzes fr den EntityCache oder null.
+	 */
+	private <T extends IDatabaseObj> T fetchFirst(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams, CachedRows cachedRows) {
+		
+		if(objFactory == null || _dataSource == null)
+			return null;
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		
+		QueryEvent event = QueryEvent.DISABLED;
+		
+		try {
+			
+			T dbObj = objFactory.createInstance();
+			event = startQuery(SqlOperations.Select, dbObj.getTableName(), dbObj.getClass());
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			String sql = selectSql(dbObj, mode, whereClause, 1, dialectOf(connection));
+			
+			if(sql == null)
+				return null;
+			
+			statement = prepareStatement(connection, sql);
+			statement.setMaxRows(1);
+			
+			bindWhereParams(statement, whereClause, sqlParams);
+			event.statement(sql, whereClause != null ? sqlParams : null);
+			
+			try(ResultSet rs = executeQuery(connection, statement, event)) {
+			
+				if(!rs.next()) {
+					
+					event.complete(0);
+					return null;
+					
+				}
+			
+				T result = readRow(objFactory, rowReader(dbObj, mode), rs, identityMap());
+				event.complete(1);
+				
+				if(cachedRows != null)
+					cachedRows.add(rs);
+				
+				return result;
+				
+			}
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			return null;
+			
+		}
+		finally {
+			
+			if(statement != null)
+				releaseStatement(statement);
+			
+			if(connection != null) {
+				
+				closeConnection(connection);
+				
+			}
+			
+		}
+		
+	}
+	
+	private <T extends IDatabaseObj> T fetchByKey(IDatabaseObjectFactory<T> objFactory, SelectModes mode, Object key) {
+		
+		if(objFactory == null || key == null)
+			return null;
+		
+		T tempObj = objFactory.createInstance();
+		
+		if(tempObj == null)
+			return null;
+		
+		String keyColumn = EntityDescriptor.forType(tempObj.getClass()).getKeyColumn();
+		
+		if(keyColumn == null || !DatasetAttributes.isSafeAttributeName(keyColumn))
+			return null;
+		
+		IdentityMap identityMap = identityMap();
+		
+		if(identityMap != null) {
+			
+			IDatabaseObj knownObj = identityMap.get(tempObj.getClass(), key);
+			
+			if(knownObj != null) {
+				
+				@SuppressWarnings("unchecked")
+				T result = (T)knownObj;
+				
+				return result;
+				
+			}
+			
+		}
+		
+		EntityCache entityCache = _entityCache;
+		
+		if(entityCache == null)
+			return fetchFirst(objFactory, mode, keyColumn + " = ?", new Object[] { key }, null);
+		
+		CachedRows cachedRow = entityCache.get(tempObj.getClass(), key);
+		
+		// Wurde der Datensatz mit einer anderen Art des Einlesens abgelegt, so weichen dessen Spalten ab und er wird erneut abgefragt.
+		if(cachedRow != null && cachedRow.getReadMode() == mode) {
+			
+			List<T> results = readCachedRows(objFactory, rowReader(tempObj, mode), cachedRow, identityMap);
+			
+			if(results != null && results.size() == 1)
+				return results.get(0);
+			
+		}
+		
+		long generation = entityCache.generation();
+		CachedRows capturedRow = new CachedRows(mode);
+		T dbObj = fetchFirst(objFactory, mode, keyColumn + " = ?", new Object[] { key }, capturedRow);
+		
+		if(dbObj != null && capturedRow.isCacheable() && capturedRow.size() == 1)
+			entityCache.put(dbObj, key, capturedRow, generation);
+		
+		return dbObj;
+		
+	}
+	
+	private <T extends IDatabaseObj> Page<T> fetchPage(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams, String[] orderKey, Object[] afterKey, int pageSize) {
+		
+		if(objFactory == null || _dataSource == null || orderKey == null || orderKey.length == 0 || pageSize <= 0)
+			return null;
+		
+		if(afterKey != null && afterKey.length != orderKey.length)
+			return null;
+		
+		String seekClause = seekClause(whereClause, orderKey, afterKey != null);
+		
+		if(seekClause == null)
+			return null;
+		
+		List<Object> params = new ArrayList<Object>();
+		
+		if(whereClause != null && sqlParams != null)
+			params.addAll(Arrays.asList(sqlParams));
+		
+		if(afterKey != null) {
+			
+			for(int i = 0; i < afterKey.length; i++) {
+				
+				for(int j = 0; j <= i; j++)
+					params.add(afterKey[j]);
+				
+			}
+			
+		}
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		
+		QueryEvent event = QueryEvent.DISABLED;
+		
+		try {
+			
+			T tempObj = objFactory.createInstance();
+			event = startQuery(SqlOperations.Select, tempObj.getTableName(), tempObj.getClass());
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			// Es wird ein Datensatz mehr abgerufen, um ohne zustzliche Abfrage feststellen zu knnen, ob eine weitere Seite existiert.
+			String sql = selectSql(tempObj, mode, seekClause, pageSize + 1, dialectOf(connection));
+			
+			if(sql == null)
+				return null;
+			
+			IRowReader<IDatabaseObj> rowReader = rowReader(tempObj, mode);
+			IdentityMap identityMap = identityMap();
+			
+			statement = prepareStatement(connection, sql);
+			statement.setMaxRows(pageSize + 1);
+			
+			for(int i = 0; i < params.size(); i++)
+				_parameterBinder.bind(statement, i+1, params.get(i));
+			
+			event.statement(sql, event.isEnabled() ? params.toArray() : null);
+			
+			try(ResultSet rs = executeQuery(connection, statement, event)) {
+			
+				List<T> items = new ArrayList<T>();
+				Object[] lastKey = null;
+				boolean hasNextPage = false;
+			
+				while(rs.next()) {
+				
+					if(items.size() == pageSize) {
+					
+						hasNextPage = true;
+						break;
+					
+					}
+					
+					items.add(readRow(objFactory, rowReader, rs, identityMap));
+					
+					lastKey = new Object[orderKey.length];
+					
+					for(int i = 0; i < orderKey.length; i++)
+						lastKey[i] = rs.getObject(columnLabel(orderKey[i]));
+					
+				}
+				
+				event.complete(items.size());
+				
+				return new Page<T>(items, lastKey, hasNextPage);
+				
+			}
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			return null;
+			
+		}
+		finally {
+			
+			if(statement != null)
+				releaseStatement(statement);
+			
+			if(connection != null) {
+				
+				closeConnection(connection);
+				
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Erzeugt die Where-Klausel einer Keyset-Paginierung. Fr die Schlsselspalten a, b entsteht die Bedingung
+	 * (a &gt; ?) OR (a = ? AND b &gt; ?), welche im Gegensatz zu einem Zeilenwertvergleich von allen Datenbanken untersttzt wird.
+	 */
+	private static String seekClause(String whereClause, String[] orderKey, boolean hasAfterKey) {
+		
+		for(String column : orderKey) {
+			
+			if(!DatasetAttributes.isSafeAttributeName(column))
+				return null;
+			
+		}
+		
+		StringBuilder builder = new StringBuilder();
+		
+		if(whereClause != null)
+			builder.append('(').append(whereClause).append(')');
+		
+		if(hasAfterKey) {
+			
+			if(builder.length() > 0)
+				builder.append(" AND ");
+			
+			builder.append('(');
+			
+			for(int i = 0; i < orderKey.length; i++) {
+				
+				if(i > 0)
+					builder.append(" OR ");
+				
+				builder.append('(');
+				
+				for(int j = 0; j < i; j++)
+					builder.append(orderKey[j]).append(" = ? AND ");
+				
+				builder.append(orderKey[i]).append(" > ?)");
+				
+			}
+			
+			builder.append(')');
+			
+		}
+		
+		if(builder.length() == 0)
+			builder.append("1 = 1");
+		
+		builder.append(" ORDER BY ");
+		
+		for(int i = 0; i < orderKey.length; i++) {
+			
+			if(i > 0)
+				builder.append(", ");
+			
+			builder.append(orderKey[i]);
+			
+		}
+		
+		return builder.toString();
+		
+	}
+	
+	private static String columnLabel(String column) {
+		
+		int index = column.lastIndexOf('.');
+		
+		return index >= 0 ? column.substring(index + 1) : column;
+		
+	}
+	
+	private <T extends IDatabaseObj> Stream<T> scanPartitions(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams, String partitionColumn, long[] bounds, int partitions) {
+		
+		if(objFactory == null || _dataSource == null || partitions <= 0 || !DatasetAttributes.isSafeAttributeName(partitionColumn))
+			return null;
+		
+		if(bounds == null)
+			bounds = partitionBounds(objFactory.createInstance(), mode, whereClause, sqlParams, partitionColumn);
+		
+		if(bounds == null)
+			return null;
+		
+		List<Supplier<ResultIterator<T>>> scans = new ArrayList<Supplier<ResultIterator<T>>>();
+		
+		if(bounds.length == 2 && bounds[0] <= bounds[1]) {
+			
+			long lowerBound = bounds[0];
+			long upperBound = bounds[1];
+			
+			// Die Schrittweite wird aufgerundet, sodass der gesamte Bereich mit hchstens der angegebenen Anzahl von Abschnitten abgedeckt wird.
+			long span = upperBound - lowerBound;
+			long step = span >= 0 ? span / partitions + 1 : Long.MAX_VALUE;
+			
+			for(long from = lowerBound; ; from += step) {
+				
+				// Der verbleibende Bereich wird vorzeichenlos verglichen, da upperBound - from fr sehr groe Bereiche berluft.
+				boolean isLast = Long.compareUnsigned(upperBound - from, step) < 0;
+				long to = isLast ? upperBound : from + step;
+				
+				String partitionClause = partitionClause(whereClause, partitionColumn, isLast);
+				
+				List<Object> params = new ArrayList<Object>();
+				
+				if(whereClause != null && sqlParams != null)
+					params.addAll(Arrays.asList(sqlParams));
+				
+				params.add(from);
+				params.add(to);
+				
+				Object[] partitionParams = params.toArray();
+				
+				scans.add(() -> openIterator(objFactory, mode, partitionClause, partitionParams, identityMap()));
+				
+				if(isLast)
+					break;
+				
+			}
+			
+		}
+		
+		return mergePartitions(scans);
+		
+	}
+	
+	/**
+	 * Fhrt die Abfragen der bergebenen Partitionen aus und liefert deren Datenbank-Objekte als gemeinsamen Stream.
+	 * @param partitions ffnen jeweils den ResultIterator einer Partition.
+	 * @return Der ungeordnete Stream der Datenbank-Objekte aller Partitionen.
+	 */
+	<T extends IDatabaseObj> Stream<T> mergePartitions(List<Supplier<ResultIterator<T>>> partitions) {
+		
+		return new PartitionedScan<T>(this, partitions, PartitionedScan.DEFAULT_CAPACITY).stream();
+		
+	}
+	
+	private static <T> List<T> collectPartitions(Stream<T> stream) {
+		
+		if(stream == null)
+			return null;
+		
+		try(Stream<T> partitions = stream) {
+			
+			return partitions.collect(Collectors.toList());
+			
+		}
+		catch(Exception e) {
+			
+			return null;
+			
+		}
+		
+	}
+	
+	/**
+	 * Ermittelt den kleinsten und grten Wert der Partitionsspalte unter den Datenstzen, welche die Where-Klausel erfllen.
+	 * @return Ein Array aus dem kleinsten und grten Wert, ein leeres Array, falls kein Datensatz vorhanden ist, oder null im Falle eines Fehlers.
+	 */
+	private long[] partitionBounds(IDatabaseObj tempObj, SelectModes mode, String whereClause, Object[] sqlParams, String partitionColumn) {
+		
+		Collection<Join> joins = null;
+		
+		if(mode == SelectModes.Joined) {
+			
+			joins = ((IJoinedDatabaseObj)tempObj).join();
+			
+			if(joins == null)
+				return null;
+			
+		}
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		
+		QueryEvent event = startQuery(SqlOperations.Select, tempObj.getTableName(), tempObj.getClass());
+		
+		try {
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			String[] columnNames = new String[] { "MIN(" + partitionColumn + ")", "MAX(" + partitionColumn + ")" };
+			String sql = _sqlTemplateCache.select(null, tempObj.getTableName(), columnNames, false, joins, whereClause, 0, null);
+			
+			if(sql == null)
+				return null;
+			
+			statement = prepareStatement(connection, sql);
+			
+			bindWhereParams(statement, whereClause, sqlParams);
+			event.statement(sql, whereClause != null ? sqlParams : null);
+			
+			try(ResultSet rs = executeQuery(connection, statement, event)) {
+				
+				boolean hasRow = rs.next();
+				event.complete(hasRow ? 1 : 0);
+				
+				if(!hasRow)
+					return new long[0];
+				
+				Object min = rs.getObject(1);
+				Object max = rs.getObject(2);
+				
+				if(min == null || max == null)
+					return new long[0];
+				
+				if(!(min instanceof Number) || !(max instanceof Number))
+					return null;
+				
+				return new long[] { ((Number)min).longValue(), ((Number)max).longValue() };
+				
+			}
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			return null;
+			
+		}
+		finally {
+			
+			if(statement != null)
+				releaseStatement(statement);
+			
+			if(connection != null)
+				closeConnection(connection);
+			
+		}
+		
+	}
+	
+	private static String partitionClause(String whereClause, String partitionColumn, boolean isLast) {
+		
+		StringBuilder builder = new StringBuilder();
+		
+		if(whereClause != null)
+			builder.append('(').append(whereClause).append(") AND ");
+		
+		builder.append(partitionColumn).append(" >= ? AND ").append(partitionColumn).append(isLast ? " <= ?" : " < ?");
+		
+		return builder.toString();
+		
+	}
+	
+	private <T extends IDatabaseObj> ResultIterator<T> openIterator(IDatabaseObjectFactory<T> objFactory, SelectModes mode, String whereClause, Object[] sqlParams, IdentityMap identityMap) {
+		
+		if(objFactory == null || _dataSource == null)
+			return null;
+		
+		Connection connection = null;
+		PreparedStatement statement = null;
+		boolean isAutoCommitChanged = false;
+		
+		QueryEvent event = QueryEvent.DISABLED;
+		
+		try {
+			
+			T tempObj = objFactory.createInstance();
+			event = startQuery(SqlOperations.Select, tempObj.getTableName(), tempObj.getClass());
+			
+			connection = openConnection();
+			event.connectionAcquired();
+			
+			String sql = selectSql(tempObj, mode, whereClause, 0, null);
+			
+			if(sql == null) {
+				
+				closeConnection(connection);
+				return null;
+				
+			}
+			
+			// Einige Treiber (z. B. PostgreSQL) beachten die Fetch Size nur innerhalb einer Transaktion.
+			if(_fetchSize > 0 && connection.getAutoCommit()) {
+				
+				connection.setAutoCommit(false);
+				isAutoCommitChanged = true;
+				
+			}
+			
+			// Gem JDBC liefert prepareStatement ohne weitere Angaben ein ResultSet vom Typ TYPE_FORWARD_ONLY und CONCUR_READ_ONLY.
+			statement = prepareStatement(connection, sql);
+			
+			if(_fetchSize > 0)
+				statement.setFetchSize(_fetchSize);
+			
+			bindWhereParams(statement, whereClause, sqlParams);
+			event.statement(sql, whereClause != null ? sqlParams : null);
+			
+			ResultSet rs = executeQuery(connection, statement, event);
+			
+			return new ResultIterator<T>(this, connection, statement, rs, objFactory, rowReader(tempObj, mode), identityMap, event, isAutoCommitChanged);
+			
+		}
+		catch(Exception e) {
+			
+			event.fail(e);
+			
+			if(statement != null)
+				releaseStatement(statement);
+			
+			if(connection != null) {
+				
+				try {
+					
+					if(isAutoCommitChanged) {
+						
+						connection.rollback();
+						connection.setAutoCommit(true);
+						
+					}
+					
+				}
+				catch(Exception ex) { }
+				
+				closeConnection(connection);
+				
+			}
+			
+			return null;
+			
+		}
+		
+	}
+	
+	private String selectSql(IDatabaseObj tempObj, SelectModes mode, String whereClause, int rowLimit, SqlDialects dialect) {
+		
+		if(!SqlDialects.acceptsRowLimit(whereClause))
+			rowLimit = 0;
+		
+		switch(mode) {
+			
+			case Auto:
+				
+				String[] columnNames = EntityDescriptor.forType(tempObj.getClass()).columnNames();
+				
+				if(columnNames.length == 0)
+					return null;
+				
+				return _sqlTemplateCache.select(tempObj.getClass(), tempObj.getTableName(), columnNames, _isSelectDistinct, null, whereClause, rowLimit, dialect);
+			
+			case Joined:
+				
+				IJoinedDatabaseObj joinedObj = (IJoinedDatabaseObj)tempObj;
+				Collection<Join> joins = joinedObj.join();
+				
+				if(joins == null)
+					return null;
+				
+				return _sqlTemplateCache.select(tempObj.getClass(), tempObj.getTableName(), joinedObj.getColumnNames(), _isSelectDistinct, joins, whereClause, rowLimit, dialect);
+			
+			default:
+				
+				IDatabaseReadable readableObj = (IDatabaseReadable)tempObj;
+				
+				return _sqlTemplateCache.select(tempObj.getClass(), tempObj.getTableName(), readableObj.getColumnNames(), _isSelectDistinct, null, whereClause, rowLimit, dialect);
+			
+		}
+		
+	}
+	
+	/**
+	 * Bestimmt die Namen aller Tabellen, welche von einer Abfrage des bergebenen Datenbank-Objekts gelesen werden.
+	 */
+	private static List<String> tableNamesOf(IDatabaseObj tempObj, SelectModes mode) {
+		
+		List<String> tableNames = new ArrayList<String>();
+		tableNames.add(tempObj.getTableName());
+		
+		if(mode == SelectModes.Joined) {
+			
+			Collection<Join> joins = ((IJoinedDatabaseObj)tempObj).join();
+			
+			if(joins != null) {
+				
+				for(Join join : joins) {
+					
+					if(join != null && join.getTargetTable() != null)
+						tableNames.add(join.getTargetTable());
+					
+				}
+				
+			}
+			
+		}
+		
+		return tableNames;
+		
+	}
+	
+	private IRowReader<IDatabaseObj> rowReader(IDatabaseObj tempObj, SelectModes mode) {
+		
+		if(mode == SelectModes.Auto) {
+			
+			IEntityMapper<IDatabaseObj> mapper = EntityDescriptor.forType(tempObj.getClass()).getMapper();
+			EntitySnapshots snapshots = _entitySnapshots;
+			
+			if(snapshots == null)
+				return mapper::readFromDatabase;
+			
+			return (dbObj, rs) -> {
+				
+				mapper.readFromDatabase(dbObj, rs);
+				snapshots.take(dbObj, mapper);
+				
+			};
+			
+		}
+		
+		return (dbObj, rs) -> ((IDatabaseReadable)dbObj).readFromDatabase(rs);
+		
+	}
+	
+	private SqlDialects dialectOf(Connection connection) {
+		
+		if(_dialect != null)
+			return _dialect;
+		
+		SqlDialects dialect = _detectedDialect;
+		
+		if(dialect == null) {
+			
+			try {
+				dialect = SqlDialects.fromProductName(connection.getMetaData().getDatabaseProductName());
+			}
+			catch(Exception e) {
+				dialect = SqlDialects.Generic;
+			}
+			
+			_detectedDialect = dialect;
+			
+		}
+		
+		return dialect;
+		
+	}
+	
+	private void bindWhereParams(PreparedStatement statement, String whereClause, Object[] sqlParams) throws SQLException {
+		
+		if(whereClause != null && sqlParams != null) {
+			
+			for(int i = 0; i < sqlParams.length; i++)
+				_parameterBinder.bind(statement, i+1, sqlParams[i]);
+			
+		}
+		
+	}
+	
+	// Nested Types
+	
+	/**
+	 * Stellt den Standard-Executor fr asynchrone Operationen bereit. Virtuelle Threads werden per Reflection ermittelt, sodass keine
+	 * entsprechende Java-Version fr die bersetzung vorausgesetzt wird. Der Executor wird erst bei der ersten asynchronen Operation erzeugt.
+	 */
+	private static final class DefaultAsyncExecutor {
+		
+		static final Executor INSTANCE = create();
+		
+		private static Executor create() {
+			
+			try {
+				
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				
+				return (Executor)factory.invoke(null);
+				
+			}
+			catch(ReflectiveOperationException | RuntimeException e) { }
+			
+			AtomicInteger threadCount = new AtomicInteger();
+			
+			return Executors.newCachedThreadPool(runnable -> {
+				
+				Thread thread = new Thread(runnable, "snowstORM-async-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				
+				return thread;
+				
+			});
+			
+		}
+		
+	}
+	
+	private enum SelectModes {
+		
+		Readable,
+		Auto,
+		Joined
+		
+	}
+	
+	private static final class StatementBatch {
+		
+		final SqlOperations operation;
+		final Class<?> entityType;
+		final String tableName;
+		final String sql;
+		final String[] columnNames;
+		final List<Integer> rows = new ArrayList<Integer>();
+		final List<Object[]> params = new ArrayList<Object[]>();
+		
+		StatementBatch(SqlOperations operation, Class<?> entityType, String tableName, String sql, String[] columnNames) {
+			
+			this.operation = operation;
+			this.entityType = entityType;
+			this.tableName = tableName;
+			this.sql = sql;
+			this.columnNames = columnNames;
+			
+		}
+		
+		void add(int row, DatasetAttributes dsAttributes, Object[] whereParams) {
+			
+			int whereCount = whereParams != null ? whereParams.length : 0;
+			Object[] rowParams = new Object[columnNames.length + whereCount];
+			
+			for(int i = 0; i < columnNames.length; i++)
+				rowParams[i] = dsAttributes.readAttribute(columnNames[i]);
+			
+			for(int i = 0; i < whereCount; i++)
+				rowParams[columnNames.length + i] = DatasetAttributes.attributeValueOf(whereParams[i]);
+			
+			rows.add(row);
+			params.add(rowParams);
+			
+		}
 		
 	}
 	
-
 }
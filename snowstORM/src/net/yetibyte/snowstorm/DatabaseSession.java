@@ -0,0 +1,304 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Ein DatabaseAccessor, welcher alle Operationen ber eine einzige Datenbankverbindung innerhalb einer gemeinsamen Transaktion ausfhrt.
+ * nderungen werden erst durch commit besttigt. Wird die Session geschlossen, ohne dass zuvor commit aufgerufen wurde, so werden
+ * alle seit dem letzten commit vorgenommenen nderungen verworfen. Instanzen werden ber DatabaseAccessor.openSession erzeugt und
+ * sind nicht fr die gleichzeitige Verwendung durch mehrere Threads vorgesehen.
+ * Die PreparedStatements der Verbindung werden bis zum Schlieen der Session vorgehalten und bei identischem SQL-Text wiederverwendet.
+ * @author Alexander Herrfurth
+ *
+ */
+public class DatabaseSession extends DatabaseAccessor implements AutoCloseable {
+	
+	// Fields
+	
+	private final Connection _connection;
+	private final boolean _wasAutoCommit;
+	private final StatementCache _statementCache;
+	private final IdentityMap _identityMap = new IdentityMap();
+	private final EntityCache _sharedEntityCache;
+	private final QueryCache _sharedQueryCache;
+	private final Set<String> _modifiedTables = new HashSet<String>();
+	
+	private boolean _isClosed = false;
+	
+	// Constructors
+	
+	DatabaseSession(DatabaseAccessor accessor, Connection connection) throws SQLException {
+		
+		super(accessor.getDataSource());
+		
+		setSelectDistinct(accessor.isSelectDistinct());
+		allowUpdateWithoutWhere(accessor.allowsUpdateWithoutWhere());
+		allowDeleteWithoutWhere(accessor.allowsDeleteWithoutWhere());
+		setSqlTemplateCache(accessor.getSqlTemplateCache());
+		setBatchSize(accessor.getBatchSize());
+		setMaxInListSize(accessor.getMaxInListSize());
+		setFetchSize(accessor.getFetchSize());
+		setParameterBinder(accessor.getParameterBinder());
+		setDialect(accessor.getDialect());
+		setStatementCacheSize(accessor.getStatementCacheSize());
+		setLeakDetector(accessor.getLeakDetector());
+		setEntitySnapshots(accessor.getEntitySnapshots() != null ? new EntitySnapshots(accessor.getEntitySnapshots()) : null);
+		setIdentityMapping(accessor.isIdentityMapping());
+		
+		for(IQueryListener listener : accessor.getQueryListeners())
+			addQueryListener(listener);
+		
+		_sharedEntityCache = accessor.getEntityCache();
+		_sharedQueryCache = accessor.getQueryCache();
+		_connection = connection;
+		_statementCache = getStatementCacheSize() > 0 ? new StatementCache(connection, getStatementCacheSize()) : null;
+		_wasAutoCommit = connection.getAutoCommit();
+		
+		if(_wasAutoCommit)
+			connection.setAutoCommit(false);
+		
+	}
+	
+	// Getters / Setters
+	
+	public boolean isClosed() {
+		return _isClosed;
+	}
+	
+	// Methods
+	
+	/**
+	 * Besttigt alle seit dem letzten commit bzw. rollback ber diese Session vorgenommenen nderungen.
+	 * @return True bei Erfolg, false im Falle eines Fehlers oder falls die Session bereits geschlossen wurde.
+	 */
+	public boolean commit() {
+		
+		if(_isClosed)
+			return false;
+		
+		try {
+			
+			_connection.commit();
+			
+			if(getEntitySnapshots() != null)
+				getEntitySnapshots().publish();
+			
+			// Zwischenzeitlich von anderen Verbindungen eingelesene Datenstze geben den Stand vor dem commit wieder.
+			for(String tableName : _modifiedTables)
+				invalidateSharedCaches(tableName, null);
+			
+			_modifiedTables.clear();
+			
+			return true;
+			
+		}
+		catch(Exception e) {
+			
+			return false;
+			
+		}
+		
+	}
+	
+	/**
+	 * Verwirft alle seit dem letzten commit bzw. rollback ber diese Session vorgenommenen nderungen.
+	 * Die Identity Map und die innerhalb der Transaktion erfassten Werte der nderungsverfolgung werden dabei verworfen, da sie verworfene
+	 * nderungen enthalten knnen.
+	 * @return True bei Erfolg, false im Falle eines Fehlers oder falls die Session bereits geschlossen wurde.
+	 */
+	public boolean rollback() {
+		
+		if(_isClosed)
+			return false;
+		
+		try {
+			
+			_connection.rollback();
+			_identityMap.clear();
+			_modifiedTables.clear();
+			
+			if(getEntitySnapshots() != null)
+				getEntitySnapshots().clear();
+			
+			return true;
+			
+		}
+		catch(Exception e) {
+			
+			return false;
+			
+		}
+		
+	}
+	
+	/**
+	 * Entfernt alle Datenbank-Objekte aus der Identity Map, sodass nachfolgende Abfragen die Datenstze erneut einlesen.
+	 * Dies ist z. B. erforderlich, nachdem Datenstze ber delete entfernt oder auerhalb der Session gendert wurden.
+	 */
+	public void clearIdentityMap() {
+		
+		_identityMap.clear();
+		
+	}
+	
+	/**
+	 * Verwirft alle nicht besttigten nderungen und gibt die Datenbankverbindung frei. Mehrfache Aufrufe haben keine Wirkung.
+	 */
+	@Override
+	public void close() {
+		
+		if(_isClosed)
+			return;
+		
+		_isClosed = true;
+		
+		if(getLeakDetector() != null)
+			getLeakDetector().check(_connection);
+		
+		if(_statementCache != null)
+			_statementCache.close();
+		
+		_identityMap.clear();
+		
+		if(getEntitySnapshots() != null)
+			getEntitySnapshots().clear();
+		
+		try { _connection.rollback(); }
+		catch(Exception e) { }
+		
+		if(_wasAutoCommit) {
+			
+			try { _connection.setAutoCommit(true); }
+			catch(Exception e) { }
+			
+		}
+		
+		try { _connection.close(); }
+		catch(Exception e) { }
+		
+	}
+	
+	@Override
+	Connection openConnection() throws SQLException {
+		
+		if(_isClosed)
+			throw new SQLException("The session has already been closed.");
+		
+		return _connection;
+		
+	}
+	
+	@Override
+	void invalidateCaches(String tableName, IDatabaseObj dbObj) {
+		
+		super.invalidateCaches(tableName, dbObj);
+		invalidateSharedCaches(tableName, dbObj);
+		
+		if(tableName != null)
+			_modifiedTables.add(tableName);
+		
+	}
+	
+	private void invalidateSharedCaches(String tableName, IDatabaseObj dbObj) {
+		
+		invalidateEntityCache(_sharedEntityCache, tableName, dbObj);
+		
+		if(_sharedQueryCache != null)
+			_sharedQueryCache.invalidateTable(tableName);
+		
+	}
+	
+	/**
+	 * Fhrt asynchrone Operationen unmittelbar im aufrufenden Thread aus, da die Verbindung der Session nicht von mehreren Threads
+	 * gleichzeitig verwendet werden darf. Das gelieferte CompletableFuture ist daher bereits abgeschlossen.
+	 */
+	@Override
+	<R> CompletableFuture<R> submitAsync(Supplier<R> operation) {
+		
+		CompletableFuture<R> future = new CompletableFuture<R>();
+		
+		try {
+			future.complete(operation.get());
+		}
+		catch(Throwable e) {
+			future.completeExceptionally(e);
+		}
+		
+		return future;
+		
+	}
+	
+	/**
+	 * Die Abonnenten eines IPublisher werden im aufrufenden Thread bedient, da die Verbindung der Session nicht von mehreren Threads
+	 * gleichzeitig verwendet werden darf.
+	 */
+	@Override
+	Executor asyncExecutor() {
+		
+		return Runnable::run;
+		
+	}
+	
+	/**
+	 * Fragt die Partitionen nacheinander auf der Verbindung der Session ab, da diese nicht von mehreren Threads gleichzeitig verwendet werden darf.
+	 */
+	@Override
+	<T extends IDatabaseObj> Stream<T> mergePartitions(List<Supplier<ResultIterator<T>>> partitions) {
+		
+		return partitions.stream().flatMap(partition -> {
+			
+			ResultIterator<T> iterator = partition.get();
+			
+			if(iterator == null)
+				throw new IllegalStateException("The query of a partition could not be executed.");
+			
+			return iterator.stream();
+			
+		});
+		
+	}
+	
+	@Override
+	IdentityMap identityMap() {
+		
+		return isIdentityMapping() ? _identityMap : null;
+		
+	}
+	
+	@Override
+	PreparedStatement obtainStatement(Connection connection, String sql) throws SQLException {
+		
+		if(_statementCache == null)
+			return super.obtainStatement(connection, sql);
+		
+		return _statementCache.prepare(sql);
+		
+	}
+	
+	@Override
+	void returnStatement(PreparedStatement statement) {
+		
+		if(_statementCache == null)
+			super.returnStatement(statement);
+		else
+			_statementCache.release(statement);
+		
+	}
+	
+	@Override
+	void closeConnection(Connection connection) {
+		
+		// Die Verbindung bleibt bis zum Schlieen der Session geffnet.
+		
+	}
+	
+}
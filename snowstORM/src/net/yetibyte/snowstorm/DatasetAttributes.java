@@ -1,16 +1,16 @@
 package net.yetibyte.snowstorm;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Beschreibt die Attribute eines Datenbank-Objekts. Diese Klasse ist dafr zustndig, den Attributen (bzw. Felder oder Spalten)
  * einer Datenbanktabelle beliebige Werte zuzuordnen. Dies ist fr das Schreiben eines Objektes, welches IDatabaseObj implementiert, erforderlich.
+ * Die Attribute behalten die Reihenfolge, in welcher sie gesetzt wurden, sodass gleiche Attribute stets dieselbe SQL-Anweisung ergeben.
  * @author Alexander Herrfurth.
  *
  */
@@ -28,13 +28,13 @@ public class DatasetAttributes {
 	
 	public DatasetAttributes() {
 		
-		_attributeMap = new HashMap<String, Object>();
+		_attributeMap = new LinkedHashMap<String, Object>();
 		
 	}
 	
 	public DatasetAttributes(Map<String, Object> map) {
 		
-		_attributeMap = new HashMap<String, Object>(map);
+		_attributeMap = new LinkedHashMap<String, Object>(map);
 		
 	}
 	
@@ -77,10 +77,16 @@ public class DatasetAttributes {
 	
 	public Object readAttribute(String name) {
 		
-		Object attr = _attributeMap.get(name);
+		return attributeValueOf(_attributeMap.get(name));
 		
-		if(attr == null)
-			return null;
+	}
+	
+	/**
+	 * Bestimmt den Wert, welcher fr das bergebene Objekt in die Datenbank geschrieben wird.
+	 * @param attr Der Wert eines Attributs.
+	 * @return Der von attributeValue gelieferte Wert, falls das Objekt IDatasetAttribute implementiert, ansonsten das Objekt selbst.
+	 */
+	public static Object attributeValueOf(Object attr) {
 		
 		if(attr instanceof IDatasetAttribute) {
 			
@@ -134,12 +140,12 @@ public class DatasetAttributes {
 		
 		if(attributeNames != null) {
 			
-			Set<String> namesIntersect = new HashSet<String>(attributeNames);
-			namesIntersect.retainAll(getAttributeNames());
+			Set<String> requestedNames = new HashSet<String>(attributeNames);
 			
-			for(String attrName : namesIntersect) {
+			for(String attrName : getAttributeNames()) {
 				
-				subset.setAttribute(attrName, getAttribute(attrName));
+				if(requestedNames.contains(attrName))
+					subset.setAttribute(attrName, getAttribute(attrName));
 				
 			}
 			
@@ -156,29 +162,10 @@ public class DatasetAttributes {
 		
 		_attributeMap.clear();
 		
-		for(Field field : ReflectionUtility.getFieldsRecursive(dbObj.getClass())) {
-			
-			if(field.isAnnotationPresent(TableAttribute.class)) {
-				
-				TableAttribute attr = field.getAnnotation(TableAttribute.class);
-				
-				if(!attr.readonly()) {
-					
-					boolean wasAccessible = field.isAccessible();
-					field.setAccessible(true);
-					
-					try {
-						_attributeMap.put(attr.column(), field.get(dbObj));
-					} catch (IllegalArgumentException | IllegalAccessException e) {
-						return false;
-					}
-					
-					field.setAccessible(wasAccessible);
-					
-				}
-				
-			}
-			
+		try {
+			EntityDescriptor.forType(dbObj.getClass()).getMapper().writeToDatabase(dbObj, this);
+		} catch (Exception e) {
+			return false;
 		}
 		
 		return true;
@@ -0,0 +1,267 @@
+package net.yetibyte.snowstorm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Beschreibt ein einzelnes, mittels TableAttribute annotiertes Feld eines Datenbank-Objekts. Instanzen werden einmalig
+ * pro Klasse vom EntityDescriptor erzeugt und anschlieend fr alle Lese- und Schreibvorgnge wiederverwendet.
+ * Der Zugriff auf das Feld erfolgt ber MethodHandles, welche fr primitive Feldtypen ohne Boxing auskommen.
+ * @author Alexander Herrfurth
+ *
+ */
+public class EntityAttribute {
+	
+	// Nested Types
+	
+	private enum ValueKind {
+		
+		Reference,
+		Boolean,
+		Byte,
+		Short,
+		Int,
+		Long,
+		Float,
+		Double
+		
+	}
+	
+	// Fields
+	
+	private final Field _field;
+	private final String _column;
+	private final boolean _isReadonly;
+	private final boolean _isPrimaryKey;
+	private final int _ordinal;
+	private final boolean _isSafe;
+	private final boolean _isDatasetAttribute;
+	
+	private final ValueKind _valueKind;
+	private final MethodHandle _getter;
+	private final MethodHandle _setter;
+	private final MethodHandle _attributeFactory;
+	
+	// Constructors
+	
+	EntityAttribute(Field field, TableAttribute annotation) {
+		
+		_field = field;
+		_column = annotation.column();
+		_isReadonly = annotation.readonly();
+		_isPrimaryKey = annotation.primaryKey();
+		_ordinal = annotation.ordinal();
+		_isSafe = DatasetAttributes.isSafeAttributeName(_column);
+		_isDatasetAttribute = IDatasetAttribute.class.isAssignableFrom(field.getType());
+		
+		_field.setAccessible(true);
+		
+		Class<?> type = field.getType();
+		_valueKind = valueKindOf(type);
+		
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		
+		try {
+			
+			_getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+			
+			Class<?> setterValueType = _valueKind == ValueKind.Reference ? Object.class : type;
+			_setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, setterValueType));
+			
+			_attributeFactory = _isDatasetAttribute ? attributeFactoryOf(lookup, type) : null;
+			
+		}
+		catch(IllegalAccessException e) {
+			
+			throw new IllegalStateException("Field " + field + " is not accessible.", e);
+			
+		}
+		
+	}
+	
+	// Getters / Setters
+	
+	public Field getField() {
+		return _field;
+	}
+	
+	public String getColumn() {
+		return _column;
+	}
+	
+	public boolean isReadonly() {
+		return _isReadonly;
+	}
+	
+	public boolean isPrimaryKey() {
+		return _isPrimaryKey;
+	}
+	
+	public int getOrdinal() {
+		return _ordinal;
+	}
+	
+	public boolean isSafe() {
+		return _isSafe;
+	}
+	
+	public boolean isDatasetAttribute() {
+		return _isDatasetAttribute;
+	}
+	
+	// Methods
+	
+	/**
+	 * Liest den aktuellen Wert dieses Attributs aus dem bergebenen Datenbank-Objekt.
+	 * @param dbObj Das Datenbank-Objekt, dessen Feld ausgelesen werden soll.
+	 * @return Der Wert des Feldes.
+	 */
+	public Object get(Object dbObj) {
+		
+		try {
+			return (Object)_getter.invokeExact(dbObj);
+		}
+		catch(RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		
+	}
+	
+	/**
+	 * Weist dem Feld des bergebenen Datenbank-Objekts den Wert der angegebenen Spalte des aktuellen Datensatzes zu.
+	 * Primitive Feldtypen werden ber die entsprechenden typisierten Getter des ResultSet gelesen. Enthlt die Spalte NULL, so wird
+	 * fr primitive Feldtypen wie bei einem generierten IEntityMapper eine IllegalArgumentException geworfen, anstatt den Wert
+	 * stillschweigend durch 0 bzw. false zu ersetzen.
+	 * @param dbObj Das zu initialisierende Datenbank-Objekt.
+	 * @param rs Das ResultSet, dessen aktuelle Zeile ausgelesen wird.
+	 * @param columnIndex Der Index der zu lesenden Spalte (beginnend bei 1).
+	 * @throws SQLException Falls die Spalte nicht gelesen werden kann.
+	 * @throws ReflectiveOperationException Falls das Feld nicht beschrieben oder der Attributwert nicht instanziiert werden kann.
+	 * @throws IllegalArgumentException Falls die Spalte NULL enthlt, das Feld jedoch einen primitiven Typ besitzt.
+	 */
+	public void read(Object dbObj, ResultSet rs, int columnIndex) throws SQLException, ReflectiveOperationException {
+		
+		try {
+			
+			switch(_valueKind) {
+				
+				case Boolean:
+					boolean booleanValue = rs.getBoolean(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, booleanValue);
+					break;
+				case Byte:
+					byte byteValue = rs.getByte(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, byteValue);
+					break;
+				case Short:
+					short shortValue = rs.getShort(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, shortValue);
+					break;
+				case Int:
+					int intValue = rs.getInt(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, intValue);
+					break;
+				case Long:
+					long longValue = rs.getLong(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, longValue);
+					break;
+				case Float:
+					float floatValue = rs.getFloat(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, floatValue);
+					break;
+				case Double:
+					double doubleValue = rs.getDouble(columnIndex);
+					checkNotNull(rs);
+					_setter.invokeExact(dbObj, doubleValue);
+					break;
+				default:
+					_setter.invokeExact(dbObj, readObject(rs, columnIndex));
+					break;
+				
+			}
+			
+		}
+		catch(SQLException | ReflectiveOperationException | RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new ReflectiveOperationException(e);
+		}
+		
+	}
+	
+	private void checkNotNull(ResultSet rs) throws SQLException {
+		
+		if(rs.wasNull())
+			throw new IllegalArgumentException("Column " + _column + " is NULL, but field " + _field + " has a primitive type.");
+		
+	}
+	
+	private Object readObject(ResultSet rs, int columnIndex) throws Throwable {
+		
+		if(!_isDatasetAttribute)
+			return rs.getObject(columnIndex);
+		
+		if(_attributeFactory == null)
+			throw new InstantiationException(_field.getType().getName() + " has no parameterless constructor.");
+		
+		IDatasetAttribute fieldValue = (IDatasetAttribute)_attributeFactory.invokeExact();
+		fieldValue.deserializeByAttributeValue(rs.getString(columnIndex));
+		
+		return fieldValue;
+		
+	}
+	
+	private static ValueKind valueKindOf(Class<?> type) {
+		
+		if(type == boolean.class)
+			return ValueKind.Boolean;
+		if(type == byte.class)
+			return ValueKind.Byte;
+		if(type == short.class)
+			return ValueKind.Short;
+		if(type == int.class)
+			return ValueKind.Int;
+		if(type == long.class)
+			return ValueKind.Long;
+		if(type == float.class)
+			return ValueKind.Float;
+		if(type == double.class)
+			return ValueKind.Double;
+		
+		return ValueKind.Reference;
+		
+	}
+	
+	private static MethodHandle attributeFactoryOf(MethodHandles.Lookup lookup, Class<?> type) throws IllegalAccessException {
+		
+		Constructor<?> constructor;
+		
+		try {
+			constructor = type.getDeclaredConstructor();
+		}
+		catch(NoSuchMethodException e) {
+			return null;
+		}
+		
+		constructor.setAccessible(true);
+		
+		return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(IDatasetAttribute.class));
+		
+	}
+	
+}
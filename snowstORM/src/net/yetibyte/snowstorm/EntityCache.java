@@ -0,0 +1,531 @@
+package net.yetibyte.snowstorm;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gemeinsamer Cache fr Datenbank-Objekte, welche ber fetchById bzw. autofetchById anhand ihres Primrschlssels abgerufen werden.
+ * Der Cache ist threadsicher und kann von mehreren DatabaseAccessor-Instanzen gemeinsam verwendet werden. Schreibende Zugriffe ber einen
+ * DatabaseAccessor, welchem der Cache zugewiesen ist, entfernen die betroffenen Eintrge.
+ * Die Eintrge sind in ihrer Anzahl bzw. ihrem Gewicht beschrnkt und verfallen optional nach einer festen Zeitspanne. Wird die Beschrnkung
+ * berschritten, so wird der lteste Eintrag verdrngt, sofern der neue Eintrag nicht seltener abgerufen wird als dieser. Die Hufigkeit der
+ * Abrufe wird nherungsweise ber einen periodisch halbierten Zhler erfasst, sodass einmalige Abrufe hufig bentigte Eintrge nicht verdrngen.
+ * Die Reihenfolge der Eintrge wird in einer verketteten Liste gefhrt, aus welcher entfernte und ersetzte Eintrge unmittelbar ausgehngt werden.
+ * Der Cache hlt lediglich die Spaltenwerte der Datenstze vor, sodass bei jedem Treffer ein neues Datenbank-Objekt erzeugt wird und nderungen
+ * eines Aufrufers an seiner Instanz weder den Cache noch andere Aufrufer betreffen.
+ * @author Alexander Herrfurth
+ *
+ */
+public class EntityCache {
+	
+	// Constants
+	
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+	
+	// Fields
+	
+	private final ConcurrentHashMap<EntityKey, CacheEntry> _entries = new ConcurrentHashMap<EntityKey, CacheEntry>();
+	private final ReentrantLock _evictionLock = new ReentrantLock();
+	private CacheEntry _oldest = null;
+	private CacheEntry _newest = null;
+	private final FrequencySketch _sketch;
+	
+	private final long _maximumWeight;
+	private final ToIntFunction<? super IDatabaseObj> _weigher;
+	private final long _timeToLiveNanos;
+	
+	private final AtomicLong _weight = new AtomicLong();
+	private final AtomicLong _generation = new AtomicLong();
+	private final LongAdder _hitCount = new LongAdder();
+	private final LongAdder _missCount = new LongAdder();
+	private final LongAdder _evictionCount = new LongAdder();
+	
+	// Constructors
+	
+	public EntityCache() {
+		
+		this(DEFAULT_MAXIMUM_SIZE, 0, TimeUnit.MILLISECONDS);
+		
+	}
+	
+	/**
+	 * Erzeugt einen Cache, welcher hchstens die angegebene Anzahl von Datenbank-Objekten vorhlt.
+	 * @param maximumSize Die maximale Anzahl von Eintrgen.
+	 * @param timeToLive Die Zeitspanne, nach welcher ein Eintrag verfllt. Ist der Wert nicht grer als 0, so verfallen Eintrge nicht.
+	 * @param unit Die Einheit der Zeitspanne.
+	 */
+	public EntityCache(long maximumSize, long timeToLive, TimeUnit unit) {
+		
+		this(maximumSize, null, timeToLive, unit);
+		
+	}
+	
+	/**
+	 * Erzeugt einen Cache, dessen Eintrge in ihrem Gesamtgewicht beschrnkt sind.
+	 * @param maximumWeight Das maximale Gesamtgewicht aller Eintrge.
+	 * @param weigher Bestimmt das Gewicht eines Datenbank-Objekts. Wird null bergeben, so hat jedes Datenbank-Objekt das Gewicht 1.
+	 * @param timeToLive Die Zeitspanne, nach welcher ein Eintrag verfllt. Ist der Wert nicht grer als 0, so verfallen Eintrge nicht.
+	 * @param unit Die Einheit der Zeitspanne.
+	 */
+	public EntityCache(long maximumWeight, ToIntFunction<? super IDatabaseObj> weigher, long timeToLive, TimeUnit unit) {
+		
+		if(maximumWeight <= 0)
+			throw new IllegalArgumentException("The maximum weight must be greater than 0.");
+		
+		_maximumWeight = maximumWeight;
+		_weigher = weigher;
+		_timeToLiveNanos = timeToLive > 0 && unit != null ? unit.toNanos(timeToLive) : 0;
+		_sketch = new FrequencySketch(maximumWeight);
+		
+	}
+	
+	// Getters / Setters
+	
+	public long getMaximumWeight() {
+		return _maximumWeight;
+	}
+	
+	public long getHitCount() {
+		return _hitCount.sum();
+	}
+	
+	public long getMissCount() {
+		return _missCount.sum();
+	}
+	
+	/**
+	 * @return Die Anzahl der Eintrge, welche aufgrund der Grenbeschrnkung verdrngt wurden oder verfallen sind.
+	 */
+	public long getEvictionCount() {
+		return _evictionCount.sum();
+	}
+	
+	/**
+	 * @return Der Anteil der Abrufe, welche aus dem Cache bedient wurden, oder 0, falls noch kein Abruf erfolgt ist.
+	 */
+	public double getHitRate() {
+		
+		long hitCount = _hitCount.sum();
+		long requestCount = hitCount + _missCount.sum();
+		
+		return requestCount > 0 ? (double)hitCount / requestCount : 0;
+		
+	}
+	
+	public int getSize() {
+		return _entries.size();
+	}
+	
+	public long getWeight() {
+		return _weight.get();
+	}
+	
+	// Methods
+	
+	/**
+	 * Liefert die zwischengespeicherten Spaltenwerte des Datensatzes mit dem angegebenen Primrschlssel.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param key Der Wert des Primrschlssels.
+	 * @return Die Spaltenwerte oder null, falls kein gltiger Eintrag vorliegt.
+	 */
+	CachedRows get(Class<?> entityType, Object key) {
+		
+		if(entityType == null || key == null)
+			return null;
+		
+		EntityKey entityKey = new EntityKey(entityType, key);
+		_sketch.increment(entityKey.hashCode());
+		
+		CacheEntry entry = _entries.get(entityKey);
+		
+		if(entry == null) {
+			
+			_missCount.increment();
+			return null;
+			
+		}
+		
+		if(entry.isExpired(System.nanoTime())) {
+			
+			removeEntry(entry, true);
+			_missCount.increment();
+			
+			return null;
+			
+		}
+		
+		_hitCount.increment();
+		
+		return entry.row;
+		
+	}
+	
+	/**
+	 * Legt die Spaltenwerte eines Datensatzes nur dann ab, wenn seit dem Abruf der bergebenen Generation kein Eintrag entfernt wurde. Dadurch
+	 * wird verhindert, dass ein vor einem schreibenden Zugriff gelesener Datensatz nach dessen Invalidierung im Cache verbleibt.
+	 * @param dbObj Das aus dem Datensatz eingelesene Datenbank-Objekt. Es bestimmt den Schlssel und das Gewicht des Eintrags, wird jedoch nicht abgelegt.
+	 * @param key Der Wert des Primrschlssels.
+	 * @param row Die Spaltenwerte des Datensatzes.
+	 * @param generation Die vor dem Einlesen ber generation ermittelte Generation.
+	 */
+	void put(IDatabaseObj dbObj, Object key, CachedRows row, long generation) {
+		
+		if(dbObj == null || key == null || row == null)
+			return;
+		
+		EntityKey entityKey = new EntityKey(dbObj.getClass(), key);
+		int weight = _weigher != null ? _weigher.applyAsInt(dbObj) : 1;
+		
+		if(weight < 0 || weight > _maximumWeight) {
+			
+			invalidate(dbObj.getClass(), key);
+			return;
+			
+		}
+		
+		long expiresAt = _timeToLiveNanos > 0 ? System.nanoTime() + _timeToLiveNanos : 0;
+		CacheEntry entry = new CacheEntry(entityKey, row, dbObj.getTableName(), weight, expiresAt, _timeToLiveNanos > 0);
+		CacheEntry previous = _entries.put(entityKey, entry);
+		
+		_weight.addAndGet(previous != null ? weight - previous.weight : weight);
+		
+		if(_generation.get() != generation) {
+			
+			removeEntry(entry, false);
+			
+			if(previous != null)
+				unlink(previous);
+			
+			return;
+			
+		}
+		
+		_evictionLock.lock();
+		
+		try {
+			
+			if(previous != null)
+				unlinkLocked(previous);
+			
+			linkLocked(entry);
+			
+			// Wurde der Eintrag zwischenzeitlich entfernt, so hat removeEntry ihn noch nicht aushngen knnen.
+			if(_entries.get(entityKey) != entry)
+				unlinkLocked(entry);
+			
+		}
+		finally {
+			
+			_evictionLock.unlock();
+			
+		}
+		
+		if(_weight.get() > _maximumWeight)
+			evict(entry);
+		
+	}
+	
+	/**
+	 * @return Ein Zhler, welcher bei jeder Invalidierung erhht wird.
+	 */
+	long generation() {
+		
+		return _generation.get();
+		
+	}
+	
+	/**
+	 * Entfernt das Datenbank-Objekt mit dem angegebenen Primrschlssel aus dem Cache.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param key Der Wert des Primrschlssels.
+	 */
+	public void invalidate(Class<?> entityType, Object key) {
+		
+		if(entityType == null || key == null)
+			return;
+		
+		_generation.incrementAndGet();
+		
+		CacheEntry entry = _entries.get(new EntityKey(entityType, key));
+		
+		if(entry != null)
+			removeEntry(entry, false);
+		
+	}
+	
+	/**
+	 * Entfernt alle Datenbank-Objekte, welche der angegebenen Tabelle zugeordnet sind, aus dem Cache.
+	 * @param tableName Der Name der Tabelle. Gro- und Kleinschreibung werden nicht beachtet.
+	 */
+	public void invalidateTable(String tableName) {
+		
+		if(tableName == null)
+			return;
+		
+		_generation.incrementAndGet();
+		
+		for(CacheEntry entry : _entries.values()) {
+			
+			if(tableName.equalsIgnoreCase(entry.tableName))
+				removeEntry(entry, false);
+			
+		}
+		
+	}
+	
+	public void invalidateAll() {
+		
+		_generation.incrementAndGet();
+		
+		for(CacheEntry entry : _entries.values())
+			removeEntry(entry, false);
+		
+	}
+	
+	private void evict(CacheEntry candidate) {
+		
+		_evictionLock.lock();
+		
+		try {
+			
+			long now = System.nanoTime();
+			
+			while(_weight.get() > _maximumWeight) {
+				
+				CacheEntry victim = _oldest;
+				
+				if(victim == null)
+					break;
+				
+				unlinkLocked(victim);
+				
+				if(_entries.get(victim.key) != victim)
+					continue;
+				
+				boolean isCandidatePresent = victim != candidate && _entries.get(candidate.key) == candidate;
+				
+				if(isCandidatePresent && !victim.isExpired(now) && _sketch.frequency(candidate.key.hashCode()) < _sketch.frequency(victim.key.hashCode())) {
+					
+					// Der neue Eintrag wird seltener abgerufen als der lteste und wird daher anstelle dessen verdrngt.
+					linkLocked(victim);
+					removeEntry(candidate, true);
+					
+					continue;
+					
+				}
+				
+				removeEntry(victim, true);
+				
+			}
+			
+		}
+		finally {
+			
+			_evictionLock.unlock();
+			
+		}
+		
+	}
+	
+	private void removeEntry(CacheEntry entry, boolean isEviction) {
+		
+		if(!_entries.remove(entry.key, entry))
+			return;
+		
+		_weight.addAndGet(-entry.weight);
+		
+		if(isEviction)
+			_evictionCount.increment();
+		
+		unlink(entry);
+		
+	}
+	
+	private void unlink(CacheEntry entry) {
+		
+		_evictionLock.lock();
+		
+		try {
+			unlinkLocked(entry);
+		}
+		finally {
+			_evictionLock.unlock();
+		}
+		
+	}
+	
+	/**
+	 * Hngt den Eintrag als neuesten an die Liste an. Darf nur unter _evictionLock aufgerufen werden.
+	 */
+	private void linkLocked(CacheEntry entry) {
+		
+		entry.previous = _newest;
+		entry.next = null;
+		entry.isLinked = true;
+		
+		if(_newest != null)
+			_newest.next = entry;
+		else
+			_oldest = entry;
+		
+		_newest = entry;
+		
+	}
+	
+	/**
+	 * Hngt den Eintrag aus der Liste aus, sofern er enthalten ist. Darf nur unter _evictionLock aufgerufen werden.
+	 */
+	private void unlinkLocked(CacheEntry entry) {
+		
+		if(!entry.isLinked)
+			return;
+		
+		if(entry.previous != null)
+			entry.previous.next = entry.next;
+		else
+			_oldest = entry.next;
+		
+		if(entry.next != null)
+			entry.next.previous = entry.previous;
+		else
+			_newest = entry.previous;
+		
+		entry.previous = null;
+		entry.next = null;
+		entry.isLinked = false;
+		
+	}
+	
+	// Nested Types
+	
+	private static final class CacheEntry {
+		
+		final EntityKey key;
+		final CachedRows row;
+		final String tableName;
+		final int weight;
+		final long expiresAt;
+		final boolean isExpiring;
+		
+		// Verkettung in der Reihenfolge des Ablegens, geschtzt durch _evictionLock.
+		CacheEntry previous = null;
+		CacheEntry next = null;
+		boolean isLinked = false;
+		
+		CacheEntry(EntityKey key, CachedRows row, String tableName, int weight, long expiresAt, boolean isExpiring) {
+			
+			this.key = key;
+			this.row = row;
+			this.tableName = tableName;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+			this.isExpiring = isExpiring;
+			
+		}
+		
+		boolean isExpired(long now) {
+			
+			return isExpiring && now - expiresAt >= 0;
+			
+		}
+		
+	}
+	
+	/**
+	 * Schtzt die Hufigkeit der Abrufe je Schlssel ber vier Zhler, deren Minimum als Hufigkeit gilt. Sobald die Anzahl der Erhhungen
+	 * das Zehnfache der Zhleranzahl erreicht, werden alle Zhler halbiert, sodass lnger zurckliegende Abrufe an Gewicht verlieren.
+	 * Die Zhler werden ohne Synchronisierung verndert, da gelegentlich verlorene Erhhungen die Schtzung nicht wesentlich beeinflussen.
+	 */
+	private static final class FrequencySketch {
+		
+		private static final long[] SEEDS = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L };
+		private static final int MAXIMUM_COUNT = 15;
+		
+		private final int[] _counters;
+		private final int _mask;
+		private final int _sampleSize;
+		
+		private int _additions = 0;
+		
+		FrequencySketch(long maximumWeight) {
+			
+			int length = 64;
+			
+			while(length < maximumWeight && length < (1 << 20))
+				length <<= 1;
+			
+			_counters = new int[length];
+			_mask = length - 1;
+			_sampleSize = 10 * length;
+			
+		}
+		
+		void increment(int hash) {
+			
+			hash = spread(hash);
+			boolean isAdded = false;
+			
+			for(int i = 0; i < SEEDS.length; i++) {
+				
+				int index = indexOf(hash, i);
+				
+				if(_counters[index] < MAXIMUM_COUNT) {
+					
+					_counters[index]++;
+					isAdded = true;
+					
+				}
+				
+			}
+			
+			if(isAdded && ++_additions >= _sampleSize)
+				reset();
+			
+		}
+		
+		int frequency(int hash) {
+			
+			hash = spread(hash);
+			int frequency = MAXIMUM_COUNT;
+			
+			for(int i = 0; i < SEEDS.length; i++)
+				frequency = Math.min(frequency, _counters[indexOf(hash, i)]);
+			
+			return frequency;
+			
+		}
+		
+		private void reset() {
+			
+			_additions = 0;
+			
+			for(int i = 0; i < _counters.length; i++)
+				_counters[i] >>>= 1;
+			
+		}
+		
+		private int indexOf(int hash, int i) {
+			
+			long h = (hash + SEEDS[i]) * SEEDS[i];
+			h += h >>> 32;
+			
+			return (int)h & _mask;
+			
+		}
+		
+		private static int spread(int hash) {
+			
+			hash = ((hash >>> 16) ^ hash) * 0x45D9F3B;
+			hash = ((hash >>> 16) ^ hash) * 0x45D9F3B;
+			
+			return (hash >>> 16) ^ hash;
+			
+		}
+		
+	}
+	
+}
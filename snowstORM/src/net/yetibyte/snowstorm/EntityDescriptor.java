@@ -0,0 +1,301 @@
+package net.yetibyte.snowstorm;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Enthlt die einmalig ermittelten Metadaten einer Klasse, deren Felder mittels TableAttribute annotiert sind.
+ * Die Beschreibungen werden threadsicher pro Klasse zwischengespeichert, sodass die Klassenhierarchie nur beim ersten Zugriff
+ * durchsucht werden muss. Liegt fr die Klasse ein zur bersetzungszeit generierter IEntityMapper vor, so wird dieser verwendet
+ * und auf Reflection vollstndig verzichtet. Die Beschreibungen werden mittels ClassValue an der jeweiligen Klasse abgelegt, sodass
+ * sie den ClassLoader z. B. einer neu bereitgestellten Webanwendung nicht ber die Lebensdauer der JVM festhalten.
+ * @author Alexander Herrfurth
+ *
+ */
+public class EntityDescriptor {
+	
+	// Fields
+	
+	private static final ClassValue<EntityDescriptor> _registry = new ClassValue<EntityDescriptor>() {
+		
+		@Override
+		protected EntityDescriptor computeValue(Class<?> entityType) {
+			return new EntityDescriptor(entityType);
+		}
+		
+	};
+	
+	// Je ClassLoader die Namen der generierten Mapper-Klassen, indiziert nach dem Namen der Entittsklasse. Da lediglich Namen
+	// abgelegt werden, verweisen die Werte nicht auf den ClassLoader, sodass dieser freigegeben werden kann.
+	private static final Map<ClassLoader, Map<String, String>> _generatedMapperNames = new WeakHashMap<ClassLoader, Map<String, String>>();
+	private static final ReentrantLock _generatedMapperNamesLock = new ReentrantLock();
+	
+	private final Class<?> _entityType;
+	
+	private final List<EntityAttribute> _attributes;
+	private final List<EntityAttribute> _readableAttributes;
+	private final List<EntityAttribute> _writableAttributes;
+	
+	private final IEntityMapper<IDatabaseObj> _mapper;
+	private final boolean _isGenerated;
+	
+	private final String[] _columnNames;
+	private final String _columnList;
+	
+	// Constructors
+	
+	private EntityDescriptor(Class<?> entityType) {
+		
+		_entityType = entityType;
+		
+		IEntityMapper<IDatabaseObj> generatedMapper = generatedMapper(entityType);
+		
+		if(generatedMapper != null) {
+			
+			_attributes = Collections.emptyList();
+			_readableAttributes = Collections.emptyList();
+			_writableAttributes = Collections.emptyList();
+			_mapper = generatedMapper;
+			_isGenerated = true;
+			_columnNames = generatedMapper.getColumnNames();
+			_columnList = joinColumns(_columnNames);
+			
+			return;
+			
+		}
+		
+		Map<String, EntityAttribute> attributeMap = new LinkedHashMap<String, EntityAttribute>();
+		
+		for(Field field : ReflectionUtility.getFieldsWithAnnotation(entityType, TableAttribute.class)) {
+			
+			EntityAttribute attribute = new EntityAttribute(field, field.getAnnotation(TableAttribute.class));
+			attributeMap.put(attribute.getColumn(), attribute);
+			
+		}
+		
+		List<EntityAttribute> ordered = new ArrayList<EntityAttribute>(attributeMap.values());
+		
+		Collections.sort(ordered, new Comparator<EntityAttribute>() {
+			
+			@Override
+			public int compare(EntityAttribute a, EntityAttribute b) {
+				return Integer.compare(a.getOrdinal(), b.getOrdinal());
+			}
+			
+		});
+		
+		List<EntityAttribute> readable = new ArrayList<EntityAttribute>();
+		List<EntityAttribute> writable = new ArrayList<EntityAttribute>();
+		
+		for(EntityAttribute attribute : ordered) {
+			
+			if(attribute.isSafe())
+				readable.add(attribute);
+			
+			if(!attribute.isReadonly())
+				writable.add(attribute);
+			
+		}
+		
+		_attributes = Collections.unmodifiableList(ordered);
+		_readableAttributes = Collections.unmodifiableList(readable);
+		_writableAttributes = Collections.unmodifiableList(writable);
+		_mapper = new ReflectiveEntityMapper(entityType, _attributes, _readableAttributes, _writableAttributes);
+		_isGenerated = false;
+		_columnNames = _mapper.getColumnNames();
+		_columnList = joinColumns(_columnNames);
+		
+	}
+	
+	// Getters / Setters
+	
+	public Class<?> getEntityType() {
+		return _entityType;
+	}
+	
+	/**
+	 * @return Alle annotierten Attribute in kanonischer Reihenfolge, d. h. sortiert nach TableAttribute.ordinal und anschlieend nach Deklaration. Leer, falls ein generierter Mapper verwendet wird.
+	 */
+	public List<EntityAttribute> getAttributes() {
+		return _attributes;
+	}
+	
+	/**
+	 * @return Alle Attribute mit gltigem Spaltennamen, welche beim Auslesen eines Datensatzes bercksichtigt werden.
+	 * Leer, falls ein generierter Mapper verwendet wird.
+	 */
+	public List<EntityAttribute> getReadableAttributes() {
+		return _readableAttributes;
+	}
+	
+	/**
+	 * @return Alle nicht schreibgeschtzten Attribute, welche beim Schreiben eines Datensatzes bercksichtigt werden.
+	 * Leer, falls ein generierter Mapper verwendet wird.
+	 */
+	public List<EntityAttribute> getWritableAttributes() {
+		return _writableAttributes;
+	}
+	
+	/**
+	 * @return Der Mapper, welcher Datenstze in Instanzen dieser Klasse bertrgt und umgekehrt.
+	 */
+	public IEntityMapper<IDatabaseObj> getMapper() {
+		return _mapper;
+	}
+	
+	/**
+	 * @return Der Name der Primrschlsselspalte oder null, falls kein Attribut als Primrschlssel gekennzeichnet ist.
+	 */
+	public String getKeyColumn() {
+		return _mapper.getKeyColumn();
+	}
+	
+	/**
+	 * @return True, falls der Mapper zur bersetzungszeit generiert wurde.
+	 */
+	public boolean isGenerated() {
+		return _isGenerated;
+	}
+	
+	/**
+	 * @return Die kommagetrennten Spaltennamen aller lesbaren Attribute zur Verwendung in einer SELECT-Anweisung.
+	 */
+	public String getColumnList() {
+		return _columnList;
+	}
+	
+	/**
+	 * @return Die Spaltennamen aller lesbaren Attribute. Das Array wird nicht kopiert und darf nicht verndert werden.
+	 */
+	String[] columnNames() {
+		return _columnNames;
+	}
+	
+	// Methods
+	
+	/**
+	 * @param column Der Name der Spalte.
+	 * @return True, falls die Spalte einem lesbaren Attribut dieser Klasse zugeordnet ist.
+	 */
+	public boolean hasColumn(String column) {
+		
+		for(String columnName : _columnNames) {
+			
+			if(columnName.equals(column))
+				return true;
+			
+		}
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Liefert die Beschreibung der bergebenen Klasse. Diese wird beim ersten Aufruf erzeugt und anschlieend wiederverwendet.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @return Die zugehrige Beschreibung oder null, falls null bergeben wurde.
+	 */
+	public static EntityDescriptor forType(Class<?> entityType) {
+		
+		if(entityType == null)
+			return null;
+		
+		return _registry.get(entityType);
+		
+	}
+	
+	private static String joinColumns(String[] columnNames) {
+		
+		StringBuilder colBuilder = new StringBuilder();
+		
+		for(int i = 0; i < columnNames.length; i++) {
+			
+			colBuilder.append(columnNames[i]);
+			
+			if(i < columnNames.length-1)
+				colBuilder.append(", ");
+			
+		}
+		
+		return colBuilder.toString();
+		
+	}
+	
+	/**
+	 * Erzeugt den zur bersetzungszeit generierten IEntityMapper der bergebenen Klasse. Die Mapper werden ber den ClassLoader
+	 * der Klasse gesucht, sodass jede Webanwendung ausschlielich ihre eigenen Mapper verwendet.
+	 * @return Der Mapper oder null, falls fr die Klasse kein Mapper generiert wurde.
+	 */
+	@SuppressWarnings("unchecked")
+	private static IEntityMapper<IDatabaseObj> generatedMapper(Class<?> entityType) {
+		
+		ClassLoader loader = entityType.getClassLoader();
+		
+		if(loader == null)
+			loader = ClassLoader.getSystemClassLoader();
+		
+		String mapperName = generatedMapperNames(loader).get(entityType.getName());
+		
+		if(mapperName == null)
+			return null;
+		
+		try {
+			
+			IEntityMapper<?> mapper = (IEntityMapper<?>)Class.forName(mapperName, true, loader).getDeclaredConstructor().newInstance();
+			
+			// Gleichnamige Klassen anderer ClassLoader werden nicht ber diesen Mapper abgebildet.
+			if(mapper.getEntityType() != entityType)
+				return null;
+			
+			return (IEntityMapper<IDatabaseObj>)mapper;
+			
+		}
+		catch(ReflectiveOperationException | LinkageError | ClassCastException e) {
+			
+			return null;
+			
+		}
+		
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private static Map<String, String> generatedMapperNames(ClassLoader loader) {
+		
+		_generatedMapperNamesLock.lock();
+		
+		try {
+			
+			Map<String, String> mapperNames = _generatedMapperNames.get(loader);
+			
+			if(mapperNames == null) {
+				
+				mapperNames = new HashMap<String, String>();
+				
+				for(IEntityMapper mapper : ServiceLoader.load(IEntityMapper.class, loader))
+					mapperNames.put(mapper.getEntityType().getName(), mapper.getClass().getName());
+				
+				_generatedMapperNames.put(loader, mapperNames);
+				
+			}
+			
+			return mapperNames;
+			
+		}
+		finally {
+			
+			_generatedMapperNamesLock.unlock();
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,82 @@
+package net.yetibyte.snowstorm;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Identifiziert ein Datenbank-Objekt anhand seiner Klasse und des Wertes seines Primrschlssels.
+ * Ganzzahlige Schlssel werden vereinheitlicht, da der JDBC-Treiber z. B. fr eine INTEGER-Spalte einen Integer liefert,
+ * whrend der Schlssel bei fetchById als Long bergeben werden kann.
+ * @author Alexander Herrfurth
+ *
+ */
+final class EntityKey {
+	
+	// Fields
+	
+	private final Class<?> _entityType;
+	private final Object _key;
+	
+	// Constructors
+	
+	EntityKey(Class<?> entityType, Object key) {
+		
+		_entityType = entityType;
+		_key = normalizeKey(key);
+		
+	}
+	
+	// Getters / Setters
+	
+	Class<?> getEntityType() {
+		return _entityType;
+	}
+	
+	// Methods
+	
+	@Override
+	public int hashCode() {
+		
+		return 31 * _entityType.hashCode() + _key.hashCode();
+		
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		
+		if(this == obj)
+			return true;
+		
+		if(!(obj instanceof EntityKey))
+			return false;
+		
+		EntityKey other = (EntityKey)obj;
+		
+		return _entityType == other._entityType && _key.equals(other._key);
+		
+	}
+	
+	private static Object normalizeKey(Object key) {
+		
+		if(key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte)
+			return ((Number)key).longValue();
+		
+		if(key instanceof BigInteger && ((BigInteger)key).bitLength() < 64)
+			return ((BigInteger)key).longValue();
+		
+		if(key instanceof BigDecimal) {
+			
+			try {
+				return ((BigDecimal)key).longValueExact();
+			}
+			catch(ArithmeticException e) {
+				return ((BigDecimal)key).stripTrailingZeros();
+			}
+			
+		}
+		
+		return key;
+		
+	}
+	
+}
@@ -0,0 +1,372 @@
+package net.yetibyte.snowstorm;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hlt fr Datenbank-Objekte, welche ber autofetch eingelesen wurden, die zuletzt mit der Datenbank abgeglichenen Spaltenwerte vor.
+ * Die Datenbank-Objekte werden anhand ihrer Identitt und lediglich schwach referenziert, sodass sie weiterhin vom Garbage Collector
+ * entfernt werden knnen. Vernderliche Werte wie Arrays oder Date werden beim Speichern kopiert, sodass auch deren nderung "an Ort und Stelle"
+ * erkannt wird. Werte sonstiger Typen, welche weder kopiert werden knnen noch als unvernderlich bekannt sind, gelten stets als gendert.
+ * Eine DatabaseSession verwendet eine berlagerung der Instanz ihres DatabaseAccessor, deren Werte erst beim commit bernommen werden.
+ * Instanzen sind threadsicher.
+ * @author Alexander Herrfurth
+ *
+ */
+class EntitySnapshots {
+	
+	// Constants
+	
+	static final Object UNCOMPARABLE = new Object();
+	
+	private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(String.class, Boolean.class, Character.class,
+			Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class));
+	
+	// Fields
+	
+	private final Map<IdentityKey, Snapshot> _snapshots = new HashMap<IdentityKey, Snapshot>();
+	private final ReferenceQueue<Object> _queue = new ReferenceQueue<Object>();
+	private final ReentrantLock _lock = new ReentrantLock();
+	
+	private final EntitySnapshots _parent;
+	
+	// Constructors
+	
+	EntitySnapshots() {
+		
+		this(null);
+		
+	}
+	
+	/**
+	 * Erzeugt eine berlagerung der bergebenen Instanz. Neue Werte werden lediglich in der berlagerung gespeichert, whrend beim Abgleich
+	 * auch die Werte der bergeordneten Instanz bercksichtigt werden. Erst publish bernimmt die Werte, sodass die Werte einer zurckgerollten
+	 * Transaktion nicht in die bergeordnete Instanz gelangen.
+	 * @param parent Die bergeordnete Instanz oder null.
+	 */
+	EntitySnapshots(EntitySnapshots parent) {
+		
+		_parent = parent;
+		
+	}
+	
+	// Methods
+	
+	/**
+	 * Speichert die aktuellen Werte aller beschreibbaren Spalten des bergebenen Datenbank-Objekts.
+	 * @param dbObj Das Datenbank-Objekt.
+	 * @param mapper Der IEntityMapper des Datenbank-Objekts.
+	 * @throws IllegalAccessException Falls die Felder nicht ausgelesen werden knnen.
+	 */
+	void take(IDatabaseObj dbObj, IEntityMapper<IDatabaseObj> mapper) throws IllegalAccessException {
+		
+		DatasetAttributes dsAttributes = new DatasetAttributes();
+		mapper.writeToDatabase(dbObj, dsAttributes);
+		
+		take(dbObj, dsAttributes);
+		
+	}
+	
+	void take(IDatabaseObj dbObj, DatasetAttributes dsAttributes) {
+		
+		int count = dsAttributes.count();
+		
+		String[] columns = new String[count];
+		Object[] values = new Object[count];
+		
+		int i = 0;
+		
+		for(String column : dsAttributes.getAttributeNames()) {
+			
+			columns[i] = column;
+			values[i] = copyOf(dsAttributes.readAttribute(column));
+			i++;
+			
+		}
+		
+		put(dbObj, new Snapshot(columns, values));
+		
+	}
+	
+	boolean contains(IDatabaseObj dbObj) {
+		
+		return snapshotOf(dbObj) != null;
+		
+	}
+	
+	void remove(IDatabaseObj dbObj) {
+		
+		_lock.lock();
+		
+		try {
+			_snapshots.remove(new IdentityKey(dbObj, null));
+		}
+		finally {
+			_lock.unlock();
+		}
+		
+		if(_parent != null)
+			_parent.remove(dbObj);
+		
+	}
+	
+	/**
+	 * bernimmt die Werte einer berlagerung in die bergeordnete Instanz und leert die berlagerung, z. B. nach einem commit.
+	 */
+	void publish() {
+		
+		if(_parent == null)
+			return;
+		
+		_lock.lock();
+		
+		try {
+			
+			expunge();
+			
+			for(Map.Entry<IdentityKey, Snapshot> entry : _snapshots.entrySet()) {
+				
+				Object dbObj = entry.getKey().get();
+				
+				if(dbObj != null)
+					_parent.put(dbObj, entry.getValue());
+				
+			}
+			
+			_snapshots.clear();
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * Verwirft alle Werte. Bei einer berlagerung bleiben die Werte der bergeordneten Instanz erhalten.
+	 */
+	void clear() {
+		
+		_lock.lock();
+		
+		try {
+			
+			expunge();
+			_snapshots.clear();
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * Ermittelt die Spalten, deren aktueller Wert von dem gespeicherten Wert abweicht.
+	 * @param dbObj Das Datenbank-Objekt.
+	 * @param dsAttributes Die aktuellen Attribute des Datenbank-Objekts.
+	 * @return Die Namen der genderten Spalten oder null, falls fr das Datenbank-Objekt keine Werte gespeichert sind.
+	 */
+	Collection<String> dirtyColumns(IDatabaseObj dbObj, DatasetAttributes dsAttributes) {
+		
+		Snapshot snapshot = snapshotOf(dbObj);
+		
+		if(snapshot == null)
+			return null;
+		
+		Map<String, Object> previousValues = new HashMap<String, Object>();
+		
+		for(int i = 0; i < snapshot.columns.length; i++)
+			previousValues.put(snapshot.columns[i], snapshot.values[i]);
+		
+		List<String> dirtyColumns = new ArrayList<String>();
+		
+		for(String column : dsAttributes.getAttributeNames()) {
+			
+			Object previousValue = previousValues.get(column);
+			
+			if(!previousValues.containsKey(column) || previousValue == UNCOMPARABLE || !Objects.deepEquals(previousValue, dsAttributes.readAttribute(column)))
+				dirtyColumns.add(column);
+			
+		}
+		
+		return dirtyColumns;
+		
+	}
+	
+	/**
+	 * Erzeugt eine Kopie des bergebenen Spaltenwerts, welche von spteren nderungen des Werts selbst unberhrt bleibt. Wird auch von
+	 * CachedRows verwendet.
+	 * @return Die Kopie, der Wert selbst, falls dieser unvernderlich ist, oder UNCOMPARABLE, falls der Wert nicht kopiert werden kann.
+	 */
+	static Object copyOf(Object value) {
+		
+		if(value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass()) || value.getClass().getName().startsWith("java.time."))
+			return value;
+		
+		if(value instanceof Date)
+			return ((Date)value).clone();
+		
+		if(value instanceof Calendar)
+			return ((Calendar)value).clone();
+		
+		if(value.getClass().isArray()) {
+			
+			Class<?> componentType = value.getClass().getComponentType();
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(componentType, length);
+			
+			if(componentType.isPrimitive()) {
+				
+				System.arraycopy(value, 0, copy, 0, length);
+				return copy;
+				
+			}
+			
+			for(int i = 0; i < length; i++) {
+				
+				Object elementCopy = copyOf(Array.get(value, i));
+				
+				if(elementCopy == UNCOMPARABLE)
+					return UNCOMPARABLE;
+				
+				Array.set(copy, i, elementCopy);
+				
+			}
+			
+			return copy;
+			
+		}
+		
+		return UNCOMPARABLE;
+		
+	}
+	
+	private void put(Object dbObj, Snapshot snapshot) {
+		
+		_lock.lock();
+		
+		try {
+			
+			expunge();
+			_snapshots.put(new IdentityKey(dbObj, _queue), snapshot);
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * Liefert die gespeicherten Werte des Datenbank-Objekts, bei einer berlagerung gegebenenfalls die der bergeordneten Instanz.
+	 */
+	private Snapshot snapshotOf(IDatabaseObj dbObj) {
+		
+		Snapshot snapshot;
+		
+		_lock.lock();
+		
+		try {
+			
+			expunge();
+			snapshot = _snapshots.get(new IdentityKey(dbObj, null));
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+		if(snapshot == null && _parent != null)
+			snapshot = _parent.snapshotOf(dbObj);
+		
+		return snapshot;
+		
+	}
+	
+	private void expunge() {
+		
+		Reference<?> reference;
+		
+		while((reference = _queue.poll()) != null)
+			_snapshots.remove(reference);
+		
+	}
+	
+	// Nested Types
+	
+	private static final class Snapshot {
+		
+		final String[] columns;
+		final Object[] values;
+		
+		Snapshot(String[] columns, Object[] values) {
+			
+			this.columns = columns;
+			this.values = values;
+			
+		}
+		
+	}
+	
+	private static final class IdentityKey extends WeakReference<Object> {
+		
+		private final int _hash;
+		
+		IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+			
+			super(referent, queue);
+			_hash = System.identityHashCode(referent);
+			
+		}
+		
+		@Override
+		public int hashCode() {
+			
+			return _hash;
+			
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			
+			if(this == obj)
+				return true;
+			
+			if(!(obj instanceof IdentityKey))
+				return false;
+			
+			Object referent = get();
+			
+			return referent != null && referent == ((IdentityKey)obj).get();
+			
+		}
+		
+	}
+	
+}
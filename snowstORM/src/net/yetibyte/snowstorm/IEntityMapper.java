@@ -0,0 +1,64 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Interface fr Klassen, welche die mittels TableAttribute annotierten Felder eines Datenbank-Objekts aus einem Datensatz
+ * befllen bzw. in eine Instanz von DatasetAttributes schreiben. Implementierungen werden entweder zur Laufzeit per Reflection
+ * erzeugt oder vom Annotation Processor des Moduls snowstORM-processor generiert und ber META-INF/services registriert.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ des Datenbank-Objektes.
+ */
+public interface IEntityMapper<T extends IDatabaseObj> {
+	
+	/**
+	 * @return Die Klasse des Datenbank-Objektes, fr welches dieser Mapper zustndig ist.
+	 */
+	Class<T> getEntityType();
+	
+	/**
+	 * Bestimmt die Namen der Tabellen-Spalten, welche beim Auslesen eines Datensatzes bercksichtigt werden.
+	 * Die Reihenfolge entspricht der Reihenfolge, in welcher readFromDatabase die Spalten per Index liest.
+	 * @return Die Namen der Spalten in einem Array.
+	 */
+	String[] getColumnNames();
+	
+	/**
+	 * Initialisiert das bergebene Datenbank-Objekt mit der aktuellen Zeile des ResultSet. Die Spalten werden in der durch
+	 * getColumnNames festgelegten Reihenfolge beginnend bei Index 1 gelesen.
+	 * @param dbObj Das zu initialisierende Datenbank-Objekt.
+	 * @param rs Das ResultSet, dessen aktuelle Zeile ausgelesen wird.
+	 * @throws SQLException Falls eine Spalte nicht gelesen werden kann.
+	 * @throws ReflectiveOperationException Falls ein Feld nicht beschrieben werden kann.
+	 */
+	void readFromDatabase(T dbObj, ResultSet rs) throws SQLException, ReflectiveOperationException;
+	
+	/**
+	 * Schreibt die Werte aller nicht schreibgeschtzten Attribute des Datenbank-Objekts in die bergebene Instanz von DatasetAttributes.
+	 * @param dbObj Das zu schreibende Datenbank-Objekt.
+	 * @param attributes Die Attribute, welchen die Werte zugewiesen werden.
+	 * @throws IllegalAccessException Falls ein Feld nicht ausgelesen werden kann.
+	 */
+	void writeToDatabase(T dbObj, DatasetAttributes attributes) throws IllegalAccessException;
+	
+	/**
+	 * Liest den Wert eines einzelnen Attributs aus dem Datenbank-Objekt. Im Gegensatz zu writeToDatabase werden hierbei auch
+	 * schreibgeschtzte Attribute bercksichtigt, etwa um Schlsselspalten zu bestimmen.
+	 * @param dbObj Das Datenbank-Objekt.
+	 * @param column Der Name der Spalte.
+	 * @return Der Wert des Attributs oder null, falls keine entsprechende Spalte existiert.
+	 * @throws IllegalAccessException Falls das Feld nicht ausgelesen werden kann.
+	 */
+	Object getAttributeValue(T dbObj, String column) throws IllegalAccessException;
+	
+	/**
+	 * Bestimmt die Spalte, welche mittels TableAttribute.primaryKey als Primrschlssel gekennzeichnet wurde.
+	 * @return Der Name der Schlsselspalte oder null, falls das Datenbank-Objekt keinen Primrschlssel deklariert.
+	 */
+	default String getKeyColumn() {
+		return null;
+	}
+	
+}
@@ -0,0 +1,24 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Interface fr Objekte, welche die Parameter einer SQL-Anweisung an ein PreparedStatement binden. ber eine eigene Implementierung
+ * kann festgelegt werden, mit welchem JDBC-Typ bestimmte Werte an die Datenbank bergeben werden.
+ * @author Alexander Herrfurth
+ *
+ */
+@FunctionalInterface
+public interface IParameterBinder {
+	
+	/**
+	 * Bindet den bergebenen Wert an den Platzhalter mit dem angegebenen Index.
+	 * @param statement Das PreparedStatement, an welches der Wert gebunden wird.
+	 * @param index Der Index des Platzhalters (beginnend bei 1).
+	 * @param value Der zu bindende Wert. Kann null sein.
+	 * @throws SQLException Falls der Wert nicht gebunden werden kann.
+	 */
+	void bind(PreparedStatement statement, int index, Object value) throws SQLException;
+	
+}
@@ -0,0 +1,19 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Quelle einer Folge von Datenbank-Objekten, welche diese erst auf Anforderung ihrer Abonnenten liefert. Das Interface entspricht
+ * java.util.concurrent.Flow.Publisher und lsst sich ab Java 9 entsprechend adaptieren.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der gelieferten Objekte.
+ */
+@FunctionalInterface
+public interface IPublisher<T> {
+	
+	/**
+	 * Meldet einen Abonnenten an. Dieser erhlt ber onSubscribe eine ISubscription, ber welche er Objekte anfordern kann.
+	 * @param subscriber Der anzumeldende Abonnent.
+	 */
+	void subscribe(ISubscriber<? super T> subscriber);
+	
+}
@@ -0,0 +1,27 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Wird von einem DatabaseAccessor ber jede ausgefhrte SQL-Anweisung benachrichtigt, z. B. zur Erfassung von Laufzeiten.
+ * Die Methoden werden im Thread der jeweiligen Operation aufgerufen und sollten daher schnell zurckkehren. Von ihnen geworfene
+ * Exceptions werden ignoriert und beeinflussen die Operation nicht.
+ * @author Alexander Herrfurth
+ *
+ */
+@FunctionalInterface
+public interface IQueryListener {
+	
+	/**
+	 * Wird unmittelbar vor dem Ausfhren der Anweisung aufgerufen. Zu diesem Zeitpunkt stehen die SQL-Anweisung, ihre Parameter und
+	 * die Dauer bis zum Erhalt der Datenbankverbindung bereits fest.
+	 * @param event Die auszufhrende Anweisung.
+	 */
+	default void beforeQuery(QueryEvent event) { }
+	
+	/**
+	 * Wird aufgerufen, nachdem die Anweisung ausgefhrt und ihr Ergebnis vollstndig eingelesen wurde oder ein Fehler aufgetreten ist.
+	 * Bei Iteratoren und Streams erfolgt der Aufruf erst beim Schlieen.
+	 * @param event Die ausgefhrte Anweisung.
+	 */
+	void afterQuery(QueryEvent event);
+	
+}
@@ -0,0 +1,19 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Funktionales Interface zur Verarbeitung einzelner Datenstze, wie es von fetchEach verwendet wird.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ des Datenbank-Objektes.
+ */
+@FunctionalInterface
+public interface IRowConsumer<T extends IDatabaseObj> {
+	
+	/**
+	 * Verarbeitet den aktuellen Datensatz. Das bergebene Datenbank-Objekt wird fr jeden Datensatz wiederverwendet und
+	 * neu befllt. Soll es ber den Aufruf hinaus verwendet werden, so mssen die bentigten Werte kopiert werden.
+	 * @param dbObj Das mit dem aktuellen Datensatz befllte Datenbank-Objekt.
+	 */
+	void consume(T dbObj);
+	
+}
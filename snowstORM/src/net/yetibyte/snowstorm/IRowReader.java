@@ -0,0 +1,23 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.ResultSet;
+
+/**
+ * Funktionales Interface, welches den aktuellen Datensatz eines ResultSet in ein Datenbank-Objekt bertrgt.
+ * Wird vom DatabaseAccessor verwendet, um das Einlesen unabhngig von der Art des Datenbank-Objekts durchfhren zu knnen.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ des Datenbank-Objektes.
+ */
+@FunctionalInterface
+interface IRowReader<T extends IDatabaseObj> {
+	
+	/**
+	 * Initialisiert das bergebene Datenbank-Objekt mit dem aktuellen Datensatz.
+	 * @param dbObj Das zu initialisierende Datenbank-Objekt.
+	 * @param rs Das ResultSet, welches auf den einzulesenden Datensatz zeigt.
+	 * @throws Exception Falls der Datensatz nicht gelesen werden kann.
+	 */
+	void read(T dbObj, ResultSet rs) throws Exception;
+	
+}
@@ -0,0 +1,35 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Abonnent eines IPublisher. Die Methoden werden niemals gleichzeitig, jedoch nicht notwendigerweise im selben Thread aufgerufen.
+ * Das Interface entspricht java.util.concurrent.Flow.Subscriber.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der empfangenen Objekte.
+ */
+public interface ISubscriber<T> {
+	
+	/**
+	 * Wird einmalig vor allen anderen Methoden aufgerufen.
+	 * @param subscription Die ISubscription, ber welche Objekte angefordert oder das Abonnement beendet werden kann.
+	 */
+	void onSubscribe(ISubscription subscription);
+	
+	/**
+	 * bergibt das nchste Objekt. Es werden niemals mehr Objekte bergeben, als zuvor mittels ISubscription.request angefordert wurden.
+	 * @param item Das nchste Objekt.
+	 */
+	void onNext(T item);
+	
+	/**
+	 * Beendet die Folge aufgrund eines Fehlers. Anschlieend werden keine weiteren Methoden aufgerufen.
+	 * @param throwable Der aufgetretene Fehler.
+	 */
+	void onError(Throwable throwable);
+	
+	/**
+	 * Beendet die Folge, nachdem alle Objekte bergeben wurden. Anschlieend werden keine weiteren Methoden aufgerufen.
+	 */
+	void onComplete();
+	
+}
@@ -0,0 +1,21 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Verbindung zwischen einem IPublisher und einem seiner Abonnenten. Das Interface entspricht java.util.concurrent.Flow.Subscription.
+ * @author Alexander Herrfurth
+ *
+ */
+public interface ISubscription {
+	
+	/**
+	 * Fordert weitere Objekte an. Anforderungen werden aufsummiert.
+	 * @param n Die Anzahl zustzlich angeforderter Objekte. Ist der Wert nicht grer als 0, so wird die Folge mit einem Fehler beendet.
+	 */
+	void request(long n);
+	
+	/**
+	 * Beendet das Abonnement. Bereits angeforderte, aber noch nicht bergebene Objekte werden verworfen.
+	 */
+	void cancel();
+	
+}
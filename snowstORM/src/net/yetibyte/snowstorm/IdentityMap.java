@@ -0,0 +1,116 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hlt die innerhalb einer DatabaseSession eingelesenen Datenbank-Objekte anhand ihrer Klasse und ihres Primrschlssels vor.
+ * Wird ein Datensatz mehrfach abgerufen, so wird die bereits erzeugte Instanz zurckgegeben, ohne den Datensatz erneut einzulesen.
+ * Bercksichtigt werden lediglich Klassen, welche mittels TableAttribute.primaryKey eine Schlsselspalte deklarieren.
+ * Instanzen sind nicht threadsicher.
+ * @author Alexander Herrfurth
+ *
+ */
+class IdentityMap {
+	
+	// Fields
+	
+	private final Map<EntityKey, IDatabaseObj> _entities = new HashMap<EntityKey, IDatabaseObj>();
+	
+	// Methods
+	
+	/**
+	 * Erzeugt das Datenbank-Objekt fr den aktuellen Datensatz. Ist bereits eine Instanz mit demselben Primrschlssel bekannt,
+	 * so wird diese unverndert zurckgegeben und der Datensatz nicht erneut eingelesen.
+	 * @param objFactory Die Factory, welche neue Instanzen des Datenbank-Objekts erzeugt.
+	 * @param rowReader Der IRowReader, welcher den Datensatz in das Datenbank-Objekt bertrgt.
+	 * @param rs Das ResultSet, welches auf den einzulesenden Datensatz zeigt.
+	 * @return Die bereits bekannte oder neu eingelesene Instanz.
+	 * @throws Exception Falls der Datensatz nicht gelesen werden kann.
+	 */
+	<T extends IDatabaseObj> T read(IDatabaseObjectFactory<T> objFactory, IRowReader<? super T> rowReader, ResultSet rs) throws Exception {
+		
+		T dbObj = objFactory.createInstance();
+		String keyColumn = EntityDescriptor.forType(dbObj.getClass()).getKeyColumn();
+		
+		if(keyColumn == null) {
+			
+			rowReader.read(dbObj, rs);
+			return dbObj;
+			
+		}
+		
+		int index = keyColumn.lastIndexOf('.');
+		Object key = rs.getObject(index >= 0 ? keyColumn.substring(index + 1) : keyColumn);
+		
+		if(key == null) {
+			
+			rowReader.read(dbObj, rs);
+			return dbObj;
+			
+		}
+		
+		EntityKey entityKey = new EntityKey(dbObj.getClass(), key);
+		IDatabaseObj knownObj = _entities.get(entityKey);
+		
+		if(knownObj != null) {
+			
+			@SuppressWarnings("unchecked")
+			T result = (T)knownObj;
+			
+			return result;
+			
+		}
+		
+		rowReader.read(dbObj, rs);
+		_entities.put(entityKey, dbObj);
+		
+		return dbObj;
+		
+	}
+	
+	/**
+	 * Liefert die bereits eingelesene Instanz mit dem angegebenen Primrschlssel.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param key Der Wert des Primrschlssels.
+	 * @return Die Instanz oder null, falls kein Datenbank-Objekt mit diesem Schlssel bekannt ist.
+	 */
+	IDatabaseObj get(Class<?> entityType, Object key) {
+		
+		if(entityType == null || key == null)
+			return null;
+		
+		return _entities.get(new EntityKey(entityType, key));
+		
+	}
+	
+	void put(IDatabaseObj dbObj, Object key) {
+		
+		if(dbObj != null && key != null)
+			_entities.put(new EntityKey(dbObj.getClass(), key), dbObj);
+		
+	}
+	
+	IDatabaseObj remove(Class<?> entityType, Object key) {
+		
+		if(entityType == null || key == null)
+			return null;
+		
+		return _entities.remove(new EntityKey(entityType, key));
+		
+	}
+	
+	void clear() {
+		
+		_entities.clear();
+		
+	}
+	
+	int size() {
+		
+		return _entities.size();
+		
+	}
+	
+}
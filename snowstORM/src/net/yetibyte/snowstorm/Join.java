@@ -1,5 +1,7 @@
 package net.yetibyte.snowstorm;
 
+import java.util.Objects;
+
 public class Join {
 	
 	// Fields
@@ -26,6 +28,13 @@ public class Join {
 	public Join(String targetTable, String sourceColumn, String targetColumn) {
 		this(JoinTypes.Inner, targetTable, sourceColumn, targetColumn);
 	}
+	
+	public Join(Join other) {
+		
+		this(other._joinType, other._targetTable, other._sourceColumn, other._targetColumn);
+		_isEqui = other._isEqui;
+		
+	}
 
 	// Getters / Setters
 	
@@ -71,7 +80,7 @@ public class Join {
 	
 	public String getClause() {
 		
-		return String.format("%s JOIN %s ON %s %s %s", typeAsString(), _targetTable, _sourceColumn, (_isEqui ? "=" : "<>"), _targetColumn);
+		return typeAsString() + " JOIN " + _targetTable + " ON " + _sourceColumn + (_isEqui ? " = " : " <> ") + _targetColumn;
 		
 	}
 	
@@ -82,5 +91,31 @@ public class Join {
 				&& DatasetAttributes.isSafeAttributeName(_targetColumn);
 		
 	}
+	
+	@Override
+	public int hashCode() {
+		
+		return Objects.hash(_joinType, _isEqui, _targetTable, _sourceColumn, _targetColumn);
+		
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		
+		if(this == obj)
+			return true;
+		
+		if(!(obj instanceof Join))
+			return false;
+		
+		Join other = (Join)obj;
+		
+		return _joinType == other._joinType
+				&& _isEqui == other._isEqui
+				&& Objects.equals(_targetTable, other._targetTable)
+				&& Objects.equals(_sourceColumn, other._sourceColumn)
+				&& Objects.equals(_targetColumn, other._targetColumn);
+		
+	}
 
 }
@@ -0,0 +1,67 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Eine Seite von Datenbank-Objekten, wie sie von fetchPage geliefert wird. Neben den Datenbank-Objekten enthlt die Seite
+ * die Schlsselwerte des letzten Datensatzes, welche beim Abruf der folgenden Seite als afterKey bergeben werden.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der Datenbank-Objekte.
+ */
+public class Page<T extends IDatabaseObj> {
+	
+	// Fields
+	
+	private final List<T> _items;
+	private final Object[] _lastKey;
+	private final boolean _hasNextPage;
+	
+	// Constructors
+	
+	Page(List<T> items, Object[] lastKey, boolean hasNextPage) {
+		
+		_items = Collections.unmodifiableList(items);
+		_lastKey = lastKey;
+		_hasNextPage = hasNextPage;
+		
+	}
+	
+	// Getters / Setters
+	
+	public List<T> getItems() {
+		return _items;
+	}
+	
+	/**
+	 * Liefert die Werte der Schlsselspalten des letzten Datensatzes dieser Seite in der Reihenfolge der Sortierung.
+	 * @return Die Schlsselwerte oder null, falls die Seite leer ist.
+	 */
+	public Object[] getLastKey() {
+		return _lastKey != null ? _lastKey.clone() : null;
+	}
+	
+	/**
+	 * Gibt an, ob nach dieser Seite weitere Datenstze existieren.
+	 * @return True, falls eine weitere Seite abgerufen werden kann.
+	 */
+	public boolean hasNextPage() {
+		return _hasNextPage;
+	}
+	
+	// Methods
+	
+	public int size() {
+		
+		return _items.size();
+		
+	}
+	
+	public boolean isEmpty() {
+		
+		return _items.isEmpty();
+		
+	}
+	
+}
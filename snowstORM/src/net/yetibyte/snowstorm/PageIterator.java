@@ -0,0 +1,62 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Iterator, welcher die Seiten einer Keyset-Paginierung nacheinander abruft. Jede Seite wird erst beim Aufruf von next geladen
+ * und setzt dabei an den Schlsselwerten des letzten Datensatzes der vorherigen Seite an.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der Datenbank-Objekte.
+ */
+public class PageIterator<T extends IDatabaseObj> implements Iterator<Page<T>> {
+	
+	// Fields
+	
+	private final Function<Object[], Page<T>> _pageFetcher;
+	
+	private Object[] _afterKey = null;
+	private boolean _hasNext = true;
+	
+	// Constructors
+	
+	PageIterator(Function<Object[], Page<T>> pageFetcher) {
+		
+		_pageFetcher = pageFetcher;
+		
+	}
+	
+	// Methods
+	
+	@Override
+	public boolean hasNext() {
+		
+		return _hasNext;
+		
+	}
+	
+	@Override
+	public Page<T> next() {
+		
+		if(!_hasNext)
+			throw new NoSuchElementException();
+		
+		Page<T> page = _pageFetcher.apply(_afterKey);
+		
+		if(page == null) {
+			
+			_hasNext = false;
+			throw new IllegalStateException("The page could not be fetched.");
+			
+		}
+		
+		_afterKey = page.getLastKey();
+		_hasNext = page.hasNextPage();
+		
+		return page;
+		
+	}
+	
+}
@@ -0,0 +1,254 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fhrt die Abfragen mehrerer Partitionen gleichzeitig ber die asynchronen Operationen des DatabaseAccessor aus und fhrt deren
+ * Datenstze in einer gemeinsamen Warteschlange zusammen. Jede Partition verwendet eine eigene Datenbankverbindung und erzeugt ihre
+ * Datenbank-Objekte selbst. Ist die Warteschlange gefllt, so warten die Partitionen, bis der Aufrufer weitere Datenstze entnimmt.
+ * Die Reihenfolge der gelieferten Datenbank-Objekte ist nicht festgelegt.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte.
+ */
+final class PartitionedScan<T extends IDatabaseObj> implements Iterator<T>, AutoCloseable {
+	
+	// Constants
+	
+	static final int DEFAULT_CAPACITY = 1024;
+	
+	private static final Object END_OF_SCAN = new Object();
+	private static final long POLL_INTERVAL_MILLIS = 50;
+	
+	// Fields
+	
+	private final BlockingQueue<Object> _queue;
+	private final AtomicInteger _remainingPartitions;
+	private final AtomicReference<Throwable> _error = new AtomicReference<Throwable>();
+	
+	private volatile boolean _isClosed = false;
+	
+	private T _next = null;
+	private boolean _isExhausted = false;
+	
+	// Constructors
+	
+	/**
+	 * Reiht die Abfragen aller Partitionen ber submitAsync des bergebenen DatabaseAccessor ein.
+	 * @param accessor Der DatabaseAccessor, ber welchen die Partitionen ausgefhrt werden.
+	 * @param partitions ffnen jeweils den ResultIterator einer Partition und liefern null, falls die Abfrage nicht ausgefhrt werden kann.
+	 * @param capacity Die maximale Anzahl eingelesener, aber noch nicht entnommener Datenbank-Objekte.
+	 */
+	PartitionedScan(DatabaseAccessor accessor, List<Supplier<ResultIterator<T>>> partitions, int capacity) {
+		
+		_queue = new ArrayBlockingQueue<Object>(Math.max(1, capacity));
+		_remainingPartitions = new AtomicInteger(partitions.size());
+		
+		if(partitions.isEmpty())
+			_queue.add(END_OF_SCAN);
+		
+		for(Supplier<ResultIterator<T>> partition : partitions) {
+			
+			accessor.submitAsync(() -> {
+				
+				scan(partition);
+				return null;
+				
+			});
+			
+		}
+		
+	}
+	
+	// Methods
+	
+	@Override
+	public boolean hasNext() {
+		
+		if(_next != null)
+			return true;
+		
+		if(_isExhausted)
+			return false;
+		
+		try {
+			
+			while(true) {
+				
+				throwIfFailed();
+				
+				Object item = _queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				
+				if(item == END_OF_SCAN) {
+					
+					throwIfFailed();
+					_isExhausted = true;
+					
+					return false;
+					
+				}
+				
+				if(item != null) {
+					
+					@SuppressWarnings("unchecked")
+					T dbObj = (T)item;
+					
+					_next = dbObj;
+					
+					return true;
+					
+				}
+				
+			}
+			
+		}
+		catch(InterruptedException e) {
+			
+			close();
+			Thread.currentThread().interrupt();
+			
+			throw new IllegalStateException("The scan was interrupted.", e);
+			
+		}
+		
+	}
+	
+	@Override
+	public T next() {
+		
+		if(!hasNext())
+			throw new NoSuchElementException();
+		
+		T dbObj = _next;
+		_next = null;
+		
+		return dbObj;
+		
+	}
+	
+	/**
+	 * Erzeugt einen ungeordneten Stream ber die Datenstze aller Partitionen. Wird der Stream geschlossen, so werden auch alle
+	 * noch laufenden Partitionen beendet und deren Datenbankverbindungen freigegeben.
+	 * @return Der Stream der Datenbank-Objekte.
+	 */
+	Stream<T> stream() {
+		
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL);
+		
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+		
+	}
+	
+	/**
+	 * Beendet alle Partitionen. Partitionen, welche noch nicht gestartet wurden, werden nicht mehr ausgefhrt.
+	 */
+	@Override
+	public void close() {
+		
+		_isClosed = true;
+		_isExhausted = true;
+		_next = null;
+		
+		_queue.clear();
+		
+	}
+	
+	private void scan(Supplier<ResultIterator<T>> partition) {
+		
+		ResultIterator<T> iterator = null;
+		
+		try {
+			
+			if(_isClosed)
+				return;
+			
+			iterator = partition.get();
+			
+			if(iterator == null) {
+				
+				_error.compareAndSet(null, new IllegalStateException("The query of a partition could not be executed."));
+				return;
+				
+			}
+			
+			while(!_isClosed && iterator.hasNext()) {
+				
+				if(!offer(iterator.next()))
+					return;
+				
+			}
+			
+		}
+		catch(Throwable e) {
+			
+			_error.compareAndSet(null, e);
+			
+		}
+		finally {
+			
+			if(iterator != null)
+				iterator.close();
+			
+			if(_remainingPartitions.decrementAndGet() == 0)
+				offer(END_OF_SCAN);
+			
+		}
+		
+	}
+	
+	/**
+	 * Legt ein Element in der Warteschlange ab und wartet hierzu, bis Platz frei wird oder der Scan beendet wurde.
+	 * @return True, falls das Element abgelegt wurde, false falls der Scan beendet wurde.
+	 */
+	private boolean offer(Object item) {
+		
+		try {
+			
+			while(!_isClosed) {
+				
+				// Ein Fehler einer anderen Partition beendet den Scan, da der Aufrufer die brigen Datenstze nicht mehr entnimmt.
+				if(_error.get() != null && item != END_OF_SCAN)
+					return false;
+				
+				if(_queue.offer(item, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS))
+					return true;
+				
+			}
+			
+		}
+		catch(InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			
+		}
+		
+		return false;
+		
+	}
+	
+	private void throwIfFailed() {
+		
+		Throwable error = _error.get();
+		
+		if(error == null)
+			return;
+		
+		close();
+		
+		throw new IllegalStateException("A partition could not be read.", error);
+		
+	}
+	
+}
@@ -0,0 +1,400 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache fr die Ergebnisse von fetch, autofetch und fetchJoined. Die Ergebnisse werden anhand des erzeugten SQL-Textes, der Parameter und der
+ * Klasse der Datenbank-Objekte abgelegt. Da lediglich die Spaltenwerte der Datenstze zwischengespeichert werden, erhlt jeder Aufrufer eine
+ * eigene Liste mit neu erzeugten Datenbank-Objekten. Schreibt ein DatabaseAccessor, welchem der
+ * Cache zugewiesen ist, in eine Tabelle, so werden alle Ergebnisse entfernt, welche diese Tabelle oder eine ihrer Join-Zieltabellen abfragen.
+ * Tabellen, welche lediglich innerhalb der Where-Klausel (z. B. in Unterabfragen) verwendet werden, werden dabei nicht bercksichtigt.
+ * Wird die maximale Anzahl von Eintrgen berschritten, so wird der lteste Eintrag verdrngt. Die Reihenfolge der Eintrge wird in einer
+ * verketteten Liste gefhrt, aus welcher entfernte und ersetzte Eintrge unmittelbar ausgehngt werden. Instanzen sind threadsicher.
+ * @author Alexander Herrfurth
+ *
+ */
+public class QueryCache {
+	
+	// Constants
+	
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+	
+	// Fields
+	
+	private final ConcurrentHashMap<QueryKey, CacheEntry> _entries = new ConcurrentHashMap<QueryKey, CacheEntry>();
+	private final ConcurrentHashMap<String, Set<QueryKey>> _tableIndex = new ConcurrentHashMap<String, Set<QueryKey>>();
+	private final ReentrantLock _evictionLock = new ReentrantLock();
+	private CacheEntry _oldest = null;
+	private CacheEntry _newest = null;
+	
+	private final int _maximumSize;
+	private final long _timeToLiveNanos;
+	
+	private final AtomicLong _generation = new AtomicLong();
+	private final LongAdder _hitCount = new LongAdder();
+	private final LongAdder _missCount = new LongAdder();
+	private final LongAdder _evictionCount = new LongAdder();
+	
+	// Constructors
+	
+	public QueryCache() {
+		
+		this(DEFAULT_MAXIMUM_SIZE, 0, TimeUnit.MILLISECONDS);
+		
+	}
+	
+	/**
+	 * @param maximumSize Die maximale Anzahl zwischengespeicherter Ergebnisse.
+	 * @param timeToLive Die Zeitspanne, nach welcher ein Ergebnis verfllt. Ist der Wert nicht grer als 0, so verfallen Ergebnisse nicht.
+	 * @param unit Die Einheit der Zeitspanne.
+	 */
+	public QueryCache(int maximumSize, long timeToLive, TimeUnit unit) {
+		
+		if(maximumSize <= 0)
+			throw new IllegalArgumentException("The maximum size must be greater than 0.");
+		
+		_maximumSize = maximumSize;
+		_timeToLiveNanos = timeToLive > 0 && unit != null ? unit.toNanos(timeToLive) : 0;
+		
+	}
+	
+	// Getters / Setters
+	
+	public int getMaximumSize() {
+		return _maximumSize;
+	}
+	
+	public long getHitCount() {
+		return _hitCount.sum();
+	}
+	
+	public long getMissCount() {
+		return _missCount.sum();
+	}
+	
+	/**
+	 * @return Die Anzahl der Ergebnisse, welche aufgrund der Grenbeschrnkung verdrngt wurden oder verfallen sind.
+	 */
+	public long getEvictionCount() {
+		return _evictionCount.sum();
+	}
+	
+	public int getSize() {
+		return _entries.size();
+	}
+	
+	// Methods
+	
+	/**
+	 * Liefert das zwischengespeicherte Ergebnis einer Abfrage.
+	 * @param key Der Schlssel der Abfrage.
+	 * @return Die Spaltenwerte der Datenstze oder null, falls kein gltiger Eintrag vorliegt.
+	 */
+	CachedRows get(QueryKey key) {
+		
+		CacheEntry entry = _entries.get(key);
+		
+		if(entry == null) {
+			
+			_missCount.increment();
+			return null;
+			
+		}
+		
+		if(entry.isExpired(System.nanoTime())) {
+			
+			removeEntry(entry, true);
+			_missCount.increment();
+			
+			return null;
+			
+		}
+		
+		_hitCount.increment();
+		
+		return entry.rows;
+		
+	}
+	
+	/**
+	 * Legt das Ergebnis einer Abfrage ab, sofern seit dem Abruf der bergebenen Generation keine Tabelle invalidiert wurde.
+	 * @param key Der Schlssel der Abfrage.
+	 * @param rows Die Spaltenwerte der Datenstze.
+	 * @param tableNames Die Namen aller abgefragten Tabellen.
+	 * @param generation Die vor dem Ausfhren der Abfrage ber generation ermittelte Generation.
+	 */
+	void put(QueryKey key, CachedRows rows, Collection<String> tableNames, long generation) {
+		
+		String[] tables = new String[tableNames.size()];
+		int i = 0;
+		
+		for(String tableName : tableNames)
+			tables[i++] = tableName.toLowerCase(Locale.ROOT);
+		
+		long expiresAt = _timeToLiveNanos > 0 ? System.nanoTime() + _timeToLiveNanos : 0;
+		CacheEntry entry = new CacheEntry(key, rows, tables, expiresAt, _timeToLiveNanos > 0);
+		CacheEntry previous = _entries.put(key, entry);
+		
+		if(previous != null) {
+			
+			unindex(previous);
+			unlink(previous);
+			
+		}
+		
+		for(String table : tables)
+			_tableIndex.computeIfAbsent(table, t -> ConcurrentHashMap.<QueryKey>newKeySet()).add(key);
+		
+		// Wurde whrend der Abfrage eine Tabelle gendert, so gibt das Ergebnis mglicherweise nicht mehr den aktuellen Stand wieder.
+		if(_generation.get() != generation) {
+			
+			removeEntry(entry, false);
+			return;
+			
+		}
+		
+		_evictionLock.lock();
+		
+		try {
+			
+			linkLocked(entry);
+			
+			// Wurde der Eintrag zwischenzeitlich entfernt, so hat removeEntry ihn noch nicht aushngen knnen.
+			if(_entries.get(key) != entry)
+				unlinkLocked(entry);
+			
+			while(_entries.size() > _maximumSize) {
+				
+				CacheEntry victim = _oldest;
+				
+				if(victim == null)
+					break;
+				
+				unlinkLocked(victim);
+				removeEntry(victim, true);
+				
+			}
+			
+		}
+		finally {
+			
+			_evictionLock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * @return Ein Zhler, welcher bei jeder Invalidierung erhht wird.
+	 */
+	long generation() {
+		
+		return _generation.get();
+		
+	}
+	
+	/**
+	 * Entfernt alle Ergebnisse, welche die angegebene Tabelle abfragen.
+	 * @param tableName Der Name der Tabelle. Gro- und Kleinschreibung werden nicht beachtet.
+	 */
+	public void invalidateTable(String tableName) {
+		
+		if(tableName == null)
+			return;
+		
+		_generation.incrementAndGet();
+		
+		Set<QueryKey> keys = _tableIndex.remove(tableName.toLowerCase(Locale.ROOT));
+		
+		if(keys == null)
+			return;
+		
+		for(QueryKey key : keys) {
+			
+			CacheEntry entry = _entries.get(key);
+			
+			if(entry != null)
+				removeEntry(entry, false);
+			
+		}
+		
+	}
+	
+	public void invalidateAll() {
+		
+		_generation.incrementAndGet();
+		
+		for(CacheEntry entry : _entries.values())
+			removeEntry(entry, false);
+		
+	}
+	
+	private void removeEntry(CacheEntry entry, boolean isEviction) {
+		
+		if(!_entries.remove(entry.key, entry))
+			return;
+		
+		unindex(entry);
+		unlink(entry);
+		
+		if(isEviction)
+			_evictionCount.increment();
+		
+	}
+	
+	private void unlink(CacheEntry entry) {
+		
+		_evictionLock.lock();
+		
+		try {
+			unlinkLocked(entry);
+		}
+		finally {
+			_evictionLock.unlock();
+		}
+		
+	}
+	
+	/**
+	 * Hngt den Eintrag als neuesten an die Liste an. Darf nur unter _evictionLock aufgerufen werden.
+	 */
+	private void linkLocked(CacheEntry entry) {
+		
+		entry.previous = _newest;
+		entry.next = null;
+		entry.isLinked = true;
+		
+		if(_newest != null)
+			_newest.next = entry;
+		else
+			_oldest = entry;
+		
+		_newest = entry;
+		
+	}
+	
+	/**
+	 * Hngt den Eintrag aus der Liste aus, sofern er enthalten ist. Darf nur unter _evictionLock aufgerufen werden.
+	 */
+	private void unlinkLocked(CacheEntry entry) {
+		
+		if(!entry.isLinked)
+			return;
+		
+		if(entry.previous != null)
+			entry.previous.next = entry.next;
+		else
+			_oldest = entry.next;
+		
+		if(entry.next != null)
+			entry.next.previous = entry.previous;
+		else
+			_newest = entry.previous;
+		
+		entry.previous = null;
+		entry.next = null;
+		entry.isLinked = false;
+		
+	}
+	
+	private void unindex(CacheEntry entry) {
+		
+		for(String table : entry.tables) {
+			
+			Set<QueryKey> keys = _tableIndex.get(table);
+			
+			if(keys != null)
+				keys.remove(entry.key);
+			
+		}
+		
+	}
+	
+	// Nested Types
+	
+	/**
+	 * Schlssel einer Abfrage, bestehend aus der Klasse der Datenbank-Objekte, der Art des Einlesens, dem SQL-Text und den Parametern.
+	 */
+	static final class QueryKey {
+		
+		private final Class<?> _entityType;
+		private final Object _readMode;
+		private final String _sql;
+		private final Object[] _params;
+		private final int _hash;
+		
+		QueryKey(Class<?> entityType, Object readMode, String sql, Object[] params) {
+			
+			_entityType = entityType;
+			_readMode = readMode;
+			_sql = sql;
+			_params = params != null ? params.clone() : new Object[0];
+			_hash = 31 * (31 * (31 * entityType.hashCode() + readMode.hashCode()) + sql.hashCode()) + Arrays.deepHashCode(_params);
+			
+		}
+		
+		@Override
+		public int hashCode() {
+			
+			return _hash;
+			
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			
+			if(this == obj)
+				return true;
+			
+			if(!(obj instanceof QueryKey))
+				return false;
+			
+			QueryKey other = (QueryKey)obj;
+			
+			return _hash == other._hash && _entityType == other._entityType && _readMode == other._readMode
+					&& _sql.equals(other._sql) && Arrays.deepEquals(_params, other._params);
+			
+		}
+		
+	}
+	
+	private static final class CacheEntry {
+		
+		final QueryKey key;
+		final CachedRows rows;
+		final String[] tables;
+		final long expiresAt;
+		final boolean isExpiring;
+		
+		// Verkettung in der Reihenfolge des Ablegens, geschtzt durch _evictionLock.
+		CacheEntry previous = null;
+		CacheEntry next = null;
+		boolean isLinked = false;
+		
+		CacheEntry(QueryKey key, CachedRows rows, String[] tables, long expiresAt, boolean isExpiring) {
+			
+			this.key = key;
+			this.rows = rows;
+			this.tables = tables;
+			this.expiresAt = expiresAt;
+			this.isExpiring = isExpiring;
+			
+		}
+		
+		boolean isExpired(long now) {
+			
+			return isExpiring && now - expiresAt >= 0;
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,232 @@
+package net.yetibyte.snowstorm;
+
+import java.util.List;
+
+/**
+ * Beschreibt die Ausfhrung einer einzelnen SQL-Anweisung durch einen DatabaseAccessor und wird an die festgelegten IQueryListener bergeben.
+ * Neben der SQL-Anweisung werden die Zeiten fr den Erhalt der Datenbankverbindung, das Ausfhren der Anweisung und das Einlesen des Ergebnisses
+ * getrennt erfasst. Werden mehrere Anweisungen ber eine gemeinsame Verbindung ausgefhrt (z. B. bei insertAll), so wird die Zeit fr den Erhalt
+ * der Verbindung lediglich der ersten Anweisung zugerechnet. Instanzen sind nicht threadsicher und sollten nicht ber den Aufruf eines
+ * IQueryListener hinaus vorgehalten werden.
+ * @author Alexander Herrfurth
+ *
+ */
+public final class QueryEvent {
+	
+	// Constants
+	
+	/**
+	 * Wird verwendet, solange kein IQueryListener festgelegt ist. Smtliche Aufrufe haben keine Wirkung, sodass keine Zeiten erfasst werden.
+	 */
+	static final QueryEvent DISABLED = new QueryEvent(null, null, null, null);
+	
+	// Fields
+	
+	private final List<IQueryListener> _listeners;
+	private final SqlOperations _operation;
+	private final String _tableName;
+	private final Class<?> _entityType;
+	private final long _startNanos;
+	
+	private String _sql = null;
+	private Object[] _parameters = null;
+	
+	private long _acquiredNanos = 0;
+	private long _executeStartNanos = 0;
+	private long _executedNanos = 0;
+	private long _finishedNanos = 0;
+	
+	private int _rowCount = -1;
+	private Throwable _error = null;
+	private boolean _isFinished = false;
+	
+	private Object _flightRecorderEvent = null;
+	
+	// Constructors
+	
+	QueryEvent(List<IQueryListener> listeners, SqlOperations operation, String tableName, Class<?> entityType) {
+		
+		_listeners = listeners;
+		_operation = operation;
+		_tableName = tableName;
+		_entityType = entityType;
+		_startNanos = listeners != null ? System.nanoTime() : 0;
+		
+	}
+	
+	// Getters / Setters
+	
+	public SqlOperations getOperation() {
+		return _operation;
+	}
+	
+	public String getTableName() {
+		return _tableName;
+	}
+	
+	/**
+	 * @return Die Klasse der gelesenen bzw. geschriebenen Datenbank-Objekte oder null, falls die Anweisung keiner Klasse zugeordnet ist (z. B. bei delete).
+	 */
+	public Class<?> getEntityType() {
+		return _entityType;
+	}
+	
+	/**
+	 * @return Die SQL-Anweisung mit Platzhaltern anstelle der Parameter. Anweisungen mit identischem Aufbau liefern denselben Text.
+	 */
+	public String getSql() {
+		return _sql;
+	}
+	
+	/**
+	 * @return Eine Kopie der gebundenen Parameter in der Reihenfolge der Platzhalter oder null, falls diese nicht erfasst wurden (z. B. bei Batches).
+	 */
+	public Object[] getParameters() {
+		return _parameters != null ? _parameters.clone() : null;
+	}
+	
+	/**
+	 * @return Die Anzahl der gelesenen bzw. betroffenen Datenstze oder -1, falls diese nicht bekannt ist.
+	 */
+	public int getRowCount() {
+		return _rowCount;
+	}
+	
+	public Throwable getError() {
+		return _error;
+	}
+	
+	public boolean isSuccessful() {
+		return _isFinished && _error == null;
+	}
+	
+	/**
+	 * @return Die Dauer bis zum Erhalt der Datenbankverbindung in Nanosekunden.
+	 */
+	public long getAcquireNanos() {
+		return _acquiredNanos != 0 ? _acquiredNanos - _startNanos : 0;
+	}
+	
+	/**
+	 * @return Die Dauer der Ausfhrung der Anweisung durch den JDBC-Treiber in Nanosekunden.
+	 */
+	public long getExecuteNanos() {
+		return _executedNanos != 0 ? _executedNanos - _executeStartNanos : 0;
+	}
+	
+	/**
+	 * @return Die Dauer vom Ende der Ausfhrung bis zum vollstndigen Einlesen des Ergebnisses in Nanosekunden.
+	 */
+	public long getMappingNanos() {
+		return _executedNanos != 0 && _finishedNanos != 0 ? _finishedNanos - _executedNanos : 0;
+	}
+	
+	/**
+	 * @return Die Gesamtdauer der Operation einschlielich Verbindungsaufbau und Vorbereitung der Anweisung in Nanosekunden.
+	 */
+	public long getTotalNanos() {
+		return _finishedNanos != 0 ? _finishedNanos - _startNanos : 0;
+	}
+	
+	boolean isEnabled() {
+		return _listeners != null;
+	}
+	
+	/**
+	 * @return Das Ereignis, welches der FlightRecorderListener in beforeQuery begonnen hat, oder null. Es wird an dieser Stelle statt im
+	 * Listener gehalten, sodass es zusammen mit dem QueryEvent verworfen wird, falls afterQuery nie aufgerufen wird (z. B. bei einem nicht
+	 * geschlossenen Iterator). Der Typ ist Object, damit snowstORM das Modul jdk.jfr nicht voraussetzt.
+	 */
+	Object getFlightRecorderEvent() {
+		return _flightRecorderEvent;
+	}
+	
+	void setFlightRecorderEvent(Object flightRecorderEvent) {
+		_flightRecorderEvent = flightRecorderEvent;
+	}
+	
+	// Methods
+	
+	void connectionAcquired() {
+		
+		if(_listeners != null)
+			_acquiredNanos = System.nanoTime();
+		
+	}
+	
+	void statement(String sql, Object[] parameters) {
+		
+		if(_listeners == null)
+			return;
+		
+		_sql = sql;
+		_parameters = parameters;
+		
+	}
+	
+	void executing() {
+		
+		if(_listeners == null)
+			return;
+		
+		for(IQueryListener listener : _listeners) {
+			
+			try {
+				listener.beforeQuery(this);
+			}
+			catch(RuntimeException e) { }
+			
+		}
+		
+		_executeStartNanos = System.nanoTime();
+		
+	}
+	
+	void executed() {
+		
+		if(_listeners != null)
+			_executedNanos = System.nanoTime();
+		
+	}
+	
+	/**
+	 * Schliet die Erfassung ab und benachrichtigt die IQueryListener. Weitere Aufrufe haben keine Wirkung.
+	 * @param rowCount Die Anzahl der gelesenen bzw. betroffenen Datenstze.
+	 */
+	void complete(int rowCount) {
+		
+		if(_listeners == null || _isFinished)
+			return;
+		
+		_rowCount = rowCount;
+		finish();
+		
+	}
+	
+	void fail(Throwable error) {
+		
+		if(_listeners == null || _isFinished)
+			return;
+		
+		_error = error;
+		finish();
+		
+	}
+	
+	private void finish() {
+		
+		_finishedNanos = System.nanoTime();
+		_isFinished = true;
+		
+		for(IQueryListener listener : _listeners) {
+			
+			try {
+				listener.afterQuery(this);
+			}
+			catch(RuntimeException e) { }
+			
+		}
+		
+	}
+	
+}
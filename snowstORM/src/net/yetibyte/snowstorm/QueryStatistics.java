@@ -0,0 +1,243 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IQueryListener, welcher je SQL-Anweisung die Anzahl der Ausfhrungen, Fehler und Datenstze sowie ein Histogramm der Laufzeiten erfasst.
+ * Die Erfassung erfolgt ohne Sperren, sodass der Listener auch bei hoher Last und gleichzeitiger Verwendung durch viele Threads nur einen
+ * geringen Aufwand verursacht. Das Histogramm unterteilt jede Zweierpotenz in acht Abschnitte, sodass ermittelte Perzentile hchstens um
+ * etwa 12,5 % vom tatschlichen Wert abweichen. Der aktuelle Stand kann jederzeit mittels snapshot abgerufen werden.
+ * Die Anzahl der einzeln erfassten SQL-Anweisungen ist beschrnkt, da Anwendungen, welche Werte direkt in den SQL-Text einfgen, beliebig
+ * viele unterschiedliche Anweisungen erzeugen. Alle weiteren Anweisungen werden gemeinsam unter OTHER_SQL erfasst.
+ * @author Alexander Herrfurth
+ *
+ */
+public class QueryStatistics implements IQueryListener {
+	
+	// Constants
+	
+	public static final int DEFAULT_MAXIMUM_TEMPLATES = 1000;
+	
+	/**
+	 * Der Schlssel, unter welchem die Anweisungen jenseits der maximalen Anzahl gemeinsam erfasst werden. Operation und Tabelle sind dabei null.
+	 */
+	public static final String OTHER_SQL = "<other>";
+	
+	static final int SUB_BUCKET_BITS = 3;
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+	
+	// Fields
+	
+	private final ConcurrentHashMap<String, TemplateRecorder> _recorders = new ConcurrentHashMap<String, TemplateRecorder>();
+	private final AtomicInteger _templateCount = new AtomicInteger();
+	private volatile TemplateRecorder _otherRecorder = new TemplateRecorder(null, null);
+	
+	private final int _maximumTemplates;
+	
+	// Constructors
+	
+	public QueryStatistics() {
+		
+		this(DEFAULT_MAXIMUM_TEMPLATES);
+		
+	}
+	
+	/**
+	 * @param maximumTemplates Die maximale Anzahl einzeln erfasster SQL-Anweisungen.
+	 */
+	public QueryStatistics(int maximumTemplates) {
+		
+		if(maximumTemplates <= 0)
+			throw new IllegalArgumentException("The maximum number of templates must be greater than 0.");
+		
+		_maximumTemplates = maximumTemplates;
+		
+	}
+	
+	// Getters / Setters
+	
+	public int getMaximumTemplates() {
+		return _maximumTemplates;
+	}
+	
+	// Methods
+	
+	@Override
+	public void afterQuery(QueryEvent event) {
+		
+		String sql = event.getSql();
+		
+		if(sql == null)
+			return;
+		
+		TemplateRecorder recorder = _recorders.get(sql);
+		
+		if(recorder == null)
+			recorder = _recorders.computeIfAbsent(sql, s -> reserveTemplate() ? new TemplateRecorder(event.getOperation(), event.getTableName()) : null);
+		
+		if(recorder == null)
+			recorder = _otherRecorder;
+		
+		recorder.record(event);
+		
+	}
+	
+	/**
+	 * Liefert den aktuellen Stand aller erfassten SQL-Anweisungen. Da die Erfassung whrenddessen fortgesetzt wird, knnen die Werte
+	 * einer Anweisung geringfgig voneinander abweichen.
+	 * @return Die Statistiken je SQL-Anweisung.
+	 */
+	public Map<String, QueryStatisticsSnapshot> snapshot() {
+		
+		Map<String, QueryStatisticsSnapshot> snapshots = new HashMap<String, QueryStatisticsSnapshot>();
+		
+		for(Map.Entry<String, TemplateRecorder> entry : _recorders.entrySet())
+			snapshots.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+		
+		TemplateRecorder otherRecorder = _otherRecorder;
+		
+		if(otherRecorder.count.sum() > 0)
+			snapshots.put(OTHER_SQL, otherRecorder.snapshot(OTHER_SQL));
+		
+		return Collections.unmodifiableMap(snapshots);
+		
+	}
+	
+	/**
+	 * Liefert den aktuellen Stand einer einzelnen SQL-Anweisung.
+	 * @param sql Die SQL-Anweisung, wie sie von QueryEvent.getSql geliefert wird, oder OTHER_SQL.
+	 * @return Die Statistik oder null, falls die Anweisung nicht einzeln erfasst wurde.
+	 */
+	public QueryStatisticsSnapshot snapshot(String sql) {
+		
+		if(OTHER_SQL.equals(sql))
+			return _otherRecorder.snapshot(OTHER_SQL);
+		
+		TemplateRecorder recorder = sql != null ? _recorders.get(sql) : null;
+		
+		return recorder != null ? recorder.snapshot(sql) : null;
+		
+	}
+	
+	/**
+	 * Verwirft alle erfassten Werte.
+	 */
+	public void reset() {
+		
+		_recorders.clear();
+		_templateCount.set(0);
+		_otherRecorder = new TemplateRecorder(null, null);
+		
+	}
+	
+	/**
+	 * Reserviert einen Platz fr eine weitere einzeln erfasste SQL-Anweisung.
+	 * @return False, falls die maximale Anzahl bereits erreicht ist.
+	 */
+	private boolean reserveTemplate() {
+		
+		if(_templateCount.incrementAndGet() <= _maximumTemplates)
+			return true;
+		
+		_templateCount.decrementAndGet();
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Ermittelt den Abschnitt des Histogramms, in welchen der bergebene Wert fllt.
+	 */
+	static int bucketIndex(long nanos) {
+		
+		if(nanos < SUB_BUCKET_COUNT)
+			return (int)Math.max(0, nanos);
+		
+		int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+		int subBucket = (int)(nanos >>> shift) & (SUB_BUCKET_COUNT - 1);
+		
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+		
+	}
+	
+	/**
+	 * @return Der grte Wert, welcher in den angegebenen Abschnitt des Histogramms fllt.
+	 */
+	static long bucketUpperBound(int index) {
+		
+		if(index < SUB_BUCKET_COUNT)
+			return index;
+		
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowerBound = (long)(SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+		
+		return lowerBound + (1L << shift) - 1;
+		
+	}
+	
+	// Nested Types
+	
+	private static final class TemplateRecorder {
+		
+		final SqlOperations operation;
+		final String tableName;
+		
+		final LongAdder count = new LongAdder();
+		final LongAdder errorCount = new LongAdder();
+		final LongAdder rowCount = new LongAdder();
+		final LongAdder totalNanos = new LongAdder();
+		final LongAdder acquireNanos = new LongAdder();
+		final LongAdder executeNanos = new LongAdder();
+		final LongAdder mappingNanos = new LongAdder();
+		final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+		
+		TemplateRecorder(SqlOperations operation, String tableName) {
+			
+			this.operation = operation;
+			this.tableName = tableName;
+			
+		}
+		
+		void record(QueryEvent event) {
+			
+			long nanos = event.getTotalNanos();
+			
+			count.increment();
+			totalNanos.add(nanos);
+			acquireNanos.add(event.getAcquireNanos());
+			executeNanos.add(event.getExecuteNanos());
+			mappingNanos.add(event.getMappingNanos());
+			maxNanos.accumulate(nanos);
+			buckets.incrementAndGet(bucketIndex(nanos));
+			
+			if(!event.isSuccessful())
+				errorCount.increment();
+			else if(event.getRowCount() > 0)
+				rowCount.add(event.getRowCount());
+			
+		}
+		
+		QueryStatisticsSnapshot snapshot(String sql) {
+			
+			long[] histogram = new long[BUCKET_COUNT];
+			
+			for(int i = 0; i < BUCKET_COUNT; i++)
+				histogram[i] = buckets.get(i);
+			
+			return new QueryStatisticsSnapshot(sql, operation, tableName, count.sum(), errorCount.sum(), rowCount.sum(), totalNanos.sum(),
+					acquireNanos.sum(), executeNanos.sum(), mappingNanos.sum(), maxNanos.get(), histogram);
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,140 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Unvernderlicher Stand der mittels QueryStatistics erfassten Werte einer SQL-Anweisung. Alle Zeiten werden in Nanosekunden angegeben.
+ * @author Alexander Herrfurth
+ *
+ */
+public final class QueryStatisticsSnapshot {
+	
+	// Fields
+	
+	private final String _sql;
+	private final SqlOperations _operation;
+	private final String _tableName;
+	
+	private final long _count;
+	private final long _errorCount;
+	private final long _rowCount;
+	private final long _totalNanos;
+	private final long _acquireNanos;
+	private final long _executeNanos;
+	private final long _mappingNanos;
+	private final long _maxNanos;
+	private final long[] _histogram;
+	
+	// Constructors
+	
+	QueryStatisticsSnapshot(String sql, SqlOperations operation, String tableName, long count, long errorCount, long rowCount, long totalNanos,
+			long acquireNanos, long executeNanos, long mappingNanos, long maxNanos, long[] histogram) {
+		
+		_sql = sql;
+		_operation = operation;
+		_tableName = tableName;
+		_count = count;
+		_errorCount = errorCount;
+		_rowCount = rowCount;
+		_totalNanos = totalNanos;
+		_acquireNanos = acquireNanos;
+		_executeNanos = executeNanos;
+		_mappingNanos = mappingNanos;
+		_maxNanos = maxNanos;
+		_histogram = histogram;
+		
+	}
+	
+	// Getters / Setters
+	
+	public String getSql() {
+		return _sql;
+	}
+	
+	public SqlOperations getOperation() {
+		return _operation;
+	}
+	
+	public String getTableName() {
+		return _tableName;
+	}
+	
+	public long getCount() {
+		return _count;
+	}
+	
+	public long getErrorCount() {
+		return _errorCount;
+	}
+	
+	/**
+	 * @return Die Summe der gelesenen bzw. betroffenen Datenstze aller erfolgreichen Ausfhrungen.
+	 */
+	public long getRowCount() {
+		return _rowCount;
+	}
+	
+	public long getTotalNanos() {
+		return _totalNanos;
+	}
+	
+	public long getAcquireNanos() {
+		return _acquireNanos;
+	}
+	
+	public long getExecuteNanos() {
+		return _executeNanos;
+	}
+	
+	public long getMappingNanos() {
+		return _mappingNanos;
+	}
+	
+	public long getMaxNanos() {
+		return _maxNanos;
+	}
+	
+	public long getMeanNanos() {
+		return _count > 0 ? _totalNanos / _count : 0;
+	}
+	
+	// Methods
+	
+	/**
+	 * Ermittelt das angegebene Perzentil der Laufzeiten anhand des Histogramms.
+	 * @param percentile Das Perzentil zwischen 0 und 100, z. B. 99 oder 99.9.
+	 * @return Die Obergrenze des Abschnitts, in welchen das Perzentil fllt, hchstens jedoch die lngste erfasste Laufzeit, oder 0, falls keine Werte erfasst wurden.
+	 */
+	public long getPercentileNanos(double percentile) {
+		
+		long total = 0;
+		
+		for(long bucketCount : _histogram)
+			total += bucketCount;
+		
+		if(total == 0)
+			return 0;
+		
+		long rank = (long)Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total);
+		long seen = 0;
+		
+		for(int i = 0; i < _histogram.length; i++) {
+			
+			seen += _histogram[i];
+			
+			if(seen >= Math.max(1, rank))
+				return Math.min(QueryStatistics.bucketUpperBound(i), _maxNanos);
+			
+		}
+		
+		return _maxNanos;
+		
+	}
+	
+	@Override
+	public String toString() {
+		
+		return String.format("%s: count=%d, errors=%d, rows=%d, mean=%dns, p50=%dns, p99=%dns, max=%dns", _sql, _count, _errorCount, _rowCount,
+				getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99), _maxNanos);
+		
+	}
+	
+}
@@ -0,0 +1,103 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standard-Implementierung von IEntityMapper, welche die vom EntityDescriptor ermittelten Attribute verwendet.
+ * Kommt zum Einsatz, wenn fr ein Datenbank-Objekt kein generierter Mapper vorliegt.
+ * @author Alexander Herrfurth
+ *
+ */
+class ReflectiveEntityMapper implements IEntityMapper<IDatabaseObj> {
+	
+	// Fields
+	
+	private final Class<IDatabaseObj> _entityType;
+	private final List<EntityAttribute> _readableAttributes;
+	private final List<EntityAttribute> _writableAttributes;
+	private final Map<String, EntityAttribute> _attributesByColumn;
+	private final String[] _columnNames;
+	private final String _keyColumn;
+	
+	// Constructors
+	
+	@SuppressWarnings("unchecked")
+	ReflectiveEntityMapper(Class<?> entityType, List<EntityAttribute> attributes, List<EntityAttribute> readableAttributes, List<EntityAttribute> writableAttributes) {
+		
+		_entityType = (Class<IDatabaseObj>)entityType;
+		_readableAttributes = readableAttributes;
+		_writableAttributes = writableAttributes;
+		_columnNames = new String[readableAttributes.size()];
+		_attributesByColumn = new HashMap<String, EntityAttribute>();
+		
+		String keyColumn = null;
+		
+		for(EntityAttribute attribute : attributes) {
+			
+			_attributesByColumn.put(attribute.getColumn(), attribute);
+			
+			if(keyColumn == null && attribute.isPrimaryKey())
+				keyColumn = attribute.getColumn();
+			
+		}
+		
+		_keyColumn = keyColumn;
+		
+		for(int i = 0; i < _columnNames.length; i++)
+			_columnNames[i] = readableAttributes.get(i).getColumn();
+		
+	}
+	
+	// Methods
+	
+	@Override
+	public Class<IDatabaseObj> getEntityType() {
+		
+		return _entityType;
+		
+	}
+	
+	@Override
+	public String[] getColumnNames() {
+		
+		return _columnNames.clone();
+		
+	}
+	
+	@Override
+	public void readFromDatabase(IDatabaseObj dbObj, ResultSet rs) throws SQLException, ReflectiveOperationException {
+		
+		for(int i = 0; i < _readableAttributes.size(); i++)
+			_readableAttributes.get(i).read(dbObj, rs, i+1);
+		
+	}
+	
+	@Override
+	public void writeToDatabase(IDatabaseObj dbObj, DatasetAttributes attributes) {
+		
+		for(EntityAttribute attr : _writableAttributes)
+			attributes.setAttribute(attr.getColumn(), attr.get(dbObj));
+		
+	}
+	
+	@Override
+	public Object getAttributeValue(IDatabaseObj dbObj, String column) {
+		
+		EntityAttribute attribute = _attributesByColumn.get(column);
+		
+		return attribute != null ? attribute.get(dbObj) : null;
+		
+	}
+	
+	@Override
+	public String getKeyColumn() {
+		
+		return _keyColumn;
+		
+	}
+	
+}
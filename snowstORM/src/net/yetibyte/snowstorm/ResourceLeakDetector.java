@@ -0,0 +1,260 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hilfsmittel zur Fehlersuche, welches die vom DatabaseAccessor angelegten PreparedStatements und ResultSets je Datenbankverbindung
+ * verfolgt. Wird eine Verbindung freigegeben, whrend eine ihrer Ressourcen noch geffnet ist, so wird dies als ResourceLeakException
+ * mit dem Stacktrace der Stelle, an welcher die Ressource angelegt wurde, an den festgelegten Handler gemeldet.
+ * Da fr jede Ressource ein Stacktrace erzeugt wird, ist die Verwendung nur whrend der Entwicklung zu empfehlen.
+ * @author Alexander Herrfurth
+ *
+ */
+public class ResourceLeakDetector {
+	
+	// Fields
+	
+	private final Consumer<ResourceLeakException> _leakHandler;
+	
+	private final Map<Connection, Map<Object, ResourceLeakException>> _resources = new IdentityHashMap<Connection, Map<Object, ResourceLeakException>>();
+	private final Map<Object, Connection> _owners = new IdentityHashMap<Object, Connection>();
+	
+	private final ReentrantLock _lock = new ReentrantLock();
+	
+	private long _leakCount = 0;
+	
+	// Constructors
+	
+	/**
+	 * Erzeugt einen ResourceLeakDetector, welcher gefundene Lecks auf der Standardfehlerausgabe ausgibt.
+	 */
+	public ResourceLeakDetector() {
+		
+		this(leak -> leak.printStackTrace());
+		
+	}
+	
+	/**
+	 * Erzeugt einen ResourceLeakDetector, welcher gefundene Lecks an den bergebenen Handler meldet.
+	 * @param leakHandler Der Handler, welcher fr jede nicht freigegebene Ressource aufgerufen wird.
+	 */
+	public ResourceLeakDetector(Consumer<ResourceLeakException> leakHandler) {
+		
+		_leakHandler = leakHandler;
+		
+	}
+	
+	// Getters / Setters
+	
+	public long getLeakCount() {
+		
+		_lock.lock();
+		
+		try {
+			return _leakCount;
+		}
+		finally {
+			_lock.unlock();
+		}
+		
+	}
+	
+	public int getOpenResourceCount() {
+		
+		_lock.lock();
+		
+		try {
+			return _owners.size();
+		}
+		finally {
+			_lock.unlock();
+		}
+		
+	}
+	
+	// Methods
+	
+	void track(Connection connection, Object resource, String description) {
+		
+		_lock.lock();
+		
+		try {
+			
+			Map<Object, ResourceLeakException> resources = _resources.get(connection);
+			
+			if(resources == null) {
+				
+				resources = new IdentityHashMap<Object, ResourceLeakException>();
+				_resources.put(connection, resources);
+				
+			}
+			
+			resources.put(resource, new ResourceLeakException(description + " was not released before its connection."));
+			_owners.put(resource, connection);
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+	}
+	
+	void untrack(Object resource) {
+		
+		_lock.lock();
+		
+		try {
+			
+			Connection connection = _owners.remove(resource);
+			
+			if(connection == null)
+				return;
+			
+			Map<Object, ResourceLeakException> resources = _resources.get(connection);
+			resources.remove(resource);
+			
+			if(resources.isEmpty())
+				_resources.remove(connection);
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+	}
+	
+	/**
+	 * Meldet alle noch geffneten Ressourcen der bergebenen Verbindung und beendet deren Verfolgung.
+	 * @param connection Die Datenbankverbindung, welche freigegeben wird.
+	 */
+	void check(Connection connection) {
+		
+		List<ResourceLeakException> leaks = new ArrayList<ResourceLeakException>();
+		
+		_lock.lock();
+		
+		try {
+			
+			Map<Object, ResourceLeakException> resources = _resources.remove(connection);
+			
+			if(resources == null)
+				return;
+			
+			for(Map.Entry<Object, ResourceLeakException> entry : resources.entrySet()) {
+				
+				_owners.remove(entry.getKey());
+				
+				if(isOpen(entry.getKey()))
+					leaks.add(entry.getValue());
+				
+			}
+			
+			_leakCount += leaks.size();
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+		report(leaks);
+		
+	}
+	
+	/**
+	 * Meldet alle derzeit noch geffneten Ressourcen smtlicher Verbindungen, z. B. beim Beenden der Anwendung oder am Ende eines Tests.
+	 * Ressourcen, deren Verbindung noch verwendet wird (etwa durch einen nicht geschlossenen ResultIterator), werden ebenfalls gemeldet.
+	 * @return Die Anzahl der gemeldeten Ressourcen.
+	 */
+	public int reportOpenResources() {
+		
+		List<ResourceLeakException> leaks = new ArrayList<ResourceLeakException>();
+		
+		_lock.lock();
+		
+		try {
+			
+			for(Map<Object, ResourceLeakException> resources : _resources.values()) {
+				
+				Iterator<Map.Entry<Object, ResourceLeakException>> iterator = resources.entrySet().iterator();
+				
+				while(iterator.hasNext()) {
+					
+					Map.Entry<Object, ResourceLeakException> entry = iterator.next();
+					
+					if(isOpen(entry.getKey())) {
+						
+						leaks.add(entry.getValue());
+						
+					}
+					else {
+						
+						_owners.remove(entry.getKey());
+						iterator.remove();
+						
+					}
+					
+				}
+				
+			}
+			
+			_resources.values().removeIf(Map::isEmpty);
+			
+		}
+		finally {
+			
+			_lock.unlock();
+			
+		}
+		
+		report(leaks);
+		
+		return leaks.size();
+		
+	}
+	
+	private void report(List<ResourceLeakException> leaks) {
+		
+		if(_leakHandler == null)
+			return;
+		
+		for(ResourceLeakException leak : leaks)
+			_leakHandler.accept(leak);
+		
+	}
+	
+	/**
+	 * Ein ResultSet gilt als freigegeben, sobald es geschlossen wurde. PreparedStatements werden bei ihrer Freigabe nicht mehr verfolgt,
+	 * da sie innerhalb einer DatabaseSession zur Wiederverwendung geffnet bleiben.
+	 */
+	private static boolean isOpen(Object resource) {
+		
+		if(resource instanceof ResultSet) {
+			
+			try {
+				return !((ResultSet)resource).isClosed();
+			}
+			catch(Exception e) {
+				return false;
+			}
+			
+		}
+		
+		return true;
+		
+	}
+	
+}
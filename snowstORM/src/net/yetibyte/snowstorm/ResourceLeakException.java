@@ -0,0 +1,23 @@
+package net.yetibyte.snowstorm;
+
+/**
+ * Beschreibt eine JDBC-Ressource, welche nicht freigegeben wurde. Der Stacktrace dieser Exception entspricht der Stelle,
+ * an welcher die Ressource angelegt wurde.
+ * @author Alexander Herrfurth
+ *
+ */
+public class ResourceLeakException extends Exception {
+	
+	// Constants
+	
+	private static final long serialVersionUID = 1L;
+	
+	// Constructors
+	
+	public ResourceLeakException(String message) {
+		
+		super(message);
+		
+	}
+	
+}
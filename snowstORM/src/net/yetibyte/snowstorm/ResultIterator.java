@@ -0,0 +1,160 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator ber das Ergebnis einer Abfrage, welcher die Datenbank-Objekte erst beim Weiterschalten aus dem ResultSet erzeugt.
+ * Die Datenbankverbindung bleibt so lange geffnet, bis alle Datenstze gelesen wurden oder close aufgerufen wird.
+ * Instanzen sollten daher stets in einem try-with-resources-Block verwendet werden.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte.
+ */
+public class ResultIterator<T extends IDatabaseObj> implements Iterator<T>, AutoCloseable {
+	
+	// Fields
+	
+	private final DatabaseAccessor _accessor;
+	private final Connection _connection;
+	private final PreparedStatement _statement;
+	private final ResultSet _resultSet;
+	private final IDatabaseObjectFactory<T> _objFactory;
+	private final IRowReader<? super T> _rowReader;
+	private final IdentityMap _identityMap;
+	private final QueryEvent _event;
+	private final boolean _restoreAutoCommit;
+	
+	private T _next = null;
+	private int _rowCount = 0;
+	private boolean _isClosed = false;
+	
+	// Constructors
+	
+	ResultIterator(DatabaseAccessor accessor, Connection connection, PreparedStatement statement, ResultSet resultSet, IDatabaseObjectFactory<T> objFactory, IRowReader<? super T> rowReader, IdentityMap identityMap, QueryEvent event, boolean restoreAutoCommit) {
+		
+		_accessor = accessor;
+		_connection = connection;
+		_statement = statement;
+		_resultSet = resultSet;
+		_objFactory = objFactory;
+		_rowReader = rowReader;
+		_identityMap = identityMap;
+		_event = event;
+		_restoreAutoCommit = restoreAutoCommit;
+		
+	}
+	
+	// Getters / Setters
+	
+	public boolean isClosed() {
+		return _isClosed;
+	}
+	
+	// Methods
+	
+	@Override
+	public boolean hasNext() {
+		
+		if(_next != null)
+			return true;
+		
+		if(_isClosed)
+			return false;
+		
+		try {
+			
+			if(!_resultSet.next()) {
+				
+				close();
+				return false;
+				
+			}
+			
+			_next = DatabaseAccessor.readRow(_objFactory, _rowReader, _resultSet, _identityMap);
+			_rowCount++;
+			
+			return true;
+			
+		}
+		catch(Exception e) {
+			
+			_event.fail(e);
+			close();
+			
+			throw new IllegalStateException("The next row could not be read.", e);
+			
+		}
+		
+	}
+	
+	@Override
+	public T next() {
+		
+		if(!hasNext())
+			throw new NoSuchElementException();
+		
+		T dbObj = _next;
+		_next = null;
+		
+		return dbObj;
+		
+	}
+	
+	/**
+	 * Erzeugt einen sequentiellen Stream ber die verbleibenden Datenstze. Wird der Stream geschlossen, so wird auch dieser Iterator
+	 * und damit die Datenbankverbindung geschlossen.
+	 * @return Der Stream der Datenbank-Objekte.
+	 */
+	public Stream<T> stream() {
+		
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+		
+	}
+	
+	/**
+	 * Schliet das ResultSet und die Anweisung und gibt die Datenbankverbindung frei. Mehrfache Aufrufe haben keine Wirkung.
+	 */
+	@Override
+	public void close() {
+		
+		if(_isClosed)
+			return;
+		
+		_isClosed = true;
+		_next = null;
+		
+		// Die Erfassung endet mit dem Schlieen, sodass die Zeit fr das Einlesen auch die Verarbeitung durch den Aufrufer enthlt.
+		_event.complete(_rowCount);
+		
+		try { _resultSet.close(); }
+		catch(Exception e) { }
+		
+		_accessor.releaseStatement(_statement);
+		
+		try {
+			
+			if(_restoreAutoCommit) {
+				
+				_connection.commit();
+				_connection.setAutoCommit(true);
+				
+			}
+			
+		}
+		catch(Exception e) { }
+		
+		_accessor.closeConnection(_connection);
+		
+	}
+	
+}
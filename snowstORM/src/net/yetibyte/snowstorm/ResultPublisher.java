@@ -0,0 +1,223 @@
+package net.yetibyte.snowstorm;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * IPublisher, welcher fr jeden Abonnenten eine eigene Abfrage ausfhrt und die Datenstze ber einen ResultIterator einliest.
+ * Der Cursor wird lediglich so weit weitergeschaltet, wie der Abonnent Objekte angefordert hat, sodass langsame Abonnenten den
+ * Speicherbedarf begrenzen. Die Abfrage, das Einlesen der Datenstze und die Aufrufe des Abonnenten erfolgen auf dem bergebenen Executor.
+ * Die Datenbankverbindung wird freigegeben, sobald alle Datenstze bergeben wurden, ein Fehler auftritt oder das Abonnement beendet wird.
+ * @author Alexander Herrfurth
+ *
+ * @param <T> Der Typ der zu erzeugenden Datenbank-Objekte.
+ */
+final class ResultPublisher<T extends IDatabaseObj> implements IPublisher<T> {
+	
+	// Fields
+	
+	private final Supplier<ResultIterator<T>> _iteratorFactory;
+	private final Executor _executor;
+	
+	// Constructors
+	
+	/**
+	 * @param iteratorFactory ffnet den ResultIterator eines Abonnenten. Liefert null, falls die Abfrage nicht ausgefhrt werden kann.
+	 * @param executor Der Executor, auf welchem die Datenstze eingelesen und an den Abonnenten bergeben werden.
+	 */
+	ResultPublisher(Supplier<ResultIterator<T>> iteratorFactory, Executor executor) {
+		
+		_iteratorFactory = iteratorFactory;
+		_executor = executor;
+		
+	}
+	
+	// Methods
+	
+	@Override
+	public void subscribe(ISubscriber<? super T> subscriber) {
+		
+		if(subscriber == null)
+			throw new NullPointerException("The subscriber must not be null.");
+		
+		ResultSubscription subscription = new ResultSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		
+	}
+	
+	// Nested Types
+	
+	/**
+	 * Das Abonnement eines einzelnen Abonnenten. Alle Zugriffe auf den ResultIterator erfolgen innerhalb von drain, welches mittels
+	 * _workCount stets nur von einem Thread gleichzeitig ausgefhrt wird. Request und cancel vermerken lediglich die Anforderung
+	 * und stoen drain an, sodass sie aus beliebigen Threads und auch innerhalb von onNext aufgerufen werden knnen.
+	 */
+	private final class ResultSubscription implements ISubscription, Runnable {
+		
+		private final ISubscriber<? super T> _subscriber;
+		
+		private final AtomicLong _demand = new AtomicLong();
+		private final AtomicInteger _workCount = new AtomicInteger();
+		
+		private volatile boolean _isCancelled = false;
+		private volatile Throwable _requestError = null;
+		
+		private ResultIterator<T> _iterator = null;
+		private boolean _isDone = false;
+		
+		ResultSubscription(ISubscriber<? super T> subscriber) {
+			
+			_subscriber = subscriber;
+			
+		}
+		
+		@Override
+		public void request(long n) {
+			
+			if(n <= 0) {
+				
+				_requestError = new IllegalArgumentException("The number of requested items must be greater than 0.");
+				_isCancelled = true;
+				
+			}
+			else {
+				
+				// Die Anforderungen werden aufsummiert und bei Long.MAX_VALUE als unbegrenzt angesehen.
+				_demand.getAndUpdate(demand -> demand + n < 0 ? Long.MAX_VALUE : demand + n);
+				
+			}
+			
+			schedule();
+			
+		}
+		
+		@Override
+		public void cancel() {
+			
+			_isCancelled = true;
+			schedule();
+			
+		}
+		
+		private void schedule() {
+			
+			if(_workCount.getAndIncrement() != 0)
+				return;
+			
+			try {
+				_executor.execute(this);
+			}
+			catch(RejectedExecutionException e) {
+				
+				_requestError = e;
+				_isCancelled = true;
+				
+				run();
+				
+			}
+			
+		}
+		
+		@Override
+		public void run() {
+			
+			int missed = 1;
+			
+			do {
+				
+				drain();
+				missed = _workCount.addAndGet(-missed);
+				
+			}
+			while(missed != 0);
+			
+		}
+		
+		private void drain() {
+			
+			if(_isDone)
+				return;
+			
+			if(_isCancelled) {
+				
+				finish();
+				
+				if(_requestError != null)
+					_subscriber.onError(_requestError);
+				
+				return;
+				
+			}
+			
+			try {
+				
+				if(_iterator == null) {
+					
+					_iterator = _iteratorFactory.get();
+					
+					if(_iterator == null) {
+						
+						finish();
+						_subscriber.onError(new IllegalStateException("The query could not be executed."));
+						
+						return;
+						
+					}
+					
+				}
+				
+				while(true) {
+					
+					long demand = _demand.get();
+					long emitted = 0;
+					
+					while(emitted != demand) {
+						
+						if(_isCancelled)
+							return;
+						
+						if(!_iterator.hasNext()) {
+							
+							finish();
+							_subscriber.onComplete();
+							
+							return;
+							
+						}
+						
+						_subscriber.onNext(_iterator.next());
+						emitted++;
+						
+					}
+					
+					// Whrend onNext eingegangene Anforderungen werden unmittelbar bercksichtigt, ohne drain erneut anzustoen.
+					if(_demand.addAndGet(-emitted) == 0)
+						return;
+					
+				}
+				
+			}
+			catch(Exception e) {
+				
+				finish();
+				_subscriber.onError(e);
+				
+			}
+			
+		}
+		
+		private void finish() {
+			
+			_isDone = true;
+			
+			if(_iterator != null)
+				_iterator.close();
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,235 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * IQueryListener, welcher SQL-Anweisungen protokolliert, deren Laufzeit oder Anzahl von Datenstzen einen Schwellwert erreicht oder welche
+ * fehlschlagen. Von den brigen Anweisungen kann zustzlich ein zufllig ausgewhlter Anteil protokolliert werden. Jeder Eintrag enthlt die
+ * SQL-Anweisung, die Klasse der Datenbank-Objekte, die getrennt erfassten Zeiten sowie die Stelle im Code, von welcher die Operation
+ * aufgerufen wurde. Die Parameter werden lediglich protokolliert, sofern dies mittels setLoggingParameters aktiviert wurde, und knnen
+ * zuvor ber einen Redactor unkenntlich gemacht werden. Da die Aufrufstelle erst fr protokollierte Anweisungen ermittelt wird, verursachen
+ * alle brigen Anweisungen lediglich einen Vergleich der Schwellwerte.
+ * @author Alexander Herrfurth
+ *
+ */
+public class SlowQueryLog implements IQueryListener {
+	
+	// Constants
+	
+	public static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 500;
+	
+	private static final String PACKAGE_PREFIX = SlowQueryLog.class.getPackage().getName() + ".";
+	
+	// Fields
+	
+	private final Consumer<String> _handler;
+	
+	private volatile long _latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LATENCY_THRESHOLD_MILLIS);
+	private volatile int _rowCountThreshold = 0;
+	private volatile double _sampleRate = 0;
+	private volatile boolean _isLoggingParameters = false;
+	private volatile UnaryOperator<Object> _parameterRedactor = null;
+	
+	private final LongAdder _loggedCount = new LongAdder();
+	
+	// Constructors
+	
+	/**
+	 * Erzeugt ein SlowQueryLog, welches die Eintrge auf der Standardfehlerausgabe ausgibt.
+	 */
+	public SlowQueryLog() {
+		
+		this(System.err::println);
+		
+	}
+	
+	/**
+	 * Erzeugt ein SlowQueryLog, welches die Eintrge an den bergebenen Handler bergibt, z. B. an einen Logger.
+	 * @param handler Der Handler, welcher fr jeden Eintrag aufgerufen wird.
+	 */
+	public SlowQueryLog(Consumer<String> handler) {
+		
+		_handler = handler;
+		
+	}
+	
+	// Getters / Setters
+	
+	public long getLatencyThreshold(TimeUnit unit) {
+		return unit.convert(_latencyThresholdNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Legt die Laufzeit fest, ab welcher eine Anweisung protokolliert wird. Mageblich ist die Gesamtdauer einschlielich des Erhalts
+	 * der Datenbankverbindung und des Einlesens der Datenstze.
+	 * @param threshold Die Laufzeit. Ist der Wert nicht grer als 0, so werden Anweisungen nicht aufgrund ihrer Laufzeit protokolliert.
+	 * @param unit Die Einheit der Laufzeit.
+	 */
+	public void setLatencyThreshold(long threshold, TimeUnit unit) {
+		_latencyThresholdNanos = threshold > 0 ? unit.toNanos(threshold) : 0;
+	}
+	
+	public int getRowCountThreshold() {
+		return _rowCountThreshold;
+	}
+	
+	/**
+	 * Legt die Anzahl gelesener bzw. betroffener Datenstze fest, ab welcher eine Anweisung protokolliert wird.
+	 * @param rowCountThreshold Die Anzahl der Datenstze. Ist der Wert nicht grer als 0, so werden Anweisungen nicht aufgrund ihrer Datenstze protokolliert.
+	 */
+	public void setRowCountThreshold(int rowCountThreshold) {
+		_rowCountThreshold = Math.max(0, rowCountThreshold);
+	}
+	
+	public double getSampleRate() {
+		return _sampleRate;
+	}
+	
+	/**
+	 * Legt den Anteil der Anweisungen unterhalb der Schwellwerte fest, welcher zustzlich protokolliert wird, z. B. um einen Eindruck
+	 * der blichen Laufzeiten zu erhalten.
+	 * @param sampleRate Der Anteil zwischen 0 (keine) und 1 (alle).
+	 */
+	public void setSampleRate(double sampleRate) {
+		_sampleRate = Math.min(1, Math.max(0, sampleRate));
+	}
+	
+	public boolean isLoggingParameters() {
+		return _isLoggingParameters;
+	}
+	
+	/**
+	 * Legt fest, ob die gebundenen Parameter protokolliert werden. Da diese personenbezogene oder vertrauliche Daten enthalten knnen,
+	 * ist dies standardmig deaktiviert.
+	 * @param isLoggingParameters True, um die Parameter zu protokollieren.
+	 */
+	public void setLoggingParameters(boolean isLoggingParameters) {
+		_isLoggingParameters = isLoggingParameters;
+	}
+	
+	public UnaryOperator<Object> getParameterRedactor() {
+		return _parameterRedactor;
+	}
+	
+	/**
+	 * Legt eine Funktion fest, ber welche jeder Parameter vor dem Protokollieren geleitet wird, z. B. um Zeichenketten zu krzen oder zu maskieren.
+	 * @param parameterRedactor Die Funktion oder null, um die Parameter unverndert zu protokollieren.
+	 */
+	public void setParameterRedactor(UnaryOperator<Object> parameterRedactor) {
+		_parameterRedactor = parameterRedactor;
+	}
+	
+	/**
+	 * @return Die Anzahl der bisher protokollierten Anweisungen.
+	 */
+	public long getLoggedCount() {
+		return _loggedCount.sum();
+	}
+	
+	// Methods
+	
+	@Override
+	public void afterQuery(QueryEvent event) {
+		
+		boolean isSlow = _latencyThresholdNanos > 0 && event.getTotalNanos() >= _latencyThresholdNanos;
+		boolean isLarge = _rowCountThreshold > 0 && event.getRowCount() >= _rowCountThreshold;
+		boolean isFailed = !event.isSuccessful();
+		
+		if(!isSlow && !isLarge && !isFailed) {
+			
+			double sampleRate = _sampleRate;
+			
+			if(sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)
+				return;
+			
+		}
+		
+		if(_handler == null)
+			return;
+		
+		_loggedCount.increment();
+		_handler.accept(format(event, isFailed ? "Failed query" : isSlow || isLarge ? "Slow query" : "Sampled query"));
+		
+	}
+	
+	private String format(QueryEvent event, String title) {
+		
+		StringBuilder builder = new StringBuilder(title);
+		
+		builder.append(String.format(Locale.ROOT, " (%.3f ms, %d rows): ", event.getTotalNanos() / 1e6, event.getRowCount()));
+		builder.append(event.getOperation()).append(' ').append(event.getTableName());
+		
+		if(event.getEntityType() != null)
+			builder.append(" as ").append(event.getEntityType().getName());
+		
+		builder.append(" [").append(event.getSql()).append(']');
+		
+		if(_isLoggingParameters) {
+			
+			Object[] params = event.getParameters();
+			
+			if(params != null) {
+				
+				UnaryOperator<Object> redactor = _parameterRedactor;
+				
+				builder.append(" params [");
+				
+				for(int i = 0; i < params.length; i++) {
+					
+					if(i > 0)
+						builder.append(", ");
+					
+					builder.append(redactor != null ? redactor.apply(params[i]) : params[i]);
+					
+				}
+				
+				builder.append(']');
+				
+			}
+			
+		}
+		
+		builder.append(String.format(Locale.ROOT, " acquire=%.3f ms, execute=%.3f ms, mapping=%.3f ms", event.getAcquireNanos() / 1e6,
+				event.getExecuteNanos() / 1e6, event.getMappingNanos() / 1e6));
+		
+		StackTraceElement caller = callerFrame();
+		
+		if(caller != null)
+			builder.append(" at ").append(caller);
+		
+		if(event.getError() != null)
+			builder.append(" error: ").append(event.getError());
+		
+		return builder.toString();
+		
+	}
+	
+	/**
+	 * Ermittelt die erste Stelle des Aufrufstapels auerhalb dieser Bibliothek und der Klassen des JDK, d. h. die Stelle, von welcher die
+	 * Operation aufgerufen wurde. Bei asynchronen Operationen ist dies die Stelle innerhalb des ausfhrenden Threads.
+	 * @return Die Stelle oder null, falls keine solche Stelle gefunden wurde.
+	 */
+	private static StackTraceElement callerFrame() {
+		
+		for(StackTraceElement frame : new Throwable().getStackTrace()) {
+			
+			String className = frame.getClassName();
+			
+			if(className.startsWith(PACKAGE_PREFIX) || className.startsWith("java.") || className.startsWith("javax.")
+					|| className.startsWith("jdk.") || className.startsWith("sun."))
+				continue;
+			
+			return frame;
+			
+		}
+		
+		return null;
+		
+	}
+	
+}
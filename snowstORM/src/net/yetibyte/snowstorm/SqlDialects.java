@@ -0,0 +1,133 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Die vom DatabaseAccessor unterschiedenen SQL-Dialekte. Diese werden lediglich fr dialektspezifische Zustze wie die
+ * Beschrnkung der Anzahl abgerufener Datenstze bentigt.
+ * @author Alexander Herrfurth
+ *
+ */
+public enum SqlDialects {
+	
+	Generic,
+	MySql,
+	PostgreSql,
+	H2,
+	HSQLDB,
+	SQLite,
+	Oracle,
+	DB2,
+	Derby,
+	SqlServer;
+	
+	// Constants
+	
+	private static final Pattern LOCKING_CLAUSE = Pattern.compile("\\bFOR\\s+(UPDATE|SHARE|NO\\s+KEY\\s+UPDATE|KEY\\s+SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b|\\bWITH\\s*\\(",
+			Pattern.CASE_INSENSITIVE);
+	
+	// Methods
+	
+	/**
+	 * Liefert den Zusatz, welcher an eine SELECT-Anweisung angehngt wird, um die Anzahl der Datenstze zu beschrnken.
+	 * @param rowLimit Die maximale Anzahl von Datenstzen.
+	 * @return Der Zusatz inklusive fhrendem Leerzeichen oder ein leerer String, falls der Dialekt keinen solchen Zusatz untersttzt.
+	 */
+	public String rowLimitClause(int rowLimit) {
+		
+		switch(this) {
+			
+			case MySql:
+			case PostgreSql:
+			case H2:
+			case HSQLDB:
+			case SQLite:
+				return " LIMIT " + rowLimit;
+			case Oracle:
+			case DB2:
+			case Derby:
+				return " FETCH FIRST " + rowLimit + " ROWS ONLY";
+			default:
+				return "";
+			
+		}
+		
+	}
+	
+	/**
+	 * Bestimmt den Dialekt anhand des von DatabaseMetaData gelieferten Produktnamens.
+	 * @param productName Der Name des Datenbankprodukts.
+	 * @return Der passende Dialekt oder Generic, falls der Name unbekannt ist.
+	 */
+	public static SqlDialects fromProductName(String productName) {
+		
+		if(productName == null)
+			return Generic;
+		
+		String name = productName.toLowerCase(Locale.ROOT);
+		
+		if(name.contains("mysql") || name.contains("mariadb"))
+			return MySql;
+		if(name.contains("postgres"))
+			return PostgreSql;
+		if(name.equals("h2"))
+			return H2;
+		if(name.contains("hsql"))
+			return HSQLDB;
+		if(name.contains("sqlite"))
+			return SQLite;
+		if(name.contains("oracle"))
+			return Oracle;
+		if(name.startsWith("db2"))
+			return DB2;
+		if(name.contains("derby"))
+			return Derby;
+		if(name.contains("sql server"))
+			return SqlServer;
+		
+		return Generic;
+		
+	}
+	
+	/**
+	 * Prft, ob die bergebene Where-Klausel bereits eine Beschrnkung der Datenstze enthlt, an welche kein weiterer Zusatz angehngt werden darf.
+	 * @param whereClause Die zu prfende Where-Klausel oder null.
+	 * @return true, falls die Where-Klausel LIMIT, FETCH FIRST oder OFFSET enthlt.
+	 */
+	public static boolean hasRowLimit(String whereClause) {
+		
+		if(whereClause == null)
+			return false;
+		
+		String clause = whereClause.toUpperCase(Locale.ROOT);
+		
+		return clause.contains(" LIMIT ") || clause.contains("FETCH FIRST") || clause.contains("FETCH NEXT") || clause.contains(" OFFSET ");
+		
+	}
+	
+	/**
+	 * Prft, ob die bergebene Where-Klausel eine Sperranweisung wie FOR UPDATE, FOR SHARE, LOCK IN SHARE MODE oder einen Tabellenhinweis
+	 * WITH (...) enthlt. Ein an eine solche Klausel angehngter Zusatz zur Beschrnkung der Datenstze ergbe eine ungltige SQL-Anweisung.
+	 * @param whereClause Die zu prfende Where-Klausel oder null.
+	 * @return true, falls die Where-Klausel eine Sperranweisung enthlt.
+	 */
+	public static boolean hasLockingClause(String whereClause) {
+		
+		return whereClause != null && LOCKING_CLAUSE.matcher(whereClause).find();
+		
+	}
+	
+	/**
+	 * Prft, ob an die bergebene Where-Klausel ein Zusatz zur Beschrnkung der Datenstze angehngt werden darf. Ist dies nicht der Fall, so
+	 * wird die Anzahl der Datenstze lediglich ber Statement.setMaxRows beschrnkt.
+	 * @param whereClause Die zu prfende Where-Klausel oder null.
+	 * @return false, falls die Where-Klausel bereits eine Beschrnkung oder eine Sperranweisung enthlt.
+	 */
+	public static boolean acceptsRowLimit(String whereClause) {
+		
+		return !hasRowLimit(whereClause) && !hasLockingClause(whereClause);
+		
+	}
+	
+}
@@ -0,0 +1,10 @@
+package net.yetibyte.snowstorm;
+
+public enum SqlOperations {
+	
+	Select,
+	Insert,
+	Update,
+	Delete
+	
+}
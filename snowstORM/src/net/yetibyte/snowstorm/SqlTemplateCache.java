@@ -0,0 +1,413 @@
+package net.yetibyte.snowstorm;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Threadsicherer, in seiner Gre beschrnkter Zwischenspeicher fr die vom DatabaseAccessor erzeugten SQL-Anweisungen.
+ * Wiederholte Aufrufe mit identischem Datenbank-Objekt, identischen Spalten und identischer Where-Klausel erhalten dieselbe
+ * String-Instanz, ohne dass die Anweisung erneut zusammengesetzt werden muss.
+ * @author Alexander Herrfurth
+ *
+ */
+public class SqlTemplateCache {
+	
+	// Constants
+	
+	public static final int DEFAULT_CAPACITY = 1024;
+	
+	// Fields
+	
+	private final ConcurrentMap<Key, String> _templates = new ConcurrentHashMap<Key, String>();
+	private final int _capacity;
+	
+	// Constructors
+	
+	public SqlTemplateCache() {
+		
+		this(DEFAULT_CAPACITY);
+		
+	}
+	
+	/**
+	 * Erzeugt einen neuen Zwischenspeicher.
+	 * @param capacity Die maximale Anzahl zwischengespeicherter Anweisungen. Bei berschreitung werden ltere Eintrge verworfen.
+	 */
+	public SqlTemplateCache(int capacity) {
+		
+		_capacity = Math.max(1, capacity);
+		
+	}
+	
+	// Getters / Setters
+	
+	public int getCapacity() {
+		return _capacity;
+	}
+	
+	public int size() {
+		return _templates.size();
+	}
+	
+	// Methods
+	
+	public void clear() {
+		
+		_templates.clear();
+		
+	}
+	
+	/**
+	 * Liefert eine SELECT-Anweisung.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param tableName Der Name der Tabelle.
+	 * @param columnNames Die auszulesenden Spalten. Wird null oder ein leeres Array bergeben, werden alle Spalten ausgelesen.
+	 * @param distinct Gibt an, ob SELECT DISTINCT verwendet werden soll.
+	 * @param joins Die anzuwendenden Joins oder null.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @return Die SQL-Anweisung oder null, falls ein Spaltenname oder Join ungltig ist.
+	 */
+	public String select(Class<?> entityType, String tableName, String[] columnNames, boolean distinct, Collection<Join> joins, String whereClause) {
+		
+		return select(entityType, tableName, columnNames, distinct, joins, whereClause, 0, null);
+		
+	}
+	
+	/**
+	 * Liefert eine SELECT-Anweisung, welche hchstens die angegebene Anzahl von Datenstzen abruft.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param tableName Der Name der Tabelle.
+	 * @param columnNames Die auszulesenden Spalten. Wird null oder ein leeres Array bergeben, werden alle Spalten ausgelesen.
+	 * @param distinct Gibt an, ob SELECT DISTINCT verwendet werden soll.
+	 * @param joins Die anzuwendenden Joins oder null.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @param rowLimit Die maximale Anzahl von Datenstzen. Bei 0 wird keine Beschrnkung angehngt.
+	 * @param dialect Der Dialekt, nach welchem die Beschrnkung formuliert wird, oder null.
+	 * @return Die SQL-Anweisung oder null, falls ein Spaltenname oder Join ungltig ist.
+	 */
+	public String select(Class<?> entityType, String tableName, String[] columnNames, boolean distinct, Collection<Join> joins, String whereClause, int rowLimit, SqlDialects dialect) {
+		
+		if(rowLimit <= 0 || dialect == null)
+			rowLimit = 0;
+		
+		Join[] joinArray = joins != null ? joins.toArray(new Join[joins.size()]) : null;
+		Key key = new Key(SqlOperations.Select, entityType, tableName, columnNames, distinct, joinArray, whereClause, rowLimit, rowLimit > 0 ? dialect : null);
+		
+		String sql = _templates.get(key);
+		
+		if(sql != null)
+			return sql;
+		
+		String[] colNames = columnNames != null ? columnNames : new String[0];
+		
+		StringBuilder colBuilder = new StringBuilder(colNames.length > 0 ? "" : "*");
+		
+		for(int i = 0; i < colNames.length; i++) {
+			
+			if(!DatasetAttributes.isSafeAttributeName(colNames[i]))
+				return null;
+			
+			colBuilder.append(colNames[i]);
+			
+			if(i < colNames.length-1)
+				colBuilder.append(", ");
+			
+		}
+		
+		String joinClause = "";
+		
+		if(joinArray != null) {
+			
+			StringBuilder joinBuilder = new StringBuilder(" ");
+			
+			for(Join join : joinArray) {
+				
+				if(join == null || !join.isValid())
+					return null;
+				
+				joinBuilder.append(join.getClause()).append(' ');
+				
+			}
+			
+			joinClause = joinBuilder.toString();
+			
+		}
+		
+		sql = "SELECT " + (distinct ? " DISTINCT " : "") + colBuilder.toString() + " FROM " + tableName + joinClause + " " + (whereClause != null ? "WHERE " + whereClause : "");
+		
+		if(rowLimit > 0)
+			sql += dialect.rowLimitClause(rowLimit);
+		
+		return store(key.snapshot(), sql);
+		
+	}
+	
+	/**
+	 * Liefert eine INSERT-Anweisung, welche fr jede Spalte einen Platzhalter enthlt.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param tableName Der Name der Tabelle.
+	 * @param columnNames Die zu beschreibenden Spalten in der Reihenfolge der zu bindenden Werte.
+	 * @return Die SQL-Anweisung oder null, falls ein Spaltenname ungltig ist.
+	 */
+	public String insert(Class<?> entityType, String tableName, String[] columnNames) {
+		
+		Key key = new Key(SqlOperations.Insert, entityType, tableName, columnNames, false, null, null, 0, null);
+		
+		String sql = _templates.get(key);
+		
+		if(sql != null)
+			return sql;
+		
+		if(columnNames == null || columnNames.length == 0)
+			return null;
+		
+		StringBuilder columnBuilder = new StringBuilder();
+		StringBuilder valueBuilder = new StringBuilder();
+		
+		for(int i = 0; i < columnNames.length; i++) {
+			
+			if(!DatasetAttributes.isSafeAttributeName(columnNames[i]))
+				return null;
+			
+			columnBuilder.append(columnNames[i]);
+			valueBuilder.append("?");
+			
+			if(i < columnNames.length - 1) {
+				
+				columnBuilder.append(", ");
+				valueBuilder.append(", ");
+				
+			}
+			
+		}
+		
+		StringBuilder builder = new StringBuilder();
+		
+		builder.append("INSERT INTO " + tableName + " (");
+		builder.append(columnBuilder);
+		builder.append(") VALUES (");
+		builder.append(valueBuilder);
+		builder.append(')');
+		
+		return store(key.snapshot(), builder.toString());
+		
+	}
+	
+	/**
+	 * Liefert eine UPDATE-Anweisung, welche fr jede Spalte einen Platzhalter enthlt.
+	 * @param entityType Die Klasse des Datenbank-Objekts.
+	 * @param tableName Der Name der Tabelle.
+	 * @param columnNames Die zu aktualisierenden Spalten in der Reihenfolge der zu bindenden Werte.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @return Die SQL-Anweisung oder null, falls ein Spaltenname ungltig ist.
+	 */
+	public String update(Class<?> entityType, String tableName, String[] columnNames, String whereClause) {
+		
+		Key key = new Key(SqlOperations.Update, entityType, tableName, columnNames, false, null, whereClause, 0, null);
+		
+		String sql = _templates.get(key);
+		
+		if(sql != null)
+			return sql;
+		
+		if(columnNames == null || columnNames.length == 0)
+			return null;
+		
+		StringBuilder setBuilder = new StringBuilder();
+		setBuilder.append("SET ");
+		
+		for(int i = 0; i < columnNames.length; i++) {
+			
+			if(!DatasetAttributes.isSafeAttributeName(columnNames[i]))
+				return null;
+			
+			setBuilder.append(columnNames[i]).append("= ?");
+			
+			if(i < columnNames.length - 1)
+				setBuilder.append(", ");
+			
+		}
+		
+		StringBuilder builder = new StringBuilder();
+		
+		builder.append("UPDATE " + tableName + " ");
+		builder.append(setBuilder);
+		
+		if(whereClause != null)
+			builder.append(" WHERE " + whereClause);
+		
+		return store(key.snapshot(), builder.toString());
+		
+	}
+	
+	/**
+	 * Liefert eine DELETE-Anweisung.
+	 * @param tableName Der Name der Tabelle.
+	 * @param whereClause Die anzuwendende Where-Klausel oder null.
+	 * @return Die SQL-Anweisung.
+	 */
+	public String delete(String tableName, String whereClause) {
+		
+		Key key = new Key(SqlOperations.Delete, null, tableName, null, false, null, whereClause, 0, null);
+		
+		String sql = _templates.get(key);
+		
+		if(sql != null)
+			return sql;
+		
+		return store(key, "DELETE FROM " + tableName + (whereClause != null ? (" WHERE " + whereClause) : ""));
+		
+	}
+	
+	/**
+	 * Liefert eine DELETE-Anweisung, welche alle Datenstze lscht, deren Schlsselspalte einem von mehreren Werten entspricht.
+	 * @param tableName Der Name der Tabelle.
+	 * @param keyColumn Der Name der Schlsselspalte.
+	 * @param keyCount Die Anzahl der Platzhalter in der IN-Liste.
+	 * @return Die SQL-Anweisung oder null, falls der Spaltenname ungltig ist.
+	 */
+	public String deleteIn(String tableName, String keyColumn, int keyCount) {
+		
+		Key key = new Key(SqlOperations.Delete, null, tableName, new String[] { keyColumn }, false, null, null, keyCount, null);
+		
+		String sql = _templates.get(key);
+		
+		if(sql != null)
+			return sql;
+		
+		if(keyCount <= 0 || !DatasetAttributes.isSafeAttributeName(keyColumn))
+			return null;
+		
+		StringBuilder builder = new StringBuilder();
+		
+		builder.append("DELETE FROM " + tableName + " WHERE " + keyColumn + " IN (");
+		
+		for(int i = 0; i < keyCount; i++)
+			builder.append(i > 0 ? ", ?" : "?");
+		
+		builder.append(')');
+		
+		return store(key, builder.toString());
+		
+	}
+	
+	private String store(Key key, String sql) {
+		
+		if(_templates.size() >= _capacity) {
+			
+			Iterator<Key> iterator = _templates.keySet().iterator();
+			
+			if(iterator.hasNext()) {
+				
+				iterator.next();
+				iterator.remove();
+				
+			}
+			
+		}
+		
+		String existing = _templates.putIfAbsent(key, sql);
+		
+		return existing != null ? existing : sql;
+		
+	}
+	
+	// Nested Types
+	
+	private static final class Key {
+		
+		private final SqlOperations _operation;
+		private final Class<?> _entityType;
+		private final String _tableName;
+		private final String[] _columnNames;
+		private final boolean _distinct;
+		private final Join[] _joins;
+		private final String _whereClause;
+		private final int _parameterCount;
+		private final SqlDialects _dialect;
+		private final int _hash;
+		
+		Key(SqlOperations operation, Class<?> entityType, String tableName, String[] columnNames, boolean distinct, Join[] joins, String whereClause, int parameterCount, SqlDialects dialect) {
+			
+			_operation = operation;
+			_entityType = entityType;
+			_tableName = tableName;
+			_columnNames = columnNames;
+			_distinct = distinct;
+			_joins = joins;
+			_whereClause = whereClause;
+			_parameterCount = parameterCount;
+			_dialect = dialect;
+			
+			int hash = operation.hashCode();
+			hash = 31 * hash + Objects.hashCode(entityType);
+			hash = 31 * hash + Objects.hashCode(tableName);
+			hash = 31 * hash + Arrays.hashCode(columnNames);
+			hash = 31 * hash + (distinct ? 1 : 0);
+			hash = 31 * hash + Arrays.hashCode(joins);
+			hash = 31 * hash + Objects.hashCode(whereClause);
+			hash = 31 * hash + parameterCount;
+			hash = 31 * hash + Objects.hashCode(dialect);
+			
+			_hash = hash;
+			
+		}
+		
+		/**
+		 * Erzeugt eine Kopie dieses Schlssels, welche nicht mehr von vernderlichen Arrays und Joins des Aufrufers abhngt.
+		 */
+		Key snapshot() {
+			
+			Join[] joins = null;
+			
+			if(_joins != null) {
+				
+				joins = new Join[_joins.length];
+				
+				for(int i = 0; i < joins.length; i++)
+					joins[i] = new Join(_joins[i]);
+				
+			}
+			
+			return new Key(_operation, _entityType, _tableName, _columnNames != null ? _columnNames.clone() : null, _distinct, joins, _whereClause, _parameterCount, _dialect);
+			
+		}
+		
+		@Override
+		public int hashCode() {
+			
+			return _hash;
+			
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			
+			if(this == obj)
+				return true;
+			
+			if(!(obj instanceof Key))
+				return false;
+			
+			Key other = (Key)obj;
+			
+			return _hash == other._hash
+					&& _operation == other._operation
+					&& _distinct == other._distinct
+					&& _parameterCount == other._parameterCount
+					&& _dialect == other._dialect
+					&& _entityType == other._entityType
+					&& Objects.equals(_tableName, other._tableName)
+					&& Objects.equals(_whereClause, other._whereClause)
+					&& Arrays.equals(_columnNames, other._columnNames)
+					&& Arrays.equals(_joins, other._joins);
+			
+		}
+		
+	}
+	
+}
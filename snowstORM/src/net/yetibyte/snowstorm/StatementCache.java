@@ -0,0 +1,132 @@
+package net.yetibyte.snowstorm;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In seiner Gre beschrnkter Zwischenspeicher fr die PreparedStatements einer einzelnen Datenbankverbindung. Freigegebene Anweisungen
+ * werden anhand ihres SQL-Textes vorgehalten und bei erneuter Anforderung wiederverwendet. Wird die Kapazitt berschritten, so wird
+ * die am lngsten nicht verwendete Anweisung geschlossen. Eine Anweisung, welche sich noch in Verwendung befindet, wird niemals
+ * ein zweites Mal herausgegeben; in diesem Fall wird eine zustzliche Anweisung vorbereitet.
+ * Instanzen sind nicht threadsicher.
+ * @author Alexander Herrfurth
+ *
+ */
+class StatementCache {
+	
+	// Fields
+	
+	private final Connection _connection;
+	private final int _capacity;
+	
+	private final LinkedHashMap<String, PreparedStatement> _idleStatements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true);
+	private final Map<PreparedStatement, String> _usedStatements = new IdentityHashMap<PreparedStatement, String>();
+	
+	// Constructors
+	
+	StatementCache(Connection connection, int capacity) {
+		
+		_connection = connection;
+		_capacity = Math.max(1, capacity);
+		
+	}
+	
+	// Getters / Setters
+	
+	public int getCapacity() {
+		return _capacity;
+	}
+	
+	public int size() {
+		return _idleStatements.size();
+	}
+	
+	// Methods
+	
+	PreparedStatement prepare(String sql) throws SQLException {
+		
+		PreparedStatement statement = _idleStatements.remove(sql);
+		
+		if(statement == null || statement.isClosed())
+			statement = _connection.prepareStatement(sql);
+		
+		_usedStatements.put(statement, sql);
+		
+		return statement;
+		
+	}
+	
+	void release(PreparedStatement statement) {
+		
+		String sql = _usedStatements.remove(statement);
+		
+		if(sql == null || _idleStatements.containsKey(sql)) {
+			
+			closeQuietly(statement);
+			return;
+			
+		}
+		
+		try {
+			
+			statement.clearParameters();
+			
+			if(statement.getMaxRows() != 0)
+				statement.setMaxRows(0);
+			
+			// Eine beim Streamen gesetzte Fetch-Gre darf nicht fr sptere Abfragen mit derselben Anweisung gelten.
+			if(statement.getFetchSize() != 0)
+				statement.setFetchSize(0);
+			
+		}
+		catch(Exception e) {
+			
+			closeQuietly(statement);
+			return;
+			
+		}
+		
+		_idleStatements.put(sql, statement);
+		
+		if(_idleStatements.size() > _capacity) {
+			
+			Iterator<PreparedStatement> iterator = _idleStatements.values().iterator();
+			
+			closeQuietly(iterator.next());
+			iterator.remove();
+			
+		}
+		
+	}
+	
+	/**
+	 * Schliet alle vorgehaltenen sowie alle noch in Verwendung befindlichen Anweisungen.
+	 */
+	void close() {
+		
+		List<PreparedStatement> statements = new ArrayList<PreparedStatement>(_idleStatements.values());
+		statements.addAll(_usedStatements.keySet());
+		
+		_idleStatements.clear();
+		_usedStatements.clear();
+		
+		for(PreparedStatement statement : statements)
+			closeQuietly(statement);
+		
+	}
+	
+	private static void closeQuietly(PreparedStatement statement) {
+		
+		try { statement.close(); }
+		catch(Exception e) { }
+		
+	}
+	
+}
@@ -14,4 +14,18 @@ public @interface TableAttribute {
 	
 	public boolean readonly() default false;
 	
+	/**
+	 * Kennzeichnet die Spalte als Primrschlssel des Datenbank-Objekts. ber diesen Schlssel werden Instanzen innerhalb einer
+	 * DatabaseSession eindeutig identifiziert. Pro Klasse wird nur das erste so gekennzeichnete Attribut bercksichtigt.
+	 * @return True, falls die Spalte den Primrschlssel enthlt.
+	 */
+	public boolean primaryKey() default false;
+	
+	/**
+	 * Legt die Position der Spalte in den generierten SQL-Anweisungen fest. Attribute ohne explizite Angabe folgen in der Reihenfolge
+	 * ihrer Deklaration auf alle Attribute mit expliziter Angabe.
+	 * @return Die Position der Spalte.
+	 */
+	public int ordinal() default Integer.MAX_VALUE;
+	
 }
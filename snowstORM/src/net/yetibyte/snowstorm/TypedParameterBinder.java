@@ -0,0 +1,75 @@
+package net.yetibyte.snowstorm;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Standard-Implementierung von IParameterBinder. Bindet jeden Wert mit dem zu seinem Java-Typ passenden Setter des PreparedStatement
+ * (z. B. setLong oder setTimestamp), sodass die Datenbank keine impliziten Typumwandlungen vornehmen muss.
+ * Werte vom Typ IDatasetAttribute werden ber deren attributeValue gebunden, Enums ber ihren Namen.
+ * Unbekannte Typen werden an setObject bergeben.
+ * @author Alexander Herrfurth
+ *
+ */
+public class TypedParameterBinder implements IParameterBinder {
+	
+	// Methods
+	
+	@Override
+	public void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+		
+		if(value instanceof IDatasetAttribute)
+			value = ((IDatasetAttribute)value).attributeValue();
+		
+		if(value == null)
+			statement.setObject(index, null);
+		else if(value instanceof String)
+			statement.setString(index, (String)value);
+		else if(value instanceof Integer)
+			statement.setInt(index, (Integer)value);
+		else if(value instanceof Long)
+			statement.setLong(index, (Long)value);
+		else if(value instanceof Short)
+			statement.setShort(index, (Short)value);
+		else if(value instanceof Byte)
+			statement.setByte(index, (Byte)value);
+		else if(value instanceof Boolean)
+			statement.setBoolean(index, (Boolean)value);
+		else if(value instanceof Double)
+			statement.setDouble(index, (Double)value);
+		else if(value instanceof Float)
+			statement.setFloat(index, (Float)value);
+		else if(value instanceof BigDecimal)
+			statement.setBigDecimal(index, (BigDecimal)value);
+		else if(value instanceof Timestamp)
+			statement.setTimestamp(index, (Timestamp)value);
+		else if(value instanceof java.sql.Date)
+			statement.setDate(index, (java.sql.Date)value);
+		else if(value instanceof java.sql.Time)
+			statement.setTime(index, (java.sql.Time)value);
+		else if(value instanceof java.util.Date)
+			statement.setTimestamp(index, new Timestamp(((java.util.Date)value).getTime()));
+		else if(value instanceof LocalDateTime)
+			statement.setTimestamp(index, Timestamp.valueOf((LocalDateTime)value));
+		else if(value instanceof LocalDate)
+			statement.setDate(index, java.sql.Date.valueOf((LocalDate)value));
+		else if(value instanceof LocalTime)
+			statement.setTime(index, java.sql.Time.valueOf((LocalTime)value));
+		else if(value instanceof Instant)
+			statement.setTimestamp(index, Timestamp.from((Instant)value));
+		else if(value instanceof byte[])
+			statement.setBytes(index, (byte[])value);
+		else if(value instanceof Enum<?>)
+			statement.setString(index, ((Enum<?>)value).name());
+		else
+			statement.setObject(index, value);
+		
+	}
+	
+}
@@ -0,0 +1,80 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Prft die Aufteilung und das Auffllen der IN-Listen von DatabaseAccessor.deleteAll.
+ * @author Alexander Herrfurth
+ *
+ */
+public class DeleteAllTest {
+	
+	// Fields
+	
+	private FakeDatabase _database;
+	private DatabaseAccessor _accessor;
+	
+	// Methods
+	
+	@Before
+	public void setUp() {
+		
+		_database = new FakeDatabase();
+		_accessor = new DatabaseAccessor(_database.getDataSource());
+		
+	}
+	
+	@Test
+	public void padsInListToNextPowerOfTwoWithLastKey() {
+		
+		assertEquals(1, _accessor.deleteAll("t", "id", Arrays.asList(1, 2, 3)));
+		assertEquals(Arrays.asList("DELETE FROM t WHERE id IN (?, ?, ?, ?) [1, 2, 3, 3]"), _database.entries("DELETE"));
+		
+	}
+	
+	@Test
+	public void splitsKeysIntoChunksOfMaxInListSize() {
+		
+		_accessor.setMaxInListSize(4);
+		
+		assertEquals(2, _accessor.deleteAll("t", "id", Arrays.asList(1, 2, 3, 4, 5, 6, 7)));
+		assertEquals(Arrays.asList("DELETE FROM t WHERE id IN (?, ?, ?, ?) [1, 2, 3, 4]", "DELETE FROM t WHERE id IN (?, ?, ?, ?) [5, 6, 7, 7]"),
+				_database.entries("DELETE"));
+		assertEquals(Arrays.asList("COMMIT"), _database.entries("COMMIT"));
+		
+	}
+	
+	@Test
+	public void neverPadsBeyondMaxInListSize() {
+		
+		_accessor.setMaxInListSize(6);
+		
+		_accessor.deleteAll("t", "id", Arrays.asList(1, 2, 3, 4, 5));
+		assertEquals(Arrays.asList("DELETE FROM t WHERE id IN (?, ?, ?, ?, ?, ?) [1, 2, 3, 4, 5, 5]"), _database.entries("DELETE"));
+		
+	}
+	
+	@Test
+	public void singleKeyNeedsNoPadding() {
+		
+		_accessor.deleteAll("t", "id", Collections.singleton("a"));
+		assertEquals(Arrays.asList("DELETE FROM t WHERE id IN (?) [a]"), _database.entries("DELETE"));
+		
+	}
+	
+	@Test
+	public void rejectsUnsafeKeyColumnAndAcceptsEmptyKeys() {
+		
+		assertEquals(-1, _accessor.deleteAll("t", "id; DROP TABLE t", Arrays.asList(1)));
+		assertEquals(0, _accessor.deleteAll("t", "id", Collections.emptyList()));
+		assertEquals(0, _database.entries("DELETE").size());
+		
+	}
+	
+}
@@ -0,0 +1,139 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Prft autoupdateDirty in Verbindung mit den Transaktionen einer DatabaseSession. Die innerhalb einer Session aktualisierten Schnappschsse
+ * drfen erst mit commit fr den DatabaseAccessor gelten.
+ * @author Alexander Herrfurth
+ *
+ */
+public class DirtyTrackingTest {
+	
+	// Fields
+	
+	private FakeDatabase _database;
+	private DatabaseAccessor _accessor;
+	private Item _item;
+	
+	// Methods
+	
+	@Before
+	public void setUp() {
+		
+		_database = new FakeDatabase();
+		_database.addRow("id", 1L, "name", "a");
+		
+		_accessor = new DatabaseAccessor(_database.getDataSource());
+		_accessor.setDirtyTracking(true);
+		
+		_item = _accessor.autofetch(Item::new).get(0);
+		
+	}
+	
+	@Test
+	public void writesOnlyChangedColumnsOnce() {
+		
+		assertEquals(0, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		
+		_item.name = "b";
+		
+		assertEquals(1, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		assertEquals(0, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		assertEquals(1, _database.entries("UPDATE").size());
+		assertEquals("UPDATE items SET name= ? WHERE id = ? [b, 1]", _database.entries("UPDATE").get(0));
+		
+	}
+	
+	@Test
+	public void rollbackKeepsChangesDirty() {
+		
+		_item.name = "b";
+		
+		try(DatabaseSession session = _accessor.openSession()) {
+			
+			assertEquals(1, session.autoupdateDirty(_item, "id = ?", 1L));
+			assertEquals(0, session.autoupdateDirty(_item, "id = ?", 1L));
+			
+			session.rollback();
+			
+		}
+		
+		assertEquals(1, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		assertEquals(2, _database.entries("UPDATE").size());
+		
+	}
+	
+	@Test
+	public void closeWithoutCommitKeepsChangesDirty() {
+		
+		_item.name = "b";
+		
+		try(DatabaseSession session = _accessor.openSession()) {
+			session.autoupdateDirty(_item, "id = ?", 1L);
+		}
+		
+		assertEquals(1, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		
+	}
+	
+	@Test
+	public void commitPublishesSnapshots() {
+		
+		_item.name = "b";
+		
+		try(DatabaseSession session = _accessor.openSession()) {
+			
+			session.autoupdateDirty(_item, "id = ?", 1L);
+			session.commit();
+			
+		}
+		
+		assertEquals(0, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		assertEquals(1, _database.entries("UPDATE").size());
+		
+	}
+	
+	@Test
+	public void rollbackAfterCommitOnlyDiscardsLaterChanges() {
+		
+		try(DatabaseSession session = _accessor.openSession()) {
+			
+			_item.name = "b";
+			session.autoupdateDirty(_item, "id = ?", 1L);
+			session.commit();
+			
+			_item.name = "c";
+			session.autoupdateDirty(_item, "id = ?", 1L);
+			session.rollback();
+			
+		}
+		
+		_database.clearLog();
+		
+		assertEquals(1, _accessor.autoupdateDirty(_item, "id = ?", 1L));
+		assertEquals("UPDATE items SET name= ? WHERE id = ? [c, 1]", _database.entries("UPDATE").get(0));
+		
+	}
+	
+	// Nested Types
+	
+	public static class Item implements IDatabaseObj {
+		
+		@TableAttribute(column = "id")
+		long id;
+		
+		@TableAttribute(column = "name")
+		String name;
+		
+		@Override
+		public String getTableName() {
+			return "items";
+		}
+		
+	}
+	
+}
@@ -0,0 +1,432 @@
+package net.yetibyte.snowstorm;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource fr Tests, welche keine Datenbank bentigt. Alle Abfragen liefern die mittels addRow hinterlegten Datenstze, alle
+ * Aktualisierungen betreffen genau einen Datensatz. Ausgefhrte Anweisungen werden zusammen mit ihren Parametern protokolliert.
+ * @author Alexander Herrfurth
+ *
+ */
+final class FakeDatabase {
+	
+	// Fields
+	
+	private final List<Map<String, Object>> _rows = new ArrayList<Map<String, Object>>();
+	private final List<String> _log = Collections.synchronizedList(new ArrayList<String>());
+	
+	private volatile String _productName = "H2";
+	
+	// Getters / Setters
+	
+	DataSource getDataSource() {
+		return proxy(DataSource.class, new DataSourceHandler());
+	}
+	
+	/**
+	 * @return Die ausgefhrten Anweisungen und Transaktionsbefehle in der Reihenfolge ihrer Ausfhrung, z. B. "UPDATE t SET a= ? [w]".
+	 */
+	List<String> getLog() {
+		
+		synchronized(_log) {
+			return new ArrayList<String>(_log);
+		}
+		
+	}
+	
+	void setProductName(String productName) {
+		_productName = productName;
+	}
+	
+	// Methods
+	
+	/**
+	 * Hinterlegt einen Datensatz, welcher von allen folgenden Abfragen geliefert wird.
+	 * @param labelsAndValues Abwechselnd Spaltenname und Wert.
+	 */
+	void addRow(Object... labelsAndValues) {
+		
+		Map<String, Object> row = new LinkedHashMap<String, Object>();
+		
+		for(int i = 0; i + 1 < labelsAndValues.length; i += 2)
+			row.put((String)labelsAndValues[i], labelsAndValues[i + 1]);
+		
+		synchronized(_rows) {
+			_rows.add(row);
+		}
+		
+	}
+	
+	/**
+	 * @return Die protokollierten Eintrge, welche mit dem angegebenen Prfix beginnen.
+	 */
+	List<String> entries(String prefix) {
+		
+		List<String> entries = new ArrayList<String>();
+		
+		for(String entry : getLog()) {
+			
+			if(entry.startsWith(prefix))
+				entries.add(entry);
+			
+		}
+		
+		return entries;
+		
+	}
+	
+	void clearLog() {
+		
+		_log.clear();
+		
+	}
+	
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		
+		return type.cast(Proxy.newProxyInstance(FakeDatabase.class.getClassLoader(), new Class<?>[] { type }, handler));
+		
+	}
+	
+	private static Object objectMethod(Object proxy, Method method, Object[] args) {
+		
+		switch(method.getName()) {
+			
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return proxy.getClass().getInterfaces()[0].getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+			
+		}
+		
+		return defaultValue(method.getReturnType());
+		
+	}
+	
+	private static Object defaultValue(Class<?> type) {
+		
+		if(type == boolean.class)
+			return false;
+		
+		if(type == int.class)
+			return 0;
+		
+		if(type == long.class)
+			return 0L;
+		
+		if(type == double.class)
+			return 0d;
+		
+		if(type == float.class)
+			return 0f;
+		
+		if(type == short.class)
+			return (short)0;
+		
+		if(type == byte.class)
+			return (byte)0;
+		
+		return null;
+		
+	}
+	
+	private static Object convert(Object value, Class<?> type) {
+		
+		if(value == null)
+			return defaultValue(type);
+		
+		if(type == String.class)
+			return value.toString();
+		
+		if(value instanceof Number) {
+			
+			Number number = (Number)value;
+			
+			if(type == int.class || type == Integer.class)
+				return number.intValue();
+			
+			if(type == long.class || type == Long.class)
+				return number.longValue();
+			
+			if(type == double.class || type == Double.class)
+				return number.doubleValue();
+			
+			if(type == short.class || type == Short.class)
+				return number.shortValue();
+			
+		}
+		
+		return value;
+		
+	}
+	
+	// Nested Types
+	
+	private final class DataSourceHandler implements InvocationHandler {
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			if(method.getName().equals("getConnection"))
+				return proxy(Connection.class, new ConnectionHandler());
+			
+			return objectMethod(proxy, method, args);
+			
+		}
+		
+	}
+	
+	private final class ConnectionHandler implements InvocationHandler {
+		
+		private boolean _isAutoCommit = true;
+		private boolean _isClosed = false;
+		private int _savepointCount = 0;
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			switch(method.getName()) {
+				
+				case "prepareStatement":
+					return proxy(PreparedStatement.class, new StatementHandler((String)args[0], (Connection)proxy));
+				case "getAutoCommit":
+					return _isAutoCommit;
+				case "setAutoCommit":
+					_isAutoCommit = (Boolean)args[0];
+					return null;
+				case "commit":
+					_log.add("COMMIT");
+					return null;
+				case "rollback":
+					_log.add(args == null ? "ROLLBACK" : "ROLLBACK TO " + ((Savepoint)args[0]).getSavepointId());
+					return null;
+				case "setSavepoint":
+					return savepoint(++_savepointCount);
+				case "releaseSavepoint":
+					_log.add("RELEASE " + ((Savepoint)args[0]).getSavepointId());
+					return null;
+				case "getMetaData":
+					return proxy(DatabaseMetaData.class, new MetaDataHandler());
+				case "close":
+					_isClosed = true;
+					return null;
+				case "isClosed":
+					return _isClosed;
+				
+			}
+			
+			return objectMethod(proxy, method, args);
+			
+		}
+		
+		private Savepoint savepoint(int id) {
+			
+			return proxy(Savepoint.class, (proxy, method, args) -> method.getName().equals("getSavepointId") ? id : objectMethod(proxy, method, args));
+			
+		}
+		
+	}
+	
+	private final class MetaDataHandler implements InvocationHandler {
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			if(method.getName().equals("getDatabaseProductName"))
+				return _productName;
+			
+			if(method.getName().equals("supportsSavepoints"))
+				return true;
+			
+			return objectMethod(proxy, method, args);
+			
+		}
+		
+	}
+	
+	private final class StatementHandler implements InvocationHandler {
+		
+		private final String _sql;
+		private final Connection _connection;
+		private final Map<Integer, Object> _params = new TreeMap<Integer, Object>();
+		private final List<String> _batch = new ArrayList<String>();
+		
+		private int _maxRows = 0;
+		private int _fetchSize = 0;
+		private boolean _isClosed = false;
+		
+		StatementHandler(String sql, Connection connection) {
+			
+			_sql = sql;
+			_connection = connection;
+			
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			String name = method.getName();
+			
+			if(name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+				
+				_params.put((Integer)args[0], name.equals("setNull") ? null : args[1]);
+				return null;
+				
+			}
+			
+			switch(name) {
+				
+				case "executeQuery":
+					
+					_log.add(_sql + " " + _params.values());
+					
+					synchronized(_rows) {
+						return proxy(ResultSet.class, new ResultSetHandler(new ArrayList<Map<String, Object>>(_rows)));
+					}
+				
+				case "executeUpdate":
+					
+					_log.add(_sql + " " + _params.values());
+					return 1;
+				
+				case "addBatch":
+					
+					_batch.add(_params.values().toString());
+					return null;
+				
+				case "executeBatch":
+					
+					_log.add(_sql + " " + _batch);
+					
+					int[] results = new int[_batch.size()];
+					Arrays.fill(results, 1);
+					_batch.clear();
+					
+					return results;
+				
+				case "clearParameters":
+					
+					_params.clear();
+					return null;
+				
+				case "setMaxRows":
+					
+					_maxRows = (Integer)args[0];
+					return null;
+				
+				case "getMaxRows":
+					return _maxRows;
+				case "setFetchSize":
+					
+					_fetchSize = (Integer)args[0];
+					return null;
+				
+				case "getFetchSize":
+					return _fetchSize;
+				case "getConnection":
+					return _connection;
+				case "close":
+					
+					_isClosed = true;
+					return null;
+				
+				case "isClosed":
+					return _isClosed;
+				
+			}
+			
+			return objectMethod(proxy, method, args);
+			
+		}
+		
+	}
+	
+	private static final class ResultSetHandler implements InvocationHandler {
+		
+		private final List<Map<String, Object>> _data;
+		
+		private int _rowIndex = -1;
+		private Object _lastValue = null;
+		private boolean _isClosed = false;
+		
+		ResultSetHandler(List<Map<String, Object>> data) {
+			
+			_data = data;
+			
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			
+			String name = method.getName();
+			
+			switch(name) {
+				
+				case "next":
+					return ++_rowIndex < _data.size();
+				case "close":
+					
+					_isClosed = true;
+					return null;
+				
+				case "isClosed":
+					return _isClosed;
+				case "wasNull":
+					return _lastValue == null;
+				case "getMetaData":
+					
+					List<String> labels = _data.isEmpty() ? Collections.<String>emptyList() : new ArrayList<String>(_data.get(0).keySet());
+					
+					return proxy(ResultSetMetaData.class, (metaData, metaMethod, metaArgs) -> {
+						
+						if(metaMethod.getName().equals("getColumnCount"))
+							return labels.size();
+						
+						if(metaMethod.getName().startsWith("getColumn"))
+							return labels.get((Integer)metaArgs[0] - 1);
+						
+						return objectMethod(metaData, metaMethod, metaArgs);
+						
+					});
+				
+			}
+			
+			if(name.startsWith("get") && args != null && args.length >= 1 && (args[0] instanceof Integer || args[0] instanceof String)) {
+				
+				if(_rowIndex < 0 || _rowIndex >= _data.size())
+					throw new SQLException("The cursor is not positioned on a row.");
+				
+				Map<String, Object> row = _data.get(_rowIndex);
+				
+				_lastValue = args[0] instanceof Integer ? new ArrayList<Object>(row.values()).get((Integer)args[0] - 1) : row.get(args[0]);
+				
+				return convert(_lastValue, args.length == 2 && args[1] instanceof Class ? (Class<?>)args[1] : method.getReturnType());
+				
+			}
+			
+			return objectMethod(proxy, method, args);
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,100 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Prft die von autofetchPage erzeugten Bedingungen der Keyset-Paginierung und die Ermittlung des letzten Schlssels.
+ * @author Alexander Herrfurth
+ *
+ */
+public class FetchPageTest {
+	
+	// Fields
+	
+	private FakeDatabase _database;
+	private DatabaseAccessor _accessor;
+	
+	// Methods
+	
+	@Before
+	public void setUp() {
+		
+		_database = new FakeDatabase();
+		_accessor = new DatabaseAccessor(_database.getDataSource());
+		
+		_database.addRow("id", 1L, "name", "a");
+		_database.addRow("id", 2L, "name", "b");
+		_database.addRow("id", 2L, "name", "c");
+		
+	}
+	
+	@Test
+	public void firstPageOrdersByKeyAndFetchesOneExtraRow() {
+		
+		Page<Item> page = _accessor.autofetchPage(Item::new, "name <> ?", new String[] { "x" }, new String[] { "id", "name" }, null, 2);
+		
+		assertEquals(Arrays.asList("SELECT id, name FROM items WHERE (name <> ?) ORDER BY id, name LIMIT 3 [x]"), _database.entries("SELECT"));
+		assertEquals(2, page.size());
+		assertTrue(page.hasNextPage());
+		assertArrayEquals(new Object[] { 2L, "b" }, page.getLastKey());
+		
+	}
+	
+	@Test
+	public void followingPageSeeksPastLastKey() {
+		
+		Page<Item> page = _accessor.autofetchPage(Item::new, null, null, new String[] { "id", "name" }, new Object[] { 2L, "b" }, 5);
+		
+		assertEquals(Arrays.asList("SELECT id, name FROM items WHERE ((id > ?) OR (id = ? AND name > ?)) ORDER BY id, name LIMIT 6 [2, 2, b]"),
+				_database.entries("SELECT"));
+		assertEquals(3, page.size());
+		assertFalse(page.hasNextPage());
+		
+	}
+	
+	@Test
+	public void seekParametersFollowWhereParameters() {
+		
+		_accessor.autofetchPage(Item::new, "name <> ?", new String[] { "x" }, new String[] { "id" }, new Object[] { 7L }, 1);
+		
+		assertEquals(Arrays.asList("SELECT id, name FROM items WHERE (name <> ?) AND ((id > ?)) ORDER BY id LIMIT 2 [x, 7]"), _database.entries("SELECT"));
+		
+	}
+	
+	@Test
+	public void rejectsMismatchedOrUnsafeKeys() {
+		
+		assertNull(_accessor.autofetchPage(Item::new, null, null, new String[] { "id", "name" }, new Object[] { 2L }, 5));
+		assertNull(_accessor.autofetchPage(Item::new, null, null, new String[] { "id; --" }, null, 5));
+		assertNull(_accessor.autofetchPage(Item::new, null, null, new String[] { "id" }, null, 0));
+		assertEquals(0, _database.entries("SELECT").size());
+		
+	}
+	
+	// Nested Types
+	
+	public static class Item implements IDatabaseObj {
+		
+		@TableAttribute(column = "id")
+		long id;
+		
+		@TableAttribute(column = "name")
+		String name;
+		
+		@Override
+		public String getTableName() {
+			return "items";
+		}
+		
+	}
+	
+}
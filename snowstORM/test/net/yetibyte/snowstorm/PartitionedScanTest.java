@@ -0,0 +1,126 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Prft die Aufteilung des Wertebereichs der Partitionsspalte durch autofetchParallel.
+ * @author Alexander Herrfurth
+ *
+ */
+public class PartitionedScanTest {
+	
+	// Fields
+	
+	private FakeDatabase _database;
+	private DatabaseAccessor _accessor;
+	
+	// Methods
+	
+	@Before
+	public void setUp() {
+		
+		_database = new FakeDatabase();
+		_accessor = new DatabaseAccessor(_database.getDataSource());
+		
+	}
+	
+	@Test
+	public void splitsRangeIntoHalfOpenPartitionsAndClosesLast() {
+		
+		assertNotNull(_accessor.autofetchParallel(Item::new, "a = ?", new String[] { "x" }, "id", 0, 9, 3));
+		
+		assertEquals(Arrays.asList(
+				"SELECT id FROM items WHERE (a = ?) AND id >= ? AND id < ? [x, 0, 4]",
+				"SELECT id FROM items WHERE (a = ?) AND id >= ? AND id < ? [x, 4, 8]",
+				"SELECT id FROM items WHERE (a = ?) AND id >= ? AND id <= ? [x, 8, 9]"), selects());
+		
+	}
+	
+	@Test
+	public void neverCreatesMorePartitionsThanRequested() {
+		
+		_accessor.autofetchParallel(Item::new, null, null, "id", 1, 100, 7);
+		assertEquals(7, selects().size());
+		
+		_database.clearLog();
+		
+		_accessor.autofetchParallel(Item::new, null, null, "id", 5, 6, 4);
+		assertEquals(Arrays.asList("SELECT id FROM items WHERE id >= ? AND id < ? [5, 6]", "SELECT id FROM items WHERE id >= ? AND id <= ? [6, 6]"), selects());
+		
+	}
+	
+	@Test
+	public void coversRangesAtTheLimitsOfLong() {
+		
+		_accessor.autofetchParallel(Item::new, null, null, "id", Long.MIN_VALUE, Long.MAX_VALUE, 2);
+		assertEquals(Arrays.asList(
+				"SELECT id FROM items WHERE id >= ? AND id < ? [" + Long.MIN_VALUE + ", -1]",
+				"SELECT id FROM items WHERE id >= ? AND id < ? [-1, " + (Long.MAX_VALUE - 1) + "]",
+				"SELECT id FROM items WHERE id >= ? AND id <= ? [" + (Long.MAX_VALUE - 1) + ", " + Long.MAX_VALUE + "]"), selects());
+		
+		_database.clearLog();
+		
+		_accessor.autofetchParallel(Item::new, null, null, "id", Long.MIN_VALUE, Long.MIN_VALUE + 5, 1);
+		assertEquals(Arrays.asList("SELECT id FROM items WHERE id >= ? AND id <= ? [" + Long.MIN_VALUE + ", " + (Long.MIN_VALUE + 5) + "]"), selects());
+		
+	}
+	
+	@Test
+	public void emptyOrInvalidRanges() {
+		
+		assertEquals(Collections.emptyList(), _accessor.autofetchParallel(Item::new, null, null, "id", 10, 1, 3));
+		assertNull(_accessor.autofetchParallel(Item::new, null, null, "id; --", 1, 10, 3));
+		assertNull(_accessor.autofetchParallel(Item::new, null, null, "id", 1, 10, 0));
+		assertEquals(0, selects().size());
+		
+	}
+	
+	/**
+	 * @return Die ausgefhrten Abfragen der Partitionen in aufsteigender Reihenfolge, da diese gleichzeitig ausgefhrt werden.
+	 */
+	private List<String> selects() {
+		
+		List<String> selects = new ArrayList<String>(_database.entries("SELECT"));
+		selects.sort((a, b) -> {
+			
+			int comparison = Long.compare(firstBound(a), firstBound(b));
+			return comparison != 0 ? comparison : a.compareTo(b);
+			
+		});
+		
+		return selects;
+		
+	}
+	
+	private static long firstBound(String entry) {
+		
+		String[] params = entry.substring(entry.lastIndexOf('[') + 1, entry.length() - 1).split(", ");
+		return Long.parseLong(params[params.length - 2]);
+		
+	}
+	
+	// Nested Types
+	
+	public static class Item implements IDatabaseObj {
+		
+		@TableAttribute(column = "id")
+		long id;
+		
+		@Override
+		public String getTableName() {
+			return "items";
+		}
+		
+	}
+	
+}
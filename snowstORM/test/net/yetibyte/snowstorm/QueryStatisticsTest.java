@@ -0,0 +1,101 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Prft die Abschnitte des Laufzeit-Histogramms und die Beschrnkung der einzeln erfassten SQL-Anweisungen von QueryStatistics.
+ * @author Alexander Herrfurth
+ *
+ */
+public class QueryStatisticsTest {
+	
+	// Methods
+	
+	@Test
+	public void smallValuesHaveOwnBuckets() {
+		
+		for(int i = 0; i < QueryStatistics.SUB_BUCKET_COUNT; i++) {
+			
+			assertEquals(i, QueryStatistics.bucketIndex(i));
+			assertEquals(i, QueryStatistics.bucketUpperBound(i));
+			
+		}
+		
+		assertEquals(0, QueryStatistics.bucketIndex(-5));
+		
+	}
+	
+	@Test
+	public void bucketsAreContiguousAndCoverAllValues() {
+		
+		for(int i = 0; i < QueryStatistics.BUCKET_COUNT - 1; i++) {
+			
+			long upperBound = QueryStatistics.bucketUpperBound(i);
+			
+			assertEquals("upper bound of bucket " + i, i, QueryStatistics.bucketIndex(upperBound));
+			assertEquals("value after bucket " + i, i + 1, QueryStatistics.bucketIndex(upperBound + 1));
+			
+		}
+		
+		assertEquals(QueryStatistics.BUCKET_COUNT - 1, QueryStatistics.bucketIndex(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, QueryStatistics.bucketUpperBound(QueryStatistics.BUCKET_COUNT - 1));
+		
+	}
+	
+	@Test
+	public void bucketWidthStaysWithinOneEighth() {
+		
+		for(int i = QueryStatistics.SUB_BUCKET_COUNT; i < QueryStatistics.BUCKET_COUNT; i++) {
+			
+			long lowerBound = QueryStatistics.bucketUpperBound(i - 1) + 1;
+			long width = QueryStatistics.bucketUpperBound(i) - lowerBound + 1;
+			
+			assertTrue("width of bucket " + i, width <= lowerBound / QueryStatistics.SUB_BUCKET_COUNT);
+			
+		}
+		
+	}
+	
+	@Test
+	public void knownValuesFallIntoExpectedBuckets() {
+		
+		assertEquals(8, QueryStatistics.bucketIndex(8));
+		assertEquals(15, QueryStatistics.bucketIndex(15));
+		assertEquals(16, QueryStatistics.bucketIndex(16));
+		assertEquals(16, QueryStatistics.bucketIndex(17));
+		assertEquals(17, QueryStatistics.bucketIndex(18));
+		assertEquals(17, QueryStatistics.bucketUpperBound(16));
+		assertEquals(1_006_632_959L, QueryStatistics.bucketUpperBound(QueryStatistics.bucketIndex(1_000_000_000L)));
+		
+	}
+	
+	@Test
+	public void templatesBeyondMaximumAreRecordedAsOther() {
+		
+		FakeDatabase database = new FakeDatabase();
+		DatabaseAccessor accessor = new DatabaseAccessor(database.getDataSource());
+		QueryStatistics statistics = new QueryStatistics(2);
+		
+		accessor.addQueryListener(statistics);
+		
+		for(int i = 0; i < 5; i++)
+			accessor.deleteAll("t" + i, "id", Arrays.asList(i));
+		
+		Map<String, QueryStatisticsSnapshot> snapshots = statistics.snapshot();
+		
+		assertEquals(3, snapshots.size());
+		assertNotNull(statistics.snapshot("DELETE FROM t0 WHERE id IN (?)"));
+		assertNull(statistics.snapshot("DELETE FROM t4 WHERE id IN (?)"));
+		assertEquals(3, statistics.snapshot(QueryStatistics.OTHER_SQL).getCount());
+		
+	}
+	
+}
@@ -0,0 +1,172 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Prft die Anforderungen und Benachrichtigungen der von autopublish gelieferten IPublisher. Der Executor fhrt alle Aufgaben
+ * unmittelbar aus, sodass die Benachrichtigungen bereits mit der Rckkehr von request vorliegen.
+ * @author Alexander Herrfurth
+ *
+ */
+public class ResultPublisherTest {
+	
+	// Fields
+	
+	private DatabaseAccessor _accessor;
+	
+	// Methods
+	
+	@Before
+	public void setUp() {
+		
+		FakeDatabase database = new FakeDatabase();
+		database.addRow("id", 1L);
+		database.addRow("id", 2L);
+		database.addRow("id", 3L);
+		
+		_accessor = new DatabaseAccessor(database.getDataSource());
+		_accessor.setAsyncExecutor(Runnable::run);
+		
+	}
+	
+	@Test
+	public void emitsNoMoreThanRequested() {
+		
+		RecordingSubscriber subscriber = subscribe();
+		
+		assertEquals(Arrays.asList("subscribe"), subscriber.signals);
+		
+		subscriber.subscription.request(2);
+		assertEquals(Arrays.asList("subscribe", "1", "2"), subscriber.signals);
+		
+		subscriber.subscription.request(1);
+		assertEquals(Arrays.asList("subscribe", "1", "2", "3"), subscriber.signals);
+		
+		subscriber.subscription.request(1);
+		assertEquals(Arrays.asList("subscribe", "1", "2", "3", "complete"), subscriber.signals);
+		
+	}
+	
+	@Test
+	public void requestsFromOnNextAreAddedToDemand() {
+		
+		RecordingSubscriber subscriber = subscribe();
+		subscriber.requestOnNext = true;
+		
+		subscriber.subscription.request(1);
+		
+		assertEquals(Arrays.asList("subscribe", "1", "2", "3", "complete"), subscriber.signals);
+		
+	}
+	
+	@Test
+	public void unboundedDemandDoesNotOverflow() {
+		
+		RecordingSubscriber subscriber = subscribe();
+		
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		
+		assertEquals(Arrays.asList("subscribe", "1", "2", "3", "complete"), subscriber.signals);
+		
+	}
+	
+	@Test
+	public void cancelStopsEmission() {
+		
+		RecordingSubscriber subscriber = subscribe();
+		
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(5);
+		
+		assertEquals(Arrays.asList("subscribe", "1"), subscriber.signals);
+		
+	}
+	
+	@Test
+	public void nonPositiveRequestSignalsError() {
+		
+		RecordingSubscriber subscriber = subscribe();
+		
+		subscriber.subscription.request(0);
+		subscriber.subscription.request(1);
+		
+		assertEquals(2, subscriber.signals.size());
+		assertTrue(subscriber.signals.get(1).startsWith("error IllegalArgumentException"));
+		
+	}
+	
+	private RecordingSubscriber subscribe() {
+		
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		_accessor.autopublish(Item::new, null, null).subscribe(subscriber);
+		
+		return subscriber;
+		
+	}
+	
+	// Nested Types
+	
+	public static class Item implements IDatabaseObj {
+		
+		@TableAttribute(column = "id")
+		long id;
+		
+		@Override
+		public String getTableName() {
+			return "items";
+		}
+		
+	}
+	
+	private static final class RecordingSubscriber implements ISubscriber<Item> {
+		
+		final List<String> signals = new ArrayList<String>();
+		
+		ISubscription subscription;
+		boolean requestOnNext = false;
+		
+		@Override
+		public void onSubscribe(ISubscription subscription) {
+			
+			this.subscription = subscription;
+			signals.add("subscribe");
+			
+		}
+		
+		@Override
+		public void onNext(Item item) {
+			
+			signals.add(String.valueOf(item.id));
+			
+			if(requestOnNext)
+				subscription.request(1);
+			
+		}
+		
+		@Override
+		public void onError(Throwable throwable) {
+			
+			signals.add("error " + throwable.getClass().getSimpleName());
+			
+		}
+		
+		@Override
+		public void onComplete() {
+			
+			signals.add("complete");
+			
+		}
+		
+	}
+	
+}
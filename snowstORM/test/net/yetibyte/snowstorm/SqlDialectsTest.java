@@ -0,0 +1,80 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Prft die dialektspezifische Beschrnkung der Datenstze und die Erkennung von Where-Klauseln, an welche diese nicht angehngt werden darf.
+ * @author Alexander Herrfurth
+ *
+ */
+public class SqlDialectsTest {
+	
+	// Methods
+	
+	@Test
+	public void rowLimitClausePerDialect() {
+		
+		assertEquals(" LIMIT 1", SqlDialects.PostgreSql.rowLimitClause(1));
+		assertEquals(" LIMIT 5", SqlDialects.MySql.rowLimitClause(5));
+		assertEquals(" FETCH FIRST 1 ROWS ONLY", SqlDialects.Oracle.rowLimitClause(1));
+		assertEquals(" FETCH FIRST 3 ROWS ONLY", SqlDialects.Derby.rowLimitClause(3));
+		assertEquals("", SqlDialects.SqlServer.rowLimitClause(1));
+		assertEquals("", SqlDialects.Generic.rowLimitClause(1));
+		
+	}
+	
+	@Test
+	public void dialectFromProductName() {
+		
+		assertEquals(SqlDialects.MySql, SqlDialects.fromProductName("MariaDB"));
+		assertEquals(SqlDialects.PostgreSql, SqlDialects.fromProductName("PostgreSQL"));
+		assertEquals(SqlDialects.H2, SqlDialects.fromProductName("H2"));
+		assertEquals(SqlDialects.DB2, SqlDialects.fromProductName("DB2/LINUXX8664"));
+		assertEquals(SqlDialects.SqlServer, SqlDialects.fromProductName("Microsoft SQL Server"));
+		assertEquals(SqlDialects.Generic, SqlDialects.fromProductName("Unknown"));
+		assertEquals(SqlDialects.Generic, SqlDialects.fromProductName(null));
+		
+	}
+	
+	@Test
+	public void detectsExistingRowLimit() {
+		
+		assertTrue(SqlDialects.hasRowLimit("a = ? ORDER BY id LIMIT 10"));
+		assertTrue(SqlDialects.hasRowLimit("a = ? order by id offset 10 rows fetch next 5 rows only"));
+		assertTrue(SqlDialects.hasRowLimit("a = ? FETCH FIRST 1 ROWS ONLY"));
+		assertFalse(SqlDialects.hasRowLimit("unlimited = ?"));
+		assertFalse(SqlDialects.hasRowLimit(null));
+		
+	}
+	
+	@Test
+	public void detectsLockingClauses() {
+		
+		assertTrue(SqlDialects.hasLockingClause("id = ? FOR UPDATE"));
+		assertTrue(SqlDialects.hasLockingClause("id = ? for update of a nowait"));
+		assertTrue(SqlDialects.hasLockingClause("id = ? FOR SHARE"));
+		assertTrue(SqlDialects.hasLockingClause("id = ? FOR NO KEY UPDATE SKIP LOCKED"));
+		assertTrue(SqlDialects.hasLockingClause("id = ? FOR KEY SHARE"));
+		assertTrue(SqlDialects.hasLockingClause("id = ? LOCK IN SHARE MODE"));
+		assertTrue(SqlDialects.hasLockingClause("id IN (SELECT id FROM u WITH (NOLOCK))"));
+		assertFalse(SqlDialects.hasLockingClause("format = 'FORUPDATE'"));
+		assertFalse(SqlDialects.hasLockingClause("id = ?"));
+		assertFalse(SqlDialects.hasLockingClause(null));
+		
+	}
+	
+	@Test
+	public void acceptsRowLimitOnlyWithoutLimitOrLock() {
+		
+		assertTrue(SqlDialects.acceptsRowLimit("id = ?"));
+		assertTrue(SqlDialects.acceptsRowLimit(null));
+		assertFalse(SqlDialects.acceptsRowLimit("id = ? LIMIT 1"));
+		assertFalse(SqlDialects.acceptsRowLimit("id = ? FOR UPDATE"));
+		
+	}
+	
+}
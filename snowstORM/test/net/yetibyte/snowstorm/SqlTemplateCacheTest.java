@@ -0,0 +1,112 @@
+package net.yetibyte.snowstorm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Prft die von SqlTemplateCache erzeugten SQL-Anweisungen und deren Wiederverwendung.
+ * @author Alexander Herrfurth
+ *
+ */
+public class SqlTemplateCacheTest {
+	
+	// Fields
+	
+	private final SqlTemplateCache _cache = new SqlTemplateCache();
+	
+	// Methods
+	
+	@Test
+	public void selectWithColumnsAndWhereClause() {
+		
+		assertEquals("SELECT id, a FROM t WHERE id = ?", _cache.select(null, "t", new String[] { "id", "a" }, false, null, "id = ?"));
+		assertEquals("SELECT * FROM t ", _cache.select(null, "t", null, false, null, null));
+		assertEquals("SELECT  DISTINCT a FROM t ", _cache.select(null, "t", new String[] { "a" }, true, null, null));
+		
+	}
+	
+	@Test
+	public void selectAppendsDialectRowLimit() {
+		
+		String[] columns = new String[] { "id" };
+		
+		assertEquals("SELECT id FROM t WHERE id = ? LIMIT 1", _cache.select(null, "t", columns, false, null, "id = ?", 1, SqlDialects.H2));
+		assertEquals("SELECT id FROM t WHERE id = ? FETCH FIRST 1 ROWS ONLY", _cache.select(null, "t", columns, false, null, "id = ?", 1, SqlDialects.Oracle));
+		assertEquals("SELECT id FROM t WHERE id = ?", _cache.select(null, "t", columns, false, null, "id = ?", 0, SqlDialects.H2));
+		assertEquals("SELECT id FROM t WHERE id = ?", _cache.select(null, "t", columns, false, null, "id = ?", 1, null));
+		
+	}
+	
+	@Test
+	public void selectWithJoins() {
+		
+		Join join = new Join(JoinTypes.Left, "u", "t.id", "u.tid");
+		
+		assertEquals("SELECT t.id FROM t LEFT JOIN u ON t.id = u.tid  WHERE t.a = ?", _cache.select(null, "t", new String[] { "t.id" }, false, Arrays.asList(join), "t.a = ?"));
+		assertNull(_cache.select(null, "t", new String[] { "t.id" }, false, Arrays.asList(new Join("u; --", "t.id", "u.tid")), null));
+		
+	}
+	
+	@Test
+	public void insertUpdateAndDelete() {
+		
+		assertEquals("INSERT INTO t (id, a) VALUES (?, ?)", _cache.insert(null, "t", new String[] { "id", "a" }));
+		assertEquals("UPDATE t SET a= ?, b= ? WHERE id = ?", _cache.update(null, "t", new String[] { "a", "b" }, "id = ?"));
+		assertEquals("UPDATE t SET a= ?", _cache.update(null, "t", new String[] { "a" }, null));
+		assertEquals("DELETE FROM t WHERE id = ?", _cache.delete("t", "id = ?"));
+		assertEquals("DELETE FROM t WHERE id IN (?, ?, ?)", _cache.deleteIn("t", "id", 3));
+		
+	}
+	
+	@Test
+	public void rejectsUnsafeColumnNames() {
+		
+		assertNull(_cache.select(null, "t", new String[] { "a; DROP TABLE t" }, false, null, null));
+		assertNull(_cache.insert(null, "t", new String[] { "a, b" }));
+		assertNull(_cache.update(null, "t", new String[] { "a=1 --" }, null));
+		assertNull(_cache.deleteIn("t", "id", 0));
+		
+	}
+	
+	@Test
+	public void returnsSameInstanceForSameShape() {
+		
+		String sql = _cache.select(null, "t", new String[] { "id" }, false, null, "id = ?", 1, SqlDialects.H2);
+		
+		assertSame(sql, _cache.select(null, "t", new String[] { "id" }, false, null, "id = ?", 1, SqlDialects.H2));
+		assertEquals("SELECT id FROM t WHERE id = ? FETCH FIRST 1 ROWS ONLY", _cache.select(null, "t", new String[] { "id" }, false, null, "id = ?", 1, SqlDialects.DB2));
+		
+	}
+	
+	@Test
+	public void keyDoesNotDependOnCallerArrays() {
+		
+		String[] columns = new String[] { "id", "a" };
+		String sql = _cache.insert(null, "t", columns);
+		
+		columns[1] = "b";
+		
+		assertEquals("INSERT INTO t (id, a) VALUES (?, ?)", sql);
+		assertEquals("INSERT INTO t (id, b) VALUES (?, ?)", _cache.insert(null, "t", columns));
+		
+	}
+	
+	@Test
+	public void capacityIsNeverExceeded() {
+		
+		SqlTemplateCache cache = new SqlTemplateCache(2);
+		
+		for(int i = 0; i < 5; i++)
+			cache.delete("t" + i, null);
+		
+		assertTrue(cache.size() <= 2);
+		
+	}
+	
+}